@@ -0,0 +1,144 @@
+package com.gt.bff.benchmark;
+
+import com.gt.bff.config.ApplicationProperties;
+import com.gt.bff.config.ThreadingMode;
+import com.gt.bff.service.PooledHttpTransport;
+import com.gt.bff.util.GenAIResponseParser;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares platform and virtual threads for the blocking part of a search: the request thread sends the
+ * GenAI call on the shared {@link PooledHttpTransport} and waits for the reply. The upstream is a local
+ * stub that answers after a fixed latency, so the difference comes from how many searches can wait at once.
+ * Platform mode uses a pool the size of Tomcat's default {@code server.tomcat.threads.max}. Run with
+ * {@code mvn -Pbenchmark package exec:exec -Djmh.args="ConcurrentSearchBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConcurrentSearchBenchmark {
+
+    private static final int TOMCAT_DEFAULT_MAX_THREADS = 200;
+    private static final String RESPONSE_BODY = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":"
+            + "\"{\\\"from\\\":\\\"BOS\\\",\\\"to\\\":\\\"DEN\\\",\\\"passengers\\\":2}\"}],\"role\":\"model\"}}]}";
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"1000", "2000"})
+    private int concurrentSearches;
+
+    @Param({"50"})
+    private int upstreamLatencyMillis;
+
+    private HttpServer upstream;
+    private ExecutorService upstreamExecutor;
+    private PooledHttpTransport transport;
+    private ExecutorService requestExecutor;
+    private URI uri;
+
+    @Setup
+    public void setUp() throws Exception {
+        upstreamExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        upstream.setExecutor(upstreamExecutor);
+        upstream.createContext("/", exchange -> {
+            try (InputStream request = exchange.getRequestBody()) {
+                request.readAllBytes();
+                Thread.sleep(upstreamLatencyMillis);
+                byte[] body = RESPONSE_BODY.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream response = exchange.getResponseBody()) {
+                    response.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        upstream.start();
+        uri = URI.create("http://127.0.0.1:" + upstream.getAddress().getPort() + "/v1/models/gemini:generateContent");
+
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        ApplicationProperties.GenAI.Google google = applicationProperties.getGenai().getGoogle();
+        // Leave the per-host limit out of the comparison; only the request threads should bound concurrency
+        google.setMaxConcurrentRequestsPerHost(concurrentSearches);
+
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark",
+                Map.of("spring.threads.virtual.enabled", String.valueOf("virtual".equals(threads)))));
+        ThreadingMode threadingMode = new ThreadingMode(environment);
+
+        transport = new PooledHttpTransport(applicationProperties, new SimpleMeterRegistry(), threadingMode);
+        transport.init();
+        requestExecutor = threadingMode.isVirtual()
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_DEFAULT_MAX_THREADS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+        transport.shutdown();
+        upstream.stop(0);
+        upstreamExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public int concurrentSearches() throws Exception {
+        List<Future<String>> searches = new ArrayList<>(concurrentSearches);
+        for (int i = 0; i < concurrentSearches; i++) {
+            String body = "{\"contents\":[{\"parts\":[{\"text\":\"2 people from Boston to Denver, search " + i + "\"}]}]}";
+            searches.add(requestExecutor.submit(() -> search(body)));
+        }
+        int completed = 0;
+        for (Future<String> search : searches) {
+            if (search.get(2, TimeUnit.MINUTES) != null) {
+                completed++;
+            }
+        }
+        return completed;
+    }
+
+    private String search(String body) throws Exception {
+        HttpResponse<InputStream> response = transport.send(uri, HttpRequest.BodyPublishers.ofString(body),
+                Duration.ofSeconds(60), HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream responseBody = response.body()) {
+            return GenAIResponseParser.extractText(responseBody);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.gt.bff.benchmark;
+
+import com.gt.bff.util.GenAIResponseParser;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous line-buffered org.json extraction of Gemini responses with the
+ * streaming {@link GenAIResponseParser}. Run with
+ * {@code mvn -Pbenchmark package exec:exec -Djmh.args="GenAIResponseParserBenchmark -prof gc"}
+ * to include allocation rates alongside latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenAIResponseParserBenchmark {
+
+    @Param({"5", "20", "50"})
+    private int responseKb;
+
+    private byte[] responseBody;
+
+    @Setup
+    public void setUp() {
+        responseBody = buildResponse(responseKb * 1024).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String lineBufferedJsonTree() throws IOException {
+        JSONObject response = new JSONObject(readLines(new ByteArrayInputStream(responseBody)));
+        return response.getJSONArray("candidates").getJSONObject(0)
+                .getJSONObject("content").getJSONArray("parts").getJSONObject(0)
+                .getString("text");
+    }
+
+    @Benchmark
+    public String streamingPullParser() throws IOException {
+        return GenAIResponseParser.extractText(new ByteArrayInputStream(responseBody));
+    }
+
+    private static String readLines(InputStream inputStream) throws IOException {
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            StringBuilder response = new StringBuilder();
+            String responseLine;
+            while ((responseLine = br.readLine()) != null) {
+                response.append(responseLine.trim());
+            }
+            return response.toString();
+        }
+    }
+
+    /**
+     * Builds a pretty-printed response shaped like a real generateContent reply, with the
+     * text part making up most of the requested size
+     */
+    private static String buildResponse(int targetBytes) {
+        StringBuilder text = new StringBuilder();
+        String paragraph = "Day %d: Explore the old town, visit the \"central market\" and try local food.\n"
+                + "  - Morning: museum tour\n  - Evening: river cruise, dinner near the harbour\n\n";
+        for (int day = 1; text.length() < targetBytes; day++) {
+            text.append(String.format(paragraph, day));
+        }
+
+        JSONArray safetyRatings = new JSONArray();
+        for (String category : new String[]{"HARASSMENT", "HATE_SPEECH", "SEXUALLY_EXPLICIT", "DANGEROUS_CONTENT"}) {
+            safetyRatings.put(new JSONObject().put("category", "HARM_CATEGORY_" + category).put("probability", "NEGLIGIBLE"));
+        }
+        JSONObject candidate = new JSONObject()
+                .put("content", new JSONObject()
+                        .put("parts", new JSONArray().put(new JSONObject().put("text", text.toString())))
+                        .put("role", "model"))
+                .put("finishReason", "STOP")
+                .put("safetyRatings", safetyRatings)
+                .put("index", 0);
+        return new JSONObject()
+                .put("candidates", new JSONArray().put(candidate))
+                .put("usageMetadata", new JSONObject()
+                        .put("promptTokenCount", 312)
+                        .put("candidatesTokenCount", targetBytes / 4)
+                        .put("totalTokenCount", 312 + targetBytes / 4))
+                .put("modelVersion", "gemini-2.5-flash")
+                .toString(2);
+    }
+}
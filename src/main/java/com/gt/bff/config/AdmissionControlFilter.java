@@ -0,0 +1,290 @@
+package com.gt.bff.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gt.bff.constants.ApiPaths;
+import com.gt.bff.exception.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admission control in front of the {@code /api/v1/gt} endpoints and {@code /health}.
+ * At most {@code admission.max-in-flight} requests are handled at once, of which {@code cheap-reserved}
+ * slots can only be taken by cheap endpoints such as {@code /airports}, so those keep answering while
+ * GenAI-backed endpoints are shed. A request over the limit waits up to {@code max-queue-wait} for a slot,
+ * with cheap requests served first, and is otherwise rejected straight away with 503 and {@code Retry-After}
+ * instead of queuing until it times out. Requests to other endpoints that already spent {@code max-queue-time}
+ * in a proxy or accept queue, as reported by the {@value #REQUEST_START_HEADER} header, are rejected on arrival.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_START_HEADER = "X-Request-Start";
+
+    private static final String API_PREFIX = ApiPaths.API_V1 + "/gt/";
+    private static final Set<String> ENDPOINTS = Set.of("search-filters", "process-search", "airports", "health");
+    private static final String OTHER_ENDPOINT = "other";
+    private static final String REASON_CAPACITY = "capacity";
+    private static final String REASON_QUEUE_TIME = "queue-time";
+    /** Epoch values below this are seconds (year 5138), values below the micros threshold are milliseconds */
+    private static final double EPOCH_MILLIS_THRESHOLD = 1e11;
+    private static final double EPOCH_MICROS_THRESHOLD = 1e14;
+
+    private final ApplicationProperties applicationProperties;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotReleased = lock.newCondition();
+    private int inFlight;
+    private int cheapWaiting;
+
+    public AdmissionControlFilter(ApplicationProperties applicationProperties, MeterRegistry meterRegistry,
+                                  ObjectMapper objectMapper) {
+        this.applicationProperties = applicationProperties;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("http.admission.inflight", this, AdmissionControlFilter::getInFlight)
+                .description("Requests currently admitted by admission control")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!applicationProperties.getAdmission().isEnabled()) {
+            return true;
+        }
+        String path = pathOf(request);
+        return !path.startsWith(API_PREFIX) && !path.equals(ApiPaths.HEALTH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ApplicationProperties.Admission config = applicationProperties.getAdmission();
+        String endpoint = endpointOf(request);
+        boolean cheap = config.getCheapEndpoints().contains(endpoint);
+        String priority = cheap ? "cheap" : "standard";
+
+        long upstreamQueueMillis = upstreamQueueMillis(request);
+        if (!cheap && config.getMaxQueueTime() > 0 && upstreamQueueMillis > config.getMaxQueueTime()) {
+            recordQueueWait(priority, TimeUnit.MILLISECONDS.toNanos(upstreamQueueMillis));
+            shed(request, response, endpoint, REASON_QUEUE_TIME);
+            return;
+        }
+
+        long waitStart = System.nanoTime();
+        boolean admitted = admit(cheap, config);
+        recordQueueWait(priority, TimeUnit.MILLISECONDS.toNanos(upstreamQueueMillis) + System.nanoTime() - waitStart);
+        if (!admitted) {
+            shed(request, response, endpoint, REASON_CAPACITY);
+            return;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable releaseOnce = () -> {
+            if (released.compareAndSet(false, true)) {
+                release();
+            }
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streaming responses keep working after doFilter returns; async dispatches skip this filter,
+                // so the slot is held until the async request ends
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(releaseOnce));
+            } else {
+                releaseOnce.run();
+            }
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean admit(boolean cheap, ApplicationProperties.Admission config) {
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(config.getMaxQueueWait());
+        lock.lock();
+        try {
+            if (cheap) {
+                cheapWaiting++;
+            }
+            try {
+                while (!hasCapacity(cheap, config)) {
+                    if (remainingNanos <= 0) {
+                        return false;
+                    }
+                    remainingNanos = slotReleased.awaitNanos(remainingNanos);
+                }
+            } finally {
+                if (cheap) {
+                    cheapWaiting--;
+                }
+            }
+            inFlight++;
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cheap requests may use every slot; others leave the reserved slots free and let waiting cheap requests go first
+     */
+    private boolean hasCapacity(boolean cheap, ApplicationProperties.Admission config) {
+        if (cheap) {
+            return inFlight < config.getMaxInFlight();
+        }
+        return cheapWaiting == 0 && inFlight < config.getMaxInFlight() - config.getCheapReserved();
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            slotReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases the admission slot of an asynchronous request once it completes, times out or fails
+     */
+    private record ReleasingAsyncListener(Runnable release) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private void shed(HttpServletRequest request, HttpServletResponse response, String endpoint, String reason)
+            throws IOException {
+        Counter.builder("http.admission.shed")
+                .description("Requests rejected by admission control, by endpoint and reason")
+                .tag("endpoint", endpoint)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        log.debug("Shedding request to {} ({})", endpoint, reason);
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                "Service is busy. Please try again later.",
+                "uri=" + request.getRequestURI());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(applicationProperties.getAdmission().getRetryAfter()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private void recordQueueWait(String priority, long nanos) {
+        Timer.builder("http.admission.queue.wait")
+                .description("Time requests spent queued before being admitted or shed")
+                .tag("priority", priority)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Time the request spent queued before reaching the application, from a {@value #REQUEST_START_HEADER}
+     * header of the form {@code t=<epoch>} in seconds (with or without a fraction), milliseconds or microseconds,
+     * told apart by magnitude
+     */
+    static long upstreamQueueMillis(HttpServletRequest request) {
+        String header = request.getHeader(REQUEST_START_HEADER);
+        if (header == null || header.isBlank()) {
+            return 0;
+        }
+        String value = header.trim().startsWith("t=") ? header.trim().substring(2) : header.trim();
+        try {
+            double start = Double.parseDouble(value);
+            if (!Double.isFinite(start) || start <= 0) {
+                return 0;
+            }
+            long startMillis;
+            if (start < EPOCH_MILLIS_THRESHOLD) {
+                startMillis = (long) (start * 1000);
+            } else if (start < EPOCH_MICROS_THRESHOLD) {
+                startMillis = (long) start;
+            } else {
+                startMillis = (long) (start / 1000);
+            }
+            return Math.max(0, System.currentTimeMillis() - startMillis);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String endpointOf(HttpServletRequest request) {
+        String path = pathOf(request);
+        String endpoint = path.startsWith(API_PREFIX) ? path.substring(API_PREFIX.length()) : path.substring(1);
+        int slash = endpoint.indexOf('/');
+        if (slash >= 0) {
+            endpoint = endpoint.substring(0, slash);
+        }
+        return ENDPOINTS.contains(endpoint) ? endpoint : OTHER_ENDPOINT;
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.isEmpty() ? "/" : path;
+    }
+}
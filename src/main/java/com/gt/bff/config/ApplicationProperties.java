@@ -41,6 +41,10 @@ public class ApplicationProperties {
     public static class Cache {
         private boolean enabled;
         private long ttl;
+        private int maxSize = 1000;
+        private boolean persistentEnabled = false;
+        private String persistentPath = "data/genai-response-cache.log";
+        private long persistentMaxBytes = 268435456;
     }
 
     /**
@@ -54,28 +58,233 @@ public class ApplicationProperties {
         private boolean allowCredentials;
     }
 
+    /**
+     * Request deadline properties. Budgets are in milliseconds.
+     */
+    @Data
+    public static class Deadline {
+        private boolean enabled = false;
+        private long defaultTimeout = 30000;
+        private long maxTimeout = 60000;
+        private java.util.Map<String, Long> endpoints = new java.util.LinkedHashMap<>();
+    }
+
+    /**
+     * Admission control properties for the API endpoints. Waits are in milliseconds, retry-after in seconds.
+     */
+    @Data
+    public static class Admission {
+        private boolean enabled = true;
+        private int maxInFlight = 200;
+        private int cheapReserved = 20;
+        private long maxQueueWait = 100;
+        private long maxQueueTime = 2000;
+        private int retryAfter = 1;
+        private java.util.List<String> cheapEndpoints = new java.util.ArrayList<>(java.util.List.of("airports", "health"));
+    }
+
     /**
      * GenAI service configuration properties.
      */
     @Data
     public static class GenAI {
         private final Google google = new Google();
+        private java.util.Map<String, Bulkhead> bulkheads = new java.util.LinkedHashMap<>();
+        private final Failover failover = new Failover();
 
         @Data
         public static class Google {
             private String apiKey;
+            private final KeyPool keyPool = new KeyPool();
             private String defaultModel = "gemini-2.5-flash";
             private double temperature = 0.2;
             private double topP = 0.8;
             private int topK = 40;
             private int connectTimeout = 10000;
             private int readTimeout = 30000;
+            private int maxConcurrentRequestsPerHost = 64;
+            private int connectionAcquireTimeout = 5000;
+            private boolean coalesceRequests = true;
+            private final Hedging hedging = new Hedging();
+            private final Limiter limiter = new Limiter();
+            private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+            private final SearchBatching searchBatching = new SearchBatching();
+            private boolean structuredOutputEnabled = true;
+            private final ModelRouting modelRouting = new ModelRouting();
+            private final Speculative speculative = new Speculative();
+            private final LocalBypass localBypass = new LocalBypass();
             private String travelExtractionPromptPath = "classpath:prompts/travel-extraction-prompt.txt";
             private String explainPromptTemplate = "Explain {topic} in a few words";
             private String travelAdvicePromptTemplate = "Provide travel advice or information for: {query}";
             private String locationExtractionPromptTemplate = "Extract the origin location from this travel query. If no specific origin is mentioned, suggest a default popular travel city. Return only the city name and country: {query}";
+            private String fusedSearchPromptTemplate = "Answer this travel query in one JSON object with these properties:\n{parts}\nToday is {today}.\nQuery: {query}";
             private boolean enableAIEnhancement = true;
         }
+
+        /**
+         * Weighted pool of API keys used instead of the single key. Penalties are in milliseconds.
+         */
+        @Data
+        public static class KeyPool {
+            private java.util.List<ApiKey> keys = new java.util.ArrayList<>();
+            private long penalty = 10000;
+            private long maxPenalty = 300000;
+        }
+
+        /**
+         * Hedged requests: a backup call is sent when the first is slower than usual. Delays are in milliseconds.
+         */
+        @Data
+        public static class Hedging {
+            private boolean enabled = false;
+            private double percentile = 95.0;
+            private long minDelay = 500;
+            private int minSamples = 20;
+            private double maxRatio = 0.1;
+        }
+
+        /**
+         * Adaptive (AIMD) limit on concurrent upstream calls and its priority queues. Times are in milliseconds.
+         */
+        @Data
+        public static class Limiter {
+            private boolean enabled = true;
+            private int initialLimit = 20;
+            private int minLimit = 2;
+            private int maxLimit = 200;
+            private double backoffRatio = 0.9;
+            private long latencyThreshold = 20000;
+            private int maxQueueSize = 50;
+            private long queueTimeout = 100;
+            private long backgroundQueueTimeout = 5000;
+            private long batchQueueTimeout = 30000;
+            private int interactiveWeight = 8;
+            private int backgroundWeight = 2;
+            private int batchWeight = 1;
+            private long starvationThreshold = 1000;
+        }
+
+        /**
+         * Circuit breaker in front of upstream calls. Rates are percentages, times are in milliseconds.
+         */
+        @Data
+        public static class CircuitBreaker {
+            private boolean enabled = true;
+            private double failureRateThreshold = 50.0;
+            private double slowCallRateThreshold = 80.0;
+            private long slowCallThreshold = 10000;
+            private int windowSize = 20;
+            private int minimumCalls = 10;
+            private long openDuration = 30000;
+            private int halfOpenCalls = 3;
+        }
+
+        /**
+         * Micro-batching of concurrent search filter extractions. The wait is in milliseconds.
+         */
+        @Data
+        public static class SearchBatching {
+            private boolean enabled = false;
+            private int maxSize = 8;
+            private long maxWait = 10;
+        }
+
+        /**
+         * Model selection per operation from rules and live latency and error stats. Times are in milliseconds.
+         */
+        @Data
+        public static class ModelRouting {
+            private boolean enabled = false;
+            private String fallbackModel = "gemini-2.5-flash-lite";
+            private long latencySlo = 8000;
+            private double errorRateThreshold = 0.5;
+            private int statsMinSamples = 20;
+            private long statsWindow = 60000;
+            private java.util.Map<String, ModelRoute> routes = new java.util.LinkedHashMap<>();
+        }
+
+        /**
+         * Local search filter extraction raced against the AI call. The budget is in milliseconds.
+         */
+        @Data
+        public static class Speculative {
+            private boolean enabled = false;
+            private long latencyBudget = 1500;
+            private boolean completeInBackground = true;
+        }
+
+        /**
+         * Skipping the AI call for search inputs the local extractor fully understands
+         */
+        @Data
+        public static class LocalBypass {
+            private boolean enabled = false;
+            private double confidenceThreshold = 0.8;
+        }
+
+        /**
+         * Model selection for one GenAI operation. Unset values fall back to the Google defaults.
+         */
+        @Data
+        public static class ModelRoute {
+            private String model;
+            private String longPromptModel;
+            private int longPromptThreshold;
+            private String fallbackModel;
+            private Long latencySlo;
+        }
+
+        /**
+         * One key of the GenAI API key pool, e.g. for a separate project. A requests-per-minute of 0 means
+         * the key has no quota of its own here and is only limited by 429 penalties.
+         */
+        @Data
+        public static class ApiKey {
+            private String name;
+            private String key;
+            private int weight = 1;
+            private int requestsPerMinute;
+        }
+
+        /**
+         * Failover across GenAI backends: Google first, then the listed endpoints, ordered by live latency and
+         * error rate, and the local extractor as the last resort. Latencies and durations are in milliseconds.
+         */
+        @Data
+        public static class Failover {
+            private boolean enabled = false;
+            private java.util.List<Endpoint> endpoints = new java.util.ArrayList<>();
+            private boolean localFallback = true;
+            private String localInputPattern = "Input: \"(.*)\"";
+            private long initialLatency = 2000;
+            private double smoothing = 0.2;
+            private int failureThreshold = 3;
+            private long cooldown = 30000;
+            private double attemptBudgetRatio = 0.5;
+        }
+
+        /**
+         * An additional GenAI endpoint speaking the Gemini {@code generateContent} API, e.g. another region,
+         * a gateway or a self-hosted model. An unset model falls back to the Google default model; the API key is
+         * only sent when set.
+         */
+        @Data
+        public static class Endpoint {
+            private String name;
+            private String baseUrl;
+            private String model;
+            private String apiKey;
+        }
+
+        /**
+         * Concurrency isolation for one GenAI operation. Queue timeout is in milliseconds.
+         */
+        @Data
+        public static class Bulkhead {
+            private int maxConcurrent = 10;
+            private int maxQueueSize = 20;
+            private long queueTimeout = 200;
+        }
     }
 
     private String version = "1.0.0";
@@ -83,6 +292,8 @@ public class ApplicationProperties {
     private final Api api = new Api();
     private final Cache cache = new Cache();
     private final Cors cors = new Cors();
+    private final Deadline deadline = new Deadline();
+    private final Admission admission = new Admission();
     private final GenAI genai = new GenAI();
 
     /**
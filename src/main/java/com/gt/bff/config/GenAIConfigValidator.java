@@ -16,7 +16,17 @@ public class GenAIConfigValidator {
 
     @EventListener(ApplicationReadyEvent.class)
     public void validateGenAIConfiguration() {
-        String apiKey = applicationProperties.getGenai().getGoogle().getApiKey();
+        ApplicationProperties.GenAI.Failover failover = applicationProperties.getGenai().getFailover();
+        if (failover.isEnabled()) {
+            validateFailover(failover);
+        }
+        ApplicationProperties.GenAI.Google google = applicationProperties.getGenai().getGoogle();
+        if (!google.getKeyPool().getKeys().isEmpty()) {
+            validateApiKeyPool(google.getKeyPool().getKeys());
+            return;
+        }
+
+        String apiKey = google.getApiKey();
 
         if (apiKey == null || apiKey.trim().isEmpty()) {
             String errorMessage = "GenAI API key is not configured. Please set the GENAI_API_KEY environment variable or configure application.genai.google.api-key property.";
@@ -32,4 +42,32 @@ public class GenAIConfigValidator {
 
         log.info("GenAI configuration validation passed successfully");
     }
-}
\ No newline at end of file
+
+    private void validateApiKeyPool(java.util.List<ApplicationProperties.GenAI.ApiKey> apiKeys) {
+        for (int i = 0; i < apiKeys.size(); i++) {
+            String key = apiKeys.get(i).getKey();
+            if (key == null || key.trim().isEmpty() || (key.startsWith("${") && key.endsWith("}"))) {
+                String errorMessage = "GenAI API key " + (i + 1) + " of application.genai.google.key-pool.keys is not configured or not resolved.";
+                log.error(errorMessage);
+                throw new GenAIConfigurationException(errorMessage);
+            }
+        }
+        log.info("GenAI configuration validation passed successfully with {} API keys", apiKeys.size());
+    }
+
+    private void validateFailover(ApplicationProperties.GenAI.Failover failover) {
+        for (int i = 0; i < failover.getEndpoints().size(); i++) {
+            String baseUrl = failover.getEndpoints().get(i).getBaseUrl();
+            if (baseUrl == null || baseUrl.trim().isEmpty()) {
+                String errorMessage = "GenAI endpoint " + (i + 1) + " of application.genai.failover.endpoints has no base-url.";
+                log.error(errorMessage);
+                throw new GenAIConfigurationException(errorMessage);
+            }
+        }
+        if (failover.getAttemptBudgetRatio() <= 0 || failover.getAttemptBudgetRatio() > 1) {
+            String errorMessage = "application.genai.failover.attempt-budget-ratio must be greater than 0 and at most 1.";
+            log.error(errorMessage);
+            throw new GenAIConfigurationException(errorMessage);
+        }
+    }
+}
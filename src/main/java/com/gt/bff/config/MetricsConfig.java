@@ -17,6 +17,14 @@ public class MetricsConfig {
                 .register(meterRegistry);
     }
 
+    @Bean
+    public Timer genaiFirstTokenTimer(MeterRegistry meterRegistry) {
+        return Timer.builder("genai.request.first.token.duration")
+                .description("Time from sending a streaming GenAI request to receiving the first text chunk")
+                .tag("service", "google-genai")
+                .register(meterRegistry);
+    }
+
     @Bean
     public Counter genaiRequestCounter(MeterRegistry meterRegistry) {
         return Counter.builder("genai.request.total")
@@ -0,0 +1,50 @@
+package com.gt.bff.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses between platform and virtual threads for the executors the application creates itself.
+ * Follows {@code spring.threads.virtual.enabled}, the same switch that moves Tomcat request handling,
+ * the {@code @Async} executor and scheduling onto virtual threads, so all blocking I/O paths change together.
+ */
+@Slf4j
+@Component
+public class ThreadingMode {
+
+    private final boolean virtual;
+
+    public ThreadingMode(Environment environment) {
+        this.virtual = Threading.VIRTUAL.isActive(environment);
+        log.info("Running blocking I/O on {} threads", virtual ? "virtual" : "platform");
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Creates an executor for blocking work: one virtual thread per task in virtual mode,
+     * otherwise a cached pool of daemon platform threads
+     *
+     * @param name Prefix for the names of the executor's threads
+     * @return A new executor, to be shut down by the caller
+     */
+    public ExecutorService newExecutor(String name) {
+        if (virtual) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 1).factory());
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
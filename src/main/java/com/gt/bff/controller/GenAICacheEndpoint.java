@@ -0,0 +1,33 @@
+package com.gt.bff.controller;
+
+import com.gt.bff.service.GenAIResponseCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint for inspecting and flushing the GenAI response cache.
+ * Not exposed over HTTP by default because the flush operation is unauthenticated; add {@code genaicache}
+ * to {@code management.endpoints.web.exposure.include} to serve it at {@code /actuator/genaicache}.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "genaicache")
+public class GenAICacheEndpoint {
+
+    private final GenAIResponseCache genAIResponseCache;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return genAIResponseCache.stats();
+    }
+
+    @DeleteOperation
+    public Map<String, Object> flush() {
+        return Map.of("flushed", genAIResponseCache.invalidateAll());
+    }
+}
@@ -2,6 +2,8 @@ package com.gt.bff.controller;
 
 import com.gt.bff.config.ApplicationProperties;
 import com.gt.bff.service.AirportDataService;
+import com.gt.bff.service.RequestDeadline;
+import com.gt.bff.service.RequestDeadlines;
 import com.gt.bff.service.SearchFilterService;
 import com.gt.bff.util.ResponseHelper;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,16 +15,19 @@ import org.springframework.core.io.ResourceLoader;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.annotation.PostConstruct;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Flow;
 
 @Slf4j
 @RestController
@@ -39,22 +44,26 @@ public class GtBffController {
     private static final String DEFAULT_TRIP_TYPE = "Round-Trip";
     private static final int DEFAULT_DEPARTURE_DAYS = 7;
     private static final int DEFAULT_RETURN_DAYS = 14;
+    private static final long STREAM_COMPLETION_GRACE_MILLIS = 1000;
 
     private final SearchFilterService searchFilterService;
     private final ApplicationProperties applicationProperties;
     private final ResourceLoader resourceLoader;
     private final AirportDataService airportDataService;
+    private final RequestDeadlines requestDeadlines;
     private final boolean enableAIEnhancement;
     private String travelExtractionPromptTemplate;
 
     public GtBffController(SearchFilterService searchFilterService,
                          ApplicationProperties applicationProperties,
                          ResourceLoader resourceLoader,
-                         AirportDataService airportDataService) {
+                         AirportDataService airportDataService,
+                         RequestDeadlines requestDeadlines) {
         this.searchFilterService = searchFilterService;
         this.applicationProperties = applicationProperties;
         this.resourceLoader = resourceLoader;
         this.airportDataService = airportDataService;
+        this.requestDeadlines = requestDeadlines;
         this.enableAIEnhancement = applicationProperties.getGenai().getGoogle().isEnableAIEnhancement();
         log.info("Initializing GtBffController with AI enhancement: {}", this.enableAIEnhancement);
     }
@@ -82,9 +91,11 @@ public class GtBffController {
             description = "Returns available search filters for the application")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved search filters")
     public ResponseEntity<Map<String, Object>> getSearchFilters(
-            @RequestParam(required = false) String searchInput) {
+            @RequestParam(required = false) String searchInput,
+            @RequestHeader(value = RequestDeadlines.REQUEST_TIMEOUT_HEADER, required = false) Long requestTimeout) {
+        RequestDeadline deadline = requestDeadlines.start("search-filters", requestTimeout);
         return ResponseHelper.executeServiceOperation(
-            () -> generateSearchFilters(searchInput),
+            () -> generateSearchFilters(searchInput, deadline),
             "getSearchFilters",
             "searchInput: " + searchInput
         );
@@ -95,16 +106,91 @@ public class GtBffController {
             description = "Processes search input string and returns search filters")
     @ApiResponse(responseCode = "200", description = "Successfully processed search input")
     @ApiResponse(responseCode = "400", description = "Invalid input parameters")
-    public ResponseEntity<Map<String, Object>> processSearch(@RequestBody String searchInput) {
+    public ResponseEntity<Map<String, Object>> processSearch(
+            @RequestBody String searchInput,
+            @RequestHeader(value = RequestDeadlines.REQUEST_TIMEOUT_HEADER, required = false) Long requestTimeout) {
         log.info("Generating search filters with input: {}", searchInput);
+        RequestDeadline deadline = requestDeadlines.start("process-search", requestTimeout);
         return ResponseHelper.executeServiceOperation(
-            () -> generateSearchFilters(searchInput),
+            () -> generateSearchFilters(searchInput, deadline),
             "processSearch",
             "searchInput: " + searchInput
         );
     }
     
-    private Map<String, Object> generateSearchFilters(String searchInput) {
+    @GetMapping(value = "/search-filters/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream search filters",
+            description = "Sends a 'field' event for each search filter as soon as it is decoded from the AI output, "
+                    + "then a 'filters' event with the complete search filters")
+    @ApiResponse(responseCode = "200", description = "Successfully started streaming search filters")
+    public SseEmitter streamSearchFilters(
+            @RequestParam String searchInput,
+            @RequestHeader(value = RequestDeadlines.REQUEST_TIMEOUT_HEADER, required = false) Long requestTimeout) {
+        RequestDeadline deadline = requestDeadlines.start("search-filters", requestTimeout);
+        SseEmitter emitter = new SseEmitter(streamTimeout(deadline));
+        Map<String, Object> filters = createDefaultFilters();
+        if (!enableAIEnhancement) {
+            completeSearchFilters(emitter, searchInput, filters);
+            return emitter;
+        }
+
+        log.info("Streaming search filters for input: {}", searchInput);
+        searchFilterService.streamFilters(searchInput, travelExtractionPromptTemplate, deadline).subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(SearchFilterService.FilterField field) {
+                filters.put(field.name(), field.value());
+                try {
+                    emitter.send(SseEmitter.event().name("field").data(field, MediaType.APPLICATION_JSON));
+                } catch (IOException e) {
+                    log.debug("Search filter stream closed by client: {}", e.getMessage());
+                    subscription.cancel();
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                log.error("Error streaming search filters: {}", throwable.getMessage());
+                completeSearchFilters(emitter, searchInput, filters);
+            }
+
+            @Override
+            public void onComplete() {
+                completeSearchFilters(emitter, searchInput, filters);
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * The stream is aborted at the deadline and then completed from local extraction,
+     * so the emitter is kept open a little longer to send that final event.
+     */
+    private long streamTimeout(RequestDeadline deadline) {
+        long readTimeout = applicationProperties.getGenai().getGoogle().getReadTimeout();
+        return deadline.isBounded()
+            ? deadline.cap(Duration.ofMillis(readTimeout)).toMillis() + STREAM_COMPLETION_GRACE_MILLIS
+            : readTimeout;
+    }
+
+    private void completeSearchFilters(SseEmitter emitter, String searchInput, Map<String, Object> filters) {
+        addSearchContext(searchInput, filters);
+        try {
+            emitter.send(SseEmitter.event().name("filters").data(filters, MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private Map<String, Object> generateSearchFilters(String searchInput, RequestDeadline deadline) {
         
         Map<String, Object> filters = createDefaultFilters();
         
@@ -113,7 +199,7 @@ public class GtBffController {
             return filters;
         }
                     
-        enhanceFiltersWithAI(searchInput, filters);
+        enhanceFiltersWithAI(searchInput, filters, deadline);
         addSearchContext(searchInput, filters);
         
         return filters;
@@ -130,10 +216,10 @@ public class GtBffController {
         return filters;
     }
     
-    private void enhanceFiltersWithAI(String searchInput, Map<String, Object> filters) {
+    private void enhanceFiltersWithAI(String searchInput, Map<String, Object> filters, RequestDeadline deadline) {
        if(enableAIEnhancement){ 
             log.info("Enhancing filters with AI for input: {}", searchInput);
-            searchFilterService.enhanceFiltersWithAI(searchInput, travelExtractionPromptTemplate, filters);
+            searchFilterService.enhanceFiltersWithAI(searchInput, travelExtractionPromptTemplate, filters, deadline);
        }else{
             log.info("AI enhancement is disabled");
        }
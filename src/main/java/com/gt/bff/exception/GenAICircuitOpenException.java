@@ -0,0 +1,13 @@
+package com.gt.bff.exception;
+
+public class GenAICircuitOpenException extends GenAIException {
+    private static final long serialVersionUID = 4L;
+
+    public GenAICircuitOpenException(String message) {
+        super(message);
+    }
+
+    public GenAICircuitOpenException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
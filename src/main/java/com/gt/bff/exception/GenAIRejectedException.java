@@ -0,0 +1,17 @@
+package com.gt.bff.exception;
+
+/**
+ * Thrown when a GenAI call is turned away by this service's own capacity controls (concurrency limiter,
+ * bulkheads, API key pool, transport permits) before it reaches upstream. It says nothing about upstream health.
+ */
+public class GenAIRejectedException extends GenAIRateLimitException {
+    private static final long serialVersionUID = 6L;
+
+    public GenAIRejectedException(String message) {
+        super(message);
+    }
+
+    public GenAIRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
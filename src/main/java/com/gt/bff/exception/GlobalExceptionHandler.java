@@ -100,6 +100,18 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(RequestDeadlineExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRequestDeadlineExceededException(RequestDeadlineExceededException ex, WebRequest request) {
+        log.warn("Request deadline exceeded: {}", ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.GATEWAY_TIMEOUT.value(),
+                HttpStatus.GATEWAY_TIMEOUT.getReasonPhrase(),
+                "AI service did not answer within the request deadline.",
+                request.getDescription(false));
+        return new ResponseEntity<>(errorResponse, HttpStatus.GATEWAY_TIMEOUT);
+    }
+
     @ExceptionHandler(GenAITimeoutException.class)
     public ResponseEntity<ErrorResponse> handleGenAITimeoutException(GenAITimeoutException ex, WebRequest request) {
         log.error("GenAI service timeout: {}", ex.getMessage(), ex);
@@ -124,6 +136,18 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.TOO_MANY_REQUESTS);
     }
 
+    @ExceptionHandler(GenAICircuitOpenException.class)
+    public ResponseEntity<ErrorResponse> handleGenAICircuitOpenException(GenAICircuitOpenException ex, WebRequest request) {
+        log.warn("GenAI circuit breaker open: {}", ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                "AI service is temporarily unavailable. Please try again later.",
+                request.getDescription(false));
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(GenAIConfigurationException.class)
     public ResponseEntity<ErrorResponse> handleGenAIConfigurationException(GenAIConfigurationException ex, WebRequest request) {
         log.error("GenAI service configuration error: {}", ex.getMessage(), ex);
@@ -0,0 +1,9 @@
+package com.gt.bff.exception;
+
+public class RequestDeadlineExceededException extends GenAITimeoutException {
+    private static final long serialVersionUID = 5L;
+
+    public RequestDeadlineExceededException(String message) {
+        super(message);
+    }
+}
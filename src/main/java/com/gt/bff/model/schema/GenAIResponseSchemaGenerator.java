@@ -0,0 +1,139 @@
+package com.gt.bff.model.schema;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+
+/**
+ * Derives Gemini {@code responseSchema} objects from the schema classes in {@link AIResponseSchema},
+ * so structured output requests stay in step with the bean validation rules applied to the result.
+ * Only the schema subset the API accepts is emitted: type, format, enum, nullable, minimum, maximum,
+ * properties, required and items.
+ */
+public final class GenAIResponseSchemaGenerator {
+
+    private static final java.util.regex.Pattern ALTERNATION = java.util.regex.Pattern.compile("^\\^\\(([^()\\\\]+)\\)\\$$");
+    private static final Map<Class<?>, String> SCHEMA_CACHE = new ConcurrentHashMap<>();
+    private static final Map<Map<String, Class<?>>, String> COMPOSITE_SCHEMA_CACHE = new ConcurrentHashMap<>();
+
+    private GenAIResponseSchemaGenerator() {
+    }
+
+    /**
+     * Returns the response schema for a type, serialized once and cached
+     *
+     * @param type The schema class
+     * @return The serialized response schema
+     */
+    public static String schemaFor(Class<?> type) {
+        return SCHEMA_CACHE.computeIfAbsent(type, t -> objectSchema(t).toString());
+    }
+
+    /**
+     * Returns the response schema for an object whose properties are each described by a schema class,
+     * serialized once per combination and cached. Every property is required.
+     *
+     * @param parts The schema class for each property, in the order they should appear
+     * @return The serialized response schema
+     */
+    public static String schemaFor(Map<String, Class<?>> parts) {
+        return COMPOSITE_SCHEMA_CACHE.computeIfAbsent(Map.copyOf(parts), key -> {
+            JSONObject properties = new JSONObject();
+            JSONArray required = new JSONArray();
+            parts.forEach((name, type) -> {
+                properties.put(name, objectSchema(type));
+                required.put(name);
+            });
+            return new JSONObject().put("type", "OBJECT").put("properties", properties).put("required", required).toString();
+        });
+    }
+
+    private static JSONObject objectSchema(Class<?> type) {
+        JSONObject properties = new JSONObject();
+        JSONArray required = new JSONArray();
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            String name = propertyName(field);
+            JSONObject property = typeSchema(field.getGenericType());
+            applyConstraints(field, property);
+            if (field.isAnnotationPresent(NotNull.class) || field.isAnnotationPresent(NotBlank.class)) {
+                required.put(name);
+            } else {
+                property.put("nullable", true);
+            }
+            properties.put(name, property);
+        }
+
+        JSONObject schema = new JSONObject().put("type", "OBJECT").put("properties", properties);
+        if (!required.isEmpty()) {
+            schema.put("required", required);
+        }
+        return schema;
+    }
+
+    private static JSONObject typeSchema(Type type) {
+        if (type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && Collection.class.isAssignableFrom(raw)) {
+            return new JSONObject().put("type", "ARRAY").put("items", typeSchema(parameterized.getActualTypeArguments()[0]));
+        }
+        Class<?> raw = type instanceof Class<?> c ? c : Object.class;
+        if (raw == String.class || raw.isEnum()) {
+            return new JSONObject().put("type", "STRING");
+        }
+        if (raw == LocalDate.class) {
+            return new JSONObject().put("type", "STRING").put("description", "Date in YYYY-MM-DD format");
+        }
+        if (raw == Integer.class || raw == int.class || raw == Long.class || raw == long.class) {
+            return new JSONObject().put("type", "INTEGER");
+        }
+        if (Number.class.isAssignableFrom(raw) || raw == double.class || raw == float.class) {
+            return new JSONObject().put("type", "NUMBER");
+        }
+        if (raw == Boolean.class || raw == boolean.class) {
+            return new JSONObject().put("type", "BOOLEAN");
+        }
+        return objectSchema(raw);
+    }
+
+    private static void applyConstraints(Field field, JSONObject property) {
+        Min min = field.getAnnotation(Min.class);
+        if (min != null) {
+            property.put("minimum", min.value());
+        }
+        Max max = field.getAnnotation(Max.class);
+        if (max != null) {
+            property.put("maximum", max.value());
+        }
+        // Patterns of the form ^(A|B)$ are fixed choices the model can be held to
+        Pattern pattern = field.getAnnotation(Pattern.class);
+        if (pattern != null) {
+            Matcher alternation = ALTERNATION.matcher(pattern.regexp());
+            if (alternation.matches()) {
+                property.put("format", "enum").put("enum", new JSONArray(alternation.group(1).split("\\|")));
+            }
+        }
+    }
+
+    private static String propertyName(Field field) {
+        JsonProperty jsonProperty = field.getAnnotation(JsonProperty.class);
+        return jsonProperty != null && !jsonProperty.value().isEmpty() ? jsonProperty.value() : field.getName();
+    }
+}
@@ -1,6 +1,7 @@
 package com.gt.bff.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.gt.bff.model.schema.AIResponseSchema;
@@ -12,6 +13,9 @@ import jakarta.annotation.PostConstruct;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
@@ -39,18 +43,32 @@ public class AIResponseValidator {
      * Validates and parses travel search filters from AI response
      */
     public ValidationResult<AIResponseSchema.TravelSearchFilters> validateTravelSearchFilters(String aiResponse) {
+        String cleanJson = extractAndCleanJson(aiResponse);
+        if (cleanJson == null) {
+            return ValidationResult.failure("No valid JSON found in AI response");
+        }
+        return parseTravelSearchFilters(cleanJson);
+    }
+    
+    /**
+     * Validates travel search filters from a structured output response, which is plain JSON
+     * and so is parsed directly without looking for code blocks
+     */
+    public ValidationResult<AIResponseSchema.TravelSearchFilters> validateStructuredTravelSearchFilters(String jsonResponse) {
+        if (jsonResponse == null || jsonResponse.isBlank()) {
+            return ValidationResult.failure("No valid JSON found in AI response");
+        }
+        return parseTravelSearchFilters(jsonResponse);
+    }
+    
+    private ValidationResult<AIResponseSchema.TravelSearchFilters> parseTravelSearchFilters(String json) {
         try {
-            String cleanJson = extractAndCleanJson(aiResponse);
-            if (cleanJson == null) {
-                return ValidationResult.failure("No valid JSON found in AI response");
-            }
-            
-            if (containsMaliciousContent(cleanJson)) {
+            if (containsMaliciousContent(json)) {
                 log.warn("Malicious content detected in AI response");
                 return ValidationResult.failure("Invalid response content detected");
             }
             
-            AIResponseSchema.TravelSearchFilters filters = objectMapper.readValue(cleanJson, AIResponseSchema.TravelSearchFilters.class);
+            AIResponseSchema.TravelSearchFilters filters = objectMapper.readValue(json, AIResponseSchema.TravelSearchFilters.class);
             
             Set<ConstraintViolation<AIResponseSchema.TravelSearchFilters>> violations = validator.validate(filters);
             if (!violations.isEmpty()) {
@@ -69,6 +87,102 @@ public class AIResponseValidator {
         }
     }
     
+    /**
+     * Validates a single travel search filter field decoded from a streamed AI response.
+     * The value is converted to the type of the schema property and checked against its constraints.
+     *
+     * @param field The schema property name, e.g. "fromDate"
+     * @param value The decoded JSON value
+     * @return The value converted to the property type, e.g. a LocalDate for dates
+     */
+    public ValidationResult<Object> validateTravelSearchFilterField(String field, Object value) {
+        try {
+            java.lang.reflect.Field property = AIResponseSchema.TravelSearchFilters.class.getDeclaredField(field);
+            if (value instanceof String text && containsMaliciousContent(text)) {
+                log.warn("Malicious content detected in streamed AI response");
+                return ValidationResult.failure("Invalid response content detected");
+            }
+
+            Object typedValue = objectMapper.convertValue(value, property.getType());
+            Set<ConstraintViolation<AIResponseSchema.TravelSearchFilters>> violations =
+                validator.validateValue(AIResponseSchema.TravelSearchFilters.class, field, typedValue);
+            if (!violations.isEmpty()) {
+                StringBuilder errors = new StringBuilder();
+                violations.forEach(v -> errors.append(v.getMessage()).append("; "));
+                return ValidationResult.failure("Validation errors: " + errors.toString());
+            }
+            return ValidationResult.success(typedValue);
+        } catch (NoSuchFieldException e) {
+            return ValidationResult.failure("Unknown travel search filter field: " + field);
+        } catch (IllegalArgumentException e) {
+            log.debug("Invalid value for travel search filter field {}: {}", field, e.getMessage());
+            return ValidationResult.failure("Invalid value for field " + field);
+        }
+    }
+    
+    /**
+     * Validates a fused search response. Each requested part is read from its property and validated
+     * against its schema class on its own, so a bad part does not discard the valid ones.
+     *
+     * @param aiResponse The JSON object returned for the fused search
+     * @param parts The parts that were requested
+     * @return The valid parts and the reason each invalid part was rejected
+     */
+    public FusedSearchResult validateFusedSearchResponse(String aiResponse, Set<GenAISearchPart> parts) {
+        Map<GenAISearchPart, Object> values = new EnumMap<>(GenAISearchPart.class);
+        Map<GenAISearchPart, String> errors = new EnumMap<>(GenAISearchPart.class);
+        JsonNode root = null;
+        String cleanJson = extractAndCleanJson(aiResponse);
+        if (cleanJson == null) {
+            parts.forEach(part -> errors.put(part, "No valid JSON found in AI response"));
+        } else {
+            try {
+                root = objectMapper.readTree(cleanJson);
+            } catch (JsonProcessingException e) {
+                log.error("Failed to parse fused search response: {}", e.getMessage());
+                parts.forEach(part -> errors.put(part, "Invalid JSON format in AI response"));
+            }
+        }
+
+        if (root != null) {
+            for (GenAISearchPart part : parts) {
+                ValidationResult<?> result = validatePart(root.get(part.getProperty()), part.getSchema());
+                if (result.isValid()) {
+                    values.put(part, result.getData());
+                } else {
+                    errors.put(part, result.getErrorMessage());
+                }
+            }
+        }
+        return new FusedSearchResult(
+            (AIResponseSchema.TravelSearchFilters) values.get(GenAISearchPart.SEARCH_FILTERS),
+            (AIResponseSchema.LocationExtraction) values.get(GenAISearchPart.ORIGIN_LOCATION),
+            (AIResponseSchema.TravelAdvice) values.get(GenAISearchPart.TRAVEL_ADVICE),
+            errors);
+    }
+    
+    private <T> ValidationResult<T> validatePart(JsonNode node, Class<T> type) {
+        if (node == null || !node.isObject()) {
+            return ValidationResult.failure("Part missing from AI response");
+        }
+        if (containsMaliciousContent(node.toString())) {
+            log.warn("Malicious content detected in AI response");
+            return ValidationResult.failure("Invalid response content detected");
+        }
+        try {
+            T value = objectMapper.treeToValue(node, type);
+            Set<ConstraintViolation<T>> violations = validator.validate(value);
+            if (!violations.isEmpty()) {
+                StringBuilder errors = new StringBuilder();
+                violations.forEach(v -> errors.append(v.getMessage()).append("; "));
+                return ValidationResult.failure("Validation errors: " + errors.toString());
+            }
+            return ValidationResult.success(value);
+        } catch (JsonProcessingException e) {
+            return ValidationResult.failure("Invalid JSON format in AI response");
+        }
+    }
+    
     /**
      * Validates and parses location extraction from AI response
      */
@@ -178,6 +292,13 @@ public class AIResponseValidator {
         return ValidationResult.success(aiResponse.trim());
     }
     
+    /**
+     * Checks a fragment of AI output, such as a streamed chunk, for unsafe content
+     */
+    public boolean isSafeContent(String content) {
+        return !containsMaliciousContent(content);
+    }
+    
     /**
      * Safely converts AI response to Map for backward compatibility
      */
@@ -206,6 +327,40 @@ public class AIResponseValidator {
         }
     }
     
+    /**
+     * Splits a JSON array response into its serialized elements, so each can be validated on its own
+     *
+     * @param aiResponse the AI-generated response
+     * @param expectedSize the number of elements the response must contain
+     * @return the serialized elements in response order
+     */
+    public ValidationResult<List<String>> validateJsonArray(String aiResponse, int expectedSize) {
+        try {
+            String cleanJson = extractAndCleanJson(aiResponse);
+            if (cleanJson == null) {
+                return ValidationResult.failure("No valid JSON found in AI response");
+            }
+            
+            JsonNode root = objectMapper.readTree(cleanJson);
+            if (!root.isArray()) {
+                return ValidationResult.failure("AI response is not a JSON array");
+            }
+            if (root.size() != expectedSize) {
+                return ValidationResult.failure("Expected " + expectedSize + " results but AI returned " + root.size());
+            }
+            
+            List<String> items = new ArrayList<>(root.size());
+            root.forEach(item -> items.add(item.toString()));
+            return ValidationResult.success(items);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to parse JSON array from AI response: {}", e.getMessage());
+            return ValidationResult.failure("Invalid JSON format in AI response");
+        } catch (Exception e) {
+            log.error("Unexpected error splitting AI response array: {}", e.getMessage());
+            return ValidationResult.failure("Parsing failed due to unexpected error");
+        }
+    }
+    
     /**
      * Extracts JSON from code blocks or plain text
      */
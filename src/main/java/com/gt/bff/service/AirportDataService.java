@@ -21,6 +21,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -38,6 +40,7 @@ public class AirportDataService {
     
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private volatile AirportsFile airportsFile;
     
     public AirportDataService() {
         this.restTemplate = new RestTemplate();
@@ -172,6 +175,7 @@ public class AirportDataService {
             
             try (java.io.BufferedWriter writer = Files.newBufferedWriter(gtAirportsPath, StandardCharsets.UTF_8)) {
                 writer.write(jsonString);
+                airportsFile = null;
                 log.info("Extracted {} airports with IATA codes to: {}", iataAirports.size(), gtAirportsPath.toAbsolutePath());
             } catch (IOException e) {
                 log.error("Error writing to file: {}", e.getMessage(), e);
@@ -187,6 +191,8 @@ public class AirportDataService {
     
     /**
      * Reads and returns the contents of the gt-airports.json file.
+     * The contents are kept in memory and only read again once the file's size or modification time changes,
+     * so the endpoint does not block on file I/O for every request.
      * @return JSON string containing airport data
      * @throws IOException if an I/O error occurs reading the file
      * @throws FileNotFoundException if the file does not exist
@@ -199,10 +205,26 @@ public class AirportDataService {
         }
         
         try {
-            return new String(Files.readAllBytes(gtAirportsPath), StandardCharsets.UTF_8);
+            BasicFileAttributes attributes = Files.readAttributes(gtAirportsPath, BasicFileAttributes.class);
+            AirportsFile cached = airportsFile;
+            if (cached != null && cached.matches(attributes)) {
+                return cached.content();
+            }
+            String content = new String(Files.readAllBytes(gtAirportsPath), StandardCharsets.UTF_8);
+            airportsFile = new AirportsFile(attributes.lastModifiedTime(), attributes.size(), content);
+            return content;
         } catch (IOException e) {
             log.error("Error reading airports data file: {}", e.getMessage(), e);
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Contents of gt-airports.json together with the file attributes they were read at
+     */
+    private record AirportsFile(FileTime lastModified, long size, String content) {
+        private boolean matches(BasicFileAttributes attributes) {
+            return lastModified.equals(attributes.lastModifiedTime()) && size == attributes.size();
+        }
+    }
+}
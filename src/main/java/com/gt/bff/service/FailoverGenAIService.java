@@ -0,0 +1,406 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * GenAI service that chains several backends: Google, the additional {@code failover.endpoints} and the
+ * local extractor as the last resort. Each call tries the healthy backends in order of their score, a moving
+ * average of latency divided by a moving average of success rate, and moves on to the next one when a
+ * backend fails. A backend with {@code failure-threshold} consecutive failures is tried last for
+ * {@code cooldown}. While other backends remain, one attempt may use at most {@code attempt-budget-ratio} of
+ * what is left of the request deadline, so there is time to fail over.
+ * <p>
+ * Only deadline-bound generation fails over; model-pinned, async and streaming calls and the prompt-template
+ * helpers go to Google directly. Fused searches fall back to the local extractor for the search filters.
+ */
+@Slf4j
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "application.genai.failover", name = "enabled", havingValue = "true")
+public class FailoverGenAIService implements GenAIService {
+
+    private static final String GOOGLE_BACKEND_NAME = "google";
+    private static final double MIN_SUCCESS_RATE = 0.05;
+    private static final String LOCAL_UNAVAILABLE = "Not available from the local extractor";
+
+    private final ApplicationProperties applicationProperties;
+    private final GoogleGenAIService googleGenAIService;
+    private final LocalGenAIBackend localGenAIBackend;
+    private final AIResponseValidator aiResponseValidator;
+    private final RequestDeadlines requestDeadlines;
+    private final List<BackendHealth> remoteBackends = new ArrayList<>();
+    private final BackendHealth localBackend;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter exhaustedCounter;
+
+    @Autowired
+    public FailoverGenAIService(ApplicationProperties applicationProperties, GoogleGenAIService googleGenAIService,
+                                LocalGenAIBackend localGenAIBackend, GenAITransport genAITransport,
+                                AIResponseValidator aiResponseValidator, RequestDeadlines requestDeadlines,
+                                MeterRegistry meterRegistry) {
+        this(applicationProperties, googleGenAIService,
+                remoteBackends(applicationProperties, googleGenAIService, genAITransport),
+                localGenAIBackend, aiResponseValidator, requestDeadlines, meterRegistry);
+    }
+
+    FailoverGenAIService(ApplicationProperties applicationProperties, GoogleGenAIService googleGenAIService,
+                         List<GenAIBackend> remoteBackends, LocalGenAIBackend localGenAIBackend,
+                         AIResponseValidator aiResponseValidator, RequestDeadlines requestDeadlines,
+                         MeterRegistry meterRegistry) {
+        this.applicationProperties = applicationProperties;
+        this.googleGenAIService = googleGenAIService;
+        this.localGenAIBackend = localGenAIBackend;
+        this.aiResponseValidator = aiResponseValidator;
+        this.requestDeadlines = requestDeadlines;
+        long initialLatency = TimeUnit.MILLISECONDS.toNanos(applicationProperties.getGenai().getFailover().getInitialLatency());
+        remoteBackends.forEach(backend -> this.remoteBackends.add(new BackendHealth(backend, initialLatency, meterRegistry)));
+        this.localBackend = new BackendHealth(localGenAIBackend, 0, meterRegistry);
+        this.exhaustedCounter = Counter.builder("genai.failover.exhausted")
+                .description("GenAI calls that failed on every backend")
+                .register(meterRegistry);
+        log.info("GenAI failover across backends {}{}", remoteBackends.stream().map(GenAIBackend::getName).toList(),
+                isLocalFallbackEnabled() ? " with local fallback" : "");
+    }
+
+    private static List<GenAIBackend> remoteBackends(ApplicationProperties applicationProperties,
+                                                     GoogleGenAIService googleGenAIService, GenAITransport genAITransport) {
+        List<GenAIBackend> backends = new ArrayList<>();
+        backends.add(new GoogleBackend(googleGenAIService));
+        applicationProperties.getGenai().getFailover().getEndpoints()
+                .forEach(endpoint -> backends.add(new HttpGenAIBackend(endpoint, applicationProperties, genAITransport)));
+        return backends;
+    }
+
+    @Override
+    public String generateContent(String prompt) {
+        return generate(GenAIOperation.GENERAL, prompt, null, RequestDeadline.none());
+    }
+
+    @Override
+    public String generateContent(String model, String prompt) {
+        return googleGenAIService.generateContent(model, prompt);
+    }
+
+    @Override
+    public String generateContent(GenAIOperation operation, String prompt, RequestDeadline deadline) {
+        return generate(operation, prompt, null, deadline);
+    }
+
+    @Override
+    public String generateStructuredContent(GenAIOperation operation, String prompt, Class<?> responseType,
+                                            RequestDeadline deadline) {
+        return generate(operation, prompt, responseType, deadline);
+    }
+
+    /**
+     * Generates the fused search with Google. If that fails and the search filters were requested, they are
+     * answered by the local extractor and the other parts are reported as failed.
+     */
+    @Override
+    public FusedSearchResult generateFusedSearch(String query, Set<GenAISearchPart> parts, RequestDeadline deadline) {
+        try {
+            return googleGenAIService.generateFusedSearch(query, parts, deadline);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            if (!isLocalFallbackEnabled() || !parts.contains(GenAISearchPart.SEARCH_FILTERS)) {
+                throw e;
+            }
+            log.warn("Fused search failed, answering search filters locally: {}", e.getMessage());
+            return localFusedSearch(query, parts);
+        }
+    }
+
+    private FusedSearchResult localFusedSearch(String query, Set<GenAISearchPart> parts) {
+        String filters = new JSONObject()
+                .put(GenAISearchPart.SEARCH_FILTERS.getProperty(), new JSONObject(localGenAIBackend.extractFilters(query)))
+                .toString();
+        FusedSearchResult local = aiResponseValidator.validateFusedSearchResponse(filters, EnumSet.of(GenAISearchPart.SEARCH_FILTERS));
+        Map<GenAISearchPart, String> errors = new LinkedHashMap<>(local.errors());
+        parts.stream()
+                .filter(part -> part != GenAISearchPart.SEARCH_FILTERS)
+                .forEach(part -> errors.put(part, LOCAL_UNAVAILABLE));
+        return new FusedSearchResult(local.searchFilters(), null, null, errors);
+    }
+
+    @Override
+    public String explainTopic(String topic) {
+        return googleGenAIService.explainTopic(topic);
+    }
+
+    @Override
+    public String processTravelQuery(String travelQuery) {
+        return googleGenAIService.processTravelQuery(travelQuery);
+    }
+
+    @Override
+    public String extractGeoLocation(String query) {
+        return googleGenAIService.extractGeoLocation(query);
+    }
+
+    @Override
+    public CompletableFuture<String> generateContentAsync(String prompt) {
+        return googleGenAIService.generateContentAsync(prompt);
+    }
+
+    @Override
+    public CompletableFuture<String> generateContentAsync(String model, String prompt) {
+        return googleGenAIService.generateContentAsync(model, prompt);
+    }
+
+    @Override
+    public CompletableFuture<String> explainTopicAsync(String topic) {
+        return googleGenAIService.explainTopicAsync(topic);
+    }
+
+    @Override
+    public CompletableFuture<String> processTravelQueryAsync(String travelQuery) {
+        return googleGenAIService.processTravelQueryAsync(travelQuery);
+    }
+
+    @Override
+    public CompletableFuture<String> extractGeoLocationAsync(String query) {
+        return googleGenAIService.extractGeoLocationAsync(query);
+    }
+
+    @Override
+    public Flow.Publisher<String> streamContent(String prompt) {
+        return googleGenAIService.streamContent(prompt);
+    }
+
+    @Override
+    public Flow.Publisher<String> streamContent(String model, String prompt) {
+        return googleGenAIService.streamContent(model, prompt);
+    }
+
+    @Override
+    public Flow.Publisher<String> streamContent(GenAIOperation operation, String prompt, RequestDeadline deadline) {
+        return googleGenAIService.streamContent(operation, prompt, deadline);
+    }
+
+    @Override
+    public Flow.Publisher<String> streamTravelQuery(String travelQuery) {
+        return googleGenAIService.streamTravelQuery(travelQuery);
+    }
+
+    /**
+     * @return true if Google is initialized, another endpoint is configured or the local fallback is enabled
+     */
+    @Override
+    public boolean isAvailable() {
+        return googleGenAIService.isAvailable() || remoteBackends.size() > 1 || isLocalFallbackEnabled();
+    }
+
+    private String generate(GenAIOperation operation, String prompt, Class<?> responseType, RequestDeadline deadline) {
+        List<BackendHealth> chain = chainFor(operation);
+        RuntimeException failure = null;
+        for (int i = 0; i < chain.size(); i++) {
+            BackendHealth backend = chain.get(i);
+            boolean local = backend == localBackend;
+            // The local extractor answers in microseconds, so it still runs once the deadline has passed
+            if (!local && deadline.isExpired()) {
+                continue;
+            }
+            boolean remoteLeft = i + 1 < chain.size() && chain.get(i + 1) != localBackend;
+            long startTime = System.nanoTime();
+            try {
+                String result = backend.backend.generate(operation, prompt, responseType, attemptDeadline(deadline, remoteLeft));
+                record(backend, System.nanoTime() - startTime, true);
+                if (i > 0) {
+                    log.info("GenAI {} answered by backend {} after failover", operation.getKey(), backend.backend.getName());
+                }
+                return result;
+            } catch (RuntimeException e) {
+                record(backend, System.nanoTime() - startTime, false);
+                log.warn("GenAI backend {} failed for {}: {}", backend.backend.getName(), operation.getKey(), e.getMessage());
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        exhaustedCounter.increment();
+        if (deadline.isExpired()) {
+            RuntimeException exceeded = requestDeadlines.exceeded(RequestDeadlines.STAGE_GENAI_CALL);
+            if (failure != null) {
+                exceeded.addSuppressed(failure);
+            }
+            throw exceeded;
+        }
+        if (failure == null) {
+            throw new IllegalStateException("No GenAI backend available for " + operation.getKey());
+        }
+        throw failure;
+    }
+
+    /**
+     * Backends to try for an operation: healthy remote backends by score, then cooling-down ones by score,
+     * then the local extractor if it can answer
+     */
+    private List<BackendHealth> chainFor(GenAIOperation operation) {
+        List<BackendHealth> chain = new ArrayList<>();
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            for (BackendHealth backend : remoteBackends) {
+                if (backend.backend.supports(operation)) {
+                    backend.rankedCoolingDown = backend.isCoolingDown(now);
+                    backend.rankedScore = backend.score();
+                    chain.add(backend);
+                }
+            }
+            // Stable sort, so ties keep the configured order
+            chain.sort(Comparator.<BackendHealth, Boolean>comparing(backend -> backend.rankedCoolingDown)
+                    .thenComparingDouble(backend -> backend.rankedScore));
+        } finally {
+            lock.unlock();
+        }
+        if (isLocalFallbackEnabled() && localGenAIBackend.supports(operation)) {
+            chain.add(localBackend);
+        }
+        return chain;
+    }
+
+    /**
+     * Deadline for one attempt. While another remote backend is left, a bounded deadline is cut to a share
+     * of what remains so a slow backend cannot use up the time for failing over.
+     */
+    private RequestDeadline attemptDeadline(RequestDeadline deadline, boolean remoteLeft) {
+        if (!remoteLeft || !deadline.isBounded()) {
+            return deadline;
+        }
+        double ratio = applicationProperties.getGenai().getFailover().getAttemptBudgetRatio();
+        return RequestDeadline.after(Duration.ofNanos((long) (deadline.remaining().toNanos() * ratio)));
+    }
+
+    private void record(BackendHealth backend, long elapsedNanos, boolean success) {
+        ApplicationProperties.GenAI.Failover failover = applicationProperties.getGenai().getFailover();
+        double smoothing = failover.getSmoothing();
+        lock.lock();
+        try {
+            if (success) {
+                backend.latencyNanos += smoothing * (elapsedNanos - backend.latencyNanos);
+                backend.successRate += smoothing * (1.0 - backend.successRate);
+                backend.consecutiveFailures = 0;
+            } else {
+                // A fast failure says nothing good about latency, a slow one does say something bad
+                backend.latencyNanos += smoothing * Math.max(0, elapsedNanos - backend.latencyNanos);
+                backend.successRate -= smoothing * backend.successRate;
+                backend.consecutiveFailures++;
+                if (backend.consecutiveFailures >= failover.getFailureThreshold()) {
+                    backend.coolingDownUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(failover.getCooldown());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        (success ? backend.successCounter : backend.failureCounter).increment();
+    }
+
+    private boolean isLocalFallbackEnabled() {
+        return applicationProperties.getGenai().getFailover().isLocalFallback();
+    }
+
+    /**
+     * Live health of one backend. Fields are guarded by the service lock.
+     */
+    private final class BackendHealth {
+        private final GenAIBackend backend;
+        private final Counter successCounter;
+        private final Counter failureCounter;
+        private double latencyNanos;
+        private double successRate = 1.0;
+        private int consecutiveFailures;
+        private long coolingDownUntil = System.nanoTime();
+        private boolean rankedCoolingDown;
+        private double rankedScore;
+
+        private BackendHealth(GenAIBackend backend, long initialLatencyNanos, MeterRegistry meterRegistry) {
+            this.backend = backend;
+            this.latencyNanos = initialLatencyNanos;
+            this.successCounter = Counter.builder("genai.failover.calls")
+                    .description("GenAI calls per failover backend and outcome")
+                    .tag("backend", backend.getName())
+                    .tag("outcome", "success")
+                    .register(meterRegistry);
+            this.failureCounter = Counter.builder("genai.failover.calls")
+                    .description("GenAI calls per failover backend and outcome")
+                    .tag("backend", backend.getName())
+                    .tag("outcome", "failure")
+                    .register(meterRegistry);
+            Gauge.builder("genai.failover.score", this, BackendHealth::getScoreMillis)
+                    .description("Failover score of the backend, lower is tried first")
+                    .tag("backend", backend.getName())
+                    .register(meterRegistry);
+        }
+
+        private boolean isCoolingDown(long now) {
+            return now - coolingDownUntil < 0;
+        }
+
+        private double score() {
+            return latencyNanos / Math.max(successRate, MIN_SUCCESS_RATE);
+        }
+
+        private double getScoreMillis() {
+            lock.lock();
+            try {
+                return score() / TimeUnit.MILLISECONDS.toNanos(1);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Google as a failover backend, with its own cache, limits and circuit breaker in front of the call
+     */
+    private static final class GoogleBackend implements GenAIBackend {
+        private final GoogleGenAIService googleGenAIService;
+
+        private GoogleBackend(GoogleGenAIService googleGenAIService) {
+            this.googleGenAIService = googleGenAIService;
+        }
+
+        @Override
+        public String getName() {
+            return GOOGLE_BACKEND_NAME;
+        }
+
+        @Override
+        public boolean supports(GenAIOperation operation) {
+            return googleGenAIService.isAvailable();
+        }
+
+        @Override
+        public String generate(GenAIOperation operation, String prompt, Class<?> responseType, RequestDeadline deadline) {
+            return responseType != null
+                    ? googleGenAIService.generateStructuredContent(operation, prompt, responseType, deadline)
+                    : googleGenAIService.generateContent(operation, prompt, deadline);
+        }
+    }
+}
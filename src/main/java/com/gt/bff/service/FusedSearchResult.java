@@ -0,0 +1,32 @@
+package com.gt.bff.service;
+
+import com.gt.bff.model.schema.AIResponseSchema;
+
+import java.util.Map;
+
+/**
+ * Result of a fused search call. Each requested part is validated on its own, so one bad part does not
+ * discard the others. Parts that were not requested or failed validation are null, and the reason for
+ * each failed part is in {@code errors}.
+ *
+ * @param searchFilters The travel search filters, if requested and valid
+ * @param originLocation The origin location, if requested and valid
+ * @param travelAdvice The travel advice, if requested and valid
+ * @param errors Validation errors by failed part
+ */
+public record FusedSearchResult(AIResponseSchema.TravelSearchFilters searchFilters,
+                                AIResponseSchema.LocationExtraction originLocation,
+                                AIResponseSchema.TravelAdvice travelAdvice,
+                                Map<GenAISearchPart, String> errors) {
+
+    /**
+     * @return Whether the part was requested and passed validation
+     */
+    public boolean isValid(GenAISearchPart part) {
+        return switch (part) {
+            case SEARCH_FILTERS -> searchFilters != null;
+            case ORIGIN_LOCATION -> originLocation != null;
+            case TRAVEL_ADVICE -> travelAdvice != null;
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.gt.bff.service;
+
+/**
+ * One place GenAI content can be generated, chained by {@link FailoverGenAIService}
+ */
+public interface GenAIBackend {
+
+    /**
+     * Name used for this backend in metric tags and logs
+     */
+    String getName();
+
+    /**
+     * Whether the backend can answer the operation at all
+     *
+     * @param operation The operation the content is for
+     * @return true if the backend should be tried for the operation
+     */
+    boolean supports(GenAIOperation operation);
+
+    /**
+     * Generates content, as JSON following the response schema when a response type is given
+     *
+     * @param operation The operation the content is for
+     * @param prompt The prompt to send to the AI
+     * @param responseType The schema class describing the expected JSON object, or null for free text
+     * @param deadline The deadline for this attempt
+     * @return Generated content as string
+     * @throws RuntimeException if the backend could not answer; the caller moves on to the next backend
+     */
+    String generate(GenAIOperation operation, String prompt, Class<?> responseType, RequestDeadline deadline);
+}
@@ -0,0 +1,172 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import com.gt.bff.exception.GenAIRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Isolated concurrency limits per {@link GenAIOperation}, so that a slow operation such as travel advice
+ * cannot take all the request threads and upstream capacity needed by search filtering.
+ * Each operation configured under {@code genai.bulkheads} gets its own permits and bounded wait queue;
+ * operations that are not configured are not limited here.
+ */
+@Slf4j
+@Component
+public class GenAIBulkheads {
+
+    private static final Permit UNBOUNDED = new Permit(null);
+
+    private final Map<GenAIOperation, Bulkhead> bulkheads = new EnumMap<>(GenAIOperation.class);
+
+    public GenAIBulkheads(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        Map<String, ApplicationProperties.GenAI.Bulkhead> config = applicationProperties.getGenai().getBulkheads();
+        for (GenAIOperation operation : GenAIOperation.values()) {
+            ApplicationProperties.GenAI.Bulkhead bulkheadConfig = config.get(operation.getKey());
+            if (bulkheadConfig != null && bulkheadConfig.getMaxConcurrent() > 0) {
+                bulkheads.put(operation, new Bulkhead(operation, bulkheadConfig, meterRegistry));
+                log.info("GenAI bulkhead for {}: {} concurrent, {} queued", operation.getKey(),
+                        bulkheadConfig.getMaxConcurrent(), bulkheadConfig.getMaxQueueSize());
+            }
+        }
+    }
+
+    /**
+     * Enters the operation's bulkhead, waiting up to its queue timeout or the given time, whichever is shorter
+     *
+     * @param operation The operation about to call GenAI
+     * @param maxWait Longest the caller can afford to wait, e.g. what is left of its request deadline
+     * @return A permit that must be released once the call is done
+     * @throws GenAIRejectedException if the bulkhead stayed full or its queue is full
+     */
+    public Permit acquire(GenAIOperation operation, Duration maxWait) {
+        Bulkhead bulkhead = bulkheads.get(operation);
+        return bulkhead != null ? bulkhead.acquire(maxWait) : UNBOUNDED;
+    }
+
+    /**
+     * Enters the operation's bulkhead only if it has a free slot; used by non-blocking callers
+     *
+     * @param operation The operation about to call GenAI
+     * @return A permit, or empty if the bulkhead is full
+     */
+    public Optional<Permit> tryAcquire(GenAIOperation operation) {
+        Bulkhead bulkhead = bulkheads.get(operation);
+        return bulkhead != null ? bulkhead.tryAcquire() : Optional.of(UNBOUNDED);
+    }
+
+    /**
+     * @return Calls currently inside the operation's bulkhead, or 0 if it has none
+     */
+    public int getActive(GenAIOperation operation) {
+        Bulkhead bulkhead = bulkheads.get(operation);
+        return bulkhead != null ? bulkhead.getActive() : 0;
+    }
+
+    private static final class Bulkhead {
+        private final GenAIOperation operation;
+        private final int maxConcurrent;
+        private final int maxQueueSize;
+        private final long queueTimeoutNanos;
+        private final Semaphore permits;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final Counter rejectedCounter;
+
+        private Bulkhead(GenAIOperation operation, ApplicationProperties.GenAI.Bulkhead config, MeterRegistry meterRegistry) {
+            this.operation = operation;
+            this.maxConcurrent = config.getMaxConcurrent();
+            this.maxQueueSize = config.getMaxQueueSize();
+            this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getQueueTimeout());
+            this.permits = new Semaphore(maxConcurrent);
+            this.rejectedCounter = Counter.builder("genai.bulkhead.rejected")
+                    .description("GenAI calls rejected because their operation's bulkhead was full")
+                    .tag("operation", operation.getKey())
+                    .register(meterRegistry);
+            Gauge.builder("genai.bulkhead.active", this, Bulkhead::getActive)
+                    .description("GenAI calls currently inside the operation's bulkhead")
+                    .tag("operation", operation.getKey())
+                    .register(meterRegistry);
+            Gauge.builder("genai.bulkhead.utilization", this, Bulkhead::getUtilization)
+                    .description("Share of the operation's bulkhead slots in use, from 0 to 1")
+                    .tag("operation", operation.getKey())
+                    .register(meterRegistry);
+            Gauge.builder("genai.bulkhead.queue.depth", waiting, AtomicInteger::get)
+                    .description("Callers waiting to enter the operation's bulkhead")
+                    .tag("operation", operation.getKey())
+                    .register(meterRegistry);
+        }
+
+        private Permit acquire(Duration maxWait) {
+            if (permits.tryAcquire()) {
+                return new Permit(this);
+            }
+            if (waiting.incrementAndGet() > maxQueueSize) {
+                waiting.decrementAndGet();
+                throw reject();
+            }
+            try {
+                if (permits.tryAcquire(Math.min(queueTimeoutNanos, maxWait.toNanos()), TimeUnit.NANOSECONDS)) {
+                    return new Permit(this);
+                }
+                throw reject();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw reject();
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+
+        private Optional<Permit> tryAcquire() {
+            if (permits.tryAcquire()) {
+                return Optional.of(new Permit(this));
+            }
+            rejectedCounter.increment();
+            return Optional.empty();
+        }
+
+        private int getActive() {
+            return maxConcurrent - permits.availablePermits();
+        }
+
+        private double getUtilization() {
+            return (double) getActive() / maxConcurrent;
+        }
+
+        private GenAIRejectedException reject() {
+            rejectedCounter.increment();
+            return new GenAIRejectedException("GenAI bulkhead for " + operation.getKey()
+                    + " is full (max-concurrent=" + maxConcurrent + ")");
+        }
+    }
+
+    /**
+     * Slot in an operation's bulkhead; released once, however many times {@link #release()} is called
+     */
+    public static final class Permit {
+        private final Bulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Bulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        public void release() {
+            if (bulkhead != null && released.compareAndSet(false, true)) {
+                bulkhead.permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Circuit breaker guarding upstream GenAI calls.
+ * While closed it tracks the outcome of the last {@code circuit-breaker.window-size} calls and opens
+ * once the share of failed or slow calls crosses its threshold. While open every call is refused
+ * without touching the network. After {@code circuit-breaker.open-duration} a few probe calls are
+ * let through (half-open); the breaker closes if they all succeed and re-opens on the first failure.
+ * State is guarded by a {@link ReentrantLock} rather than a monitor, so virtual threads logging a
+ * transition never pin their carrier.
+ */
+@Slf4j
+@Component
+public class GenAICircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final ApplicationProperties applicationProperties;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter rejectedCounter;
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private State state = State.CLOSED;
+    private int position;
+    private int recordedCalls;
+    private int failureCount;
+    private int slowCount;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    public GenAICircuitBreaker(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.applicationProperties = applicationProperties;
+        this.meterRegistry = meterRegistry;
+        int windowSize = Math.max(1, config().getWindowSize());
+        this.failedCalls = new boolean[windowSize];
+        this.slowCalls = new boolean[windowSize];
+        this.rejectedCounter = Counter.builder("genai.circuit.rejected")
+                .description("GenAI calls refused because the circuit breaker was open")
+                .register(meterRegistry);
+    }
+
+    private ApplicationProperties.GenAI.CircuitBreaker config() {
+        return applicationProperties.getGenai().getGoogle().getCircuitBreaker();
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("genai.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("GenAI circuit breaker state (0=closed, 1=open, 2=half-open)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks whether a call may go upstream. Every permitted call must be followed by
+     * {@link #onSuccess(long)}, {@link #onError(long, Throwable)} or {@link #onIgnored()}.
+     *
+     * @return true if the call may proceed, false if the breaker refuses it
+     */
+    public boolean tryAcquirePermission() {
+        lock.lock();
+        try {
+            ApplicationProperties.GenAI.CircuitBreaker circuitBreaker = config();
+            if (!circuitBreaker.isEnabled()) {
+                return true;
+            }
+
+            if (state == State.OPEN
+                    && System.nanoTime() - openedAt >= TimeUnit.MILLISECONDS.toNanos(circuitBreaker.getOpenDuration())) {
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.HALF_OPEN && probesStarted < circuitBreaker.getHalfOpenCalls()) {
+                probesStarted++;
+                return true;
+            }
+            rejectedCounter.increment();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a call that completed successfully
+     *
+     * @param durationNanos How long the call took
+     */
+    public void onSuccess(long durationNanos) {
+        lock.lock();
+        try {
+            ApplicationProperties.GenAI.CircuitBreaker circuitBreaker = config();
+            if (!circuitBreaker.isEnabled()) {
+                return;
+            }
+
+            boolean slow = isSlow(durationNanos);
+            if (state == State.HALF_OPEN) {
+                if (slow) {
+                    transitionTo(State.OPEN);
+                } else if (++probesSucceeded >= circuitBreaker.getHalfOpenCalls()) {
+                    transitionTo(State.CLOSED);
+                }
+            } else if (state == State.CLOSED) {
+                record(false, slow);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a call that failed
+     *
+     * @param durationNanos How long the call took before failing
+     * @param error The failure
+     */
+    public void onError(long durationNanos, Throwable error) {
+        lock.lock();
+        try {
+            if (!config().isEnabled()) {
+                return;
+            }
+
+            log.debug("GenAI call failed after {}ms: {}", TimeUnit.NANOSECONDS.toMillis(durationNanos), error.getMessage());
+            if (state == State.HALF_OPEN) {
+                transitionTo(State.OPEN);
+            } else if (state == State.CLOSED) {
+                record(true, isSlow(durationNanos));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases the permission of a call that never produced an upstream outcome, e.g. one turned away by a local
+     * limit or cut short by its own deadline. Nothing is recorded; a half-open probe slot is freed for another call.
+     */
+    public void onIgnored() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN && probesStarted > 0) {
+                probesStarted--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Milliseconds until an open breaker starts probing again, or 0 if it is not open
+     */
+    public long getRemainingOpenMillis() {
+        lock.lock();
+        try {
+            if (state != State.OPEN) {
+                return 0;
+            }
+            long openNanos = TimeUnit.MILLISECONDS.toNanos(config().getOpenDuration());
+            return Math.max(0, TimeUnit.NANOSECONDS.toMillis(openNanos - (System.nanoTime() - openedAt)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isSlow(long durationNanos) {
+        return durationNanos > TimeUnit.MILLISECONDS.toNanos(
+                config().getSlowCallThreshold());
+    }
+
+    private void record(boolean failed, boolean slow) {
+        if (recordedCalls == failedCalls.length) {
+            failureCount -= failedCalls[position] ? 1 : 0;
+            slowCount -= slowCalls[position] ? 1 : 0;
+        } else {
+            recordedCalls++;
+        }
+        failedCalls[position] = failed;
+        slowCalls[position] = slow;
+        failureCount += failed ? 1 : 0;
+        slowCount += slow ? 1 : 0;
+        position = (position + 1) % failedCalls.length;
+
+        ApplicationProperties.GenAI.CircuitBreaker circuitBreaker = config();
+        if (recordedCalls < circuitBreaker.getMinimumCalls()) {
+            return;
+        }
+        double failureRate = failureCount * 100.0 / recordedCalls;
+        double slowCallRate = slowCount * 100.0 / recordedCalls;
+        if (failureRate >= circuitBreaker.getFailureRateThreshold()
+                || slowCallRate >= circuitBreaker.getSlowCallRateThreshold()) {
+            log.warn("Opening GenAI circuit breaker (failureRate={}%, slowCallRate={}% over {} calls)",
+                    Math.round(failureRate), Math.round(slowCallRate), recordedCalls);
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void transitionTo(State next) {
+        Counter.builder("genai.circuit.transitions")
+                .description("GenAI circuit breaker state transitions")
+                .tag("from", state.name().toLowerCase())
+                .tag("to", next.name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+        log.info("GenAI circuit breaker {} -> {}", state, next);
+
+        state = next;
+        probesStarted = 0;
+        probesSucceeded = 0;
+        if (next == State.OPEN) {
+            openedAt = System.nanoTime();
+        } else if (next == State.CLOSED) {
+            resetWindow();
+        }
+    }
+
+    private void resetWindow() {
+        Arrays.fill(failedCalls, false);
+        Arrays.fill(slowCalls, false);
+        position = 0;
+        recordedCalls = 0;
+        failureCount = 0;
+        slowCount = 0;
+    }
+}
@@ -0,0 +1,401 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import com.gt.bff.exception.GenAIRateLimitException;
+import com.gt.bff.exception.GenAIRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive limit on concurrent upstream GenAI calls using additive-increase/multiplicative-decrease.
+ * The limit grows by one for each successful call made while at least half the limit is in use,
+ * and shrinks by {@code limiter.backoff-ratio} whenever upstream answers 429, times out, or takes
+ * longer than {@code limiter.latency-threshold}. Callers over the limit wait in a bounded queue per
+ * {@link GenAIPriority} class and are otherwise rejected with {@link GenAIRejectedException}.
+ * Freed permits go to the waiting classes by smooth weighted round-robin ({@code limiter.*-weight}), so
+ * interactive calls keep low latency while background and batch calls, which may wait longer, soak up
+ * spare capacity. A waiter queued longer than {@code limiter.starvation-threshold} is served next
+ * whatever its class.
+ */
+@Slf4j
+@Component
+public class GenAIConcurrencyLimiter {
+
+    private final ApplicationProperties applicationProperties;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<GenAIPriority, Deque<Waiter>> queues = new EnumMap<>(GenAIPriority.class);
+    private final Map<GenAIPriority, Integer> currentWeights = new EnumMap<>(GenAIPriority.class);
+    private final Map<GenAIPriority, Timer> queueWaitTimers = new EnumMap<>(GenAIPriority.class);
+    private final Counter rejectedCounter;
+    private double limit;
+    private int inFlight;
+
+    public GenAIConcurrencyLimiter(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.applicationProperties = applicationProperties;
+        this.meterRegistry = meterRegistry;
+        this.limit = config().getInitialLimit();
+        this.rejectedCounter = Counter.builder("genai.limiter.rejected")
+                .description("GenAI calls rejected by the adaptive concurrency limiter")
+                .register(meterRegistry);
+        for (GenAIPriority priority : GenAIPriority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+            currentWeights.put(priority, 0);
+            queueWaitTimers.put(priority, Timer.builder("genai.limiter.queue.wait")
+                    .description("Time callers waited for a GenAI limiter permit, by scheduling class")
+                    .tag("priority", priority.getKey())
+                    .register(meterRegistry));
+        }
+    }
+
+    private ApplicationProperties.GenAI.Limiter config() {
+        return applicationProperties.getGenai().getGoogle().getLimiter();
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("genai.limiter.limit", this, GenAIConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit on concurrent upstream GenAI calls")
+                .register(meterRegistry);
+        Gauge.builder("genai.limiter.inflight", this, GenAIConcurrencyLimiter::getInFlight)
+                .description("Upstream GenAI calls currently holding a limiter permit")
+                .register(meterRegistry);
+        Gauge.builder("genai.limiter.queue.depth", this, GenAIConcurrencyLimiter::getQueueDepth)
+                .description("Callers waiting for a GenAI limiter permit")
+                .register(meterRegistry);
+        for (GenAIPriority priority : GenAIPriority.values()) {
+            Gauge.builder("genai.limiter.queue.class.depth", this, limiter -> limiter.getQueueDepth(priority))
+                    .description("Callers waiting for a GenAI limiter permit, by scheduling class")
+                    .tag("priority", priority.getKey())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Acquires a permit in the current thread's {@link GenAIPriority} class, waiting up to that class's
+     * queue timeout if the limit is reached
+     *
+     * @return A permit that must be completed with the outcome of the call
+     * @throws GenAIRejectedException if no permit became available in time or the queue is full
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Permit acquire() throws InterruptedException {
+        return acquire(Duration.ofNanos(Long.MAX_VALUE));
+    }
+
+    /**
+     * Acquires a permit in the current thread's {@link GenAIPriority} class, waiting no longer than the given
+     * time or the class's queue timeout, whichever is shorter
+     *
+     * @param maxWait Longest the caller can afford to wait, e.g. what is left of its request deadline
+     * @return A permit that must be completed with the outcome of the call
+     * @throws GenAIRejectedException if no permit became available in time or the queue is full
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Permit acquire(Duration maxWait) throws InterruptedException {
+        return acquire(maxWait, GenAIPriority.current());
+    }
+
+    /**
+     * Acquires a permit in the given class, waiting no longer than the given time or the class's queue timeout,
+     * whichever is shorter. Each class queues at most {@code limiter.max-queue-size} callers.
+     *
+     * @param maxWait Longest the caller can afford to wait
+     * @param priority The scheduling class of the call
+     * @return A permit that must be completed with the outcome of the call
+     * @throws GenAIRejectedException if no permit became available in time or the queue is full
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Permit acquire(Duration maxWait, GenAIPriority priority) throws InterruptedException {
+        ApplicationProperties.GenAI.Limiter limiter = config();
+        if (!limiter.isEnabled()) {
+            return new Permit(false);
+        }
+
+        long remainingNanos = Math.min(TimeUnit.MILLISECONDS.toNanos(queueTimeout(limiter, priority)), maxWait.toNanos());
+        lock.lock();
+        try {
+            // Queued callers are served first, so a new caller only takes free capacity when nobody is waiting
+            if (hasCapacity() && getQueueDepthLocked() == 0) {
+                inFlight++;
+                queueWaitTimers.get(priority).record(0, TimeUnit.NANOSECONDS);
+                return new Permit(true);
+            }
+            Deque<Waiter> queue = queues.get(priority);
+            if (queue.size() >= limiter.getMaxQueueSize()) {
+                throw reject();
+            }
+
+            Waiter waiter = new Waiter(lock.newCondition());
+            queue.addLast(waiter);
+            try {
+                while (!waiter.granted) {
+                    if (remainingNanos <= 0) {
+                        queue.remove(waiter);
+                        throw reject();
+                    }
+                    remainingNanos = waiter.condition.awaitNanos(remainingNanos);
+                }
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    inFlight--;
+                    dispatch();
+                } else {
+                    queue.remove(waiter);
+                }
+                throw e;
+            }
+            queueWaitTimers.get(priority).record(System.nanoTime() - waiter.enqueuedAt, TimeUnit.NANOSECONDS);
+            return new Permit(true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Acquires a permit only if one is immediately available; used by non-blocking callers
+     *
+     * @return A permit, or empty if the limit is reached
+     */
+    public Optional<Permit> tryAcquire() {
+        if (!config().isEnabled()) {
+            return Optional.of(new Permit(false));
+        }
+        lock.lock();
+        try {
+            if (!hasCapacity() || getQueueDepthLocked() > 0) {
+                rejectedCounter.increment();
+                return Optional.empty();
+            }
+            inFlight++;
+            return Optional.of(new Permit(true));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return getQueueDepthLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueueDepth(GenAIPriority priority) {
+        lock.lock();
+        try {
+            return queues.get(priority).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int getQueueDepthLocked() {
+        int depth = 0;
+        for (Deque<Waiter> queue : queues.values()) {
+            depth += queue.size();
+        }
+        return depth;
+    }
+
+    private boolean hasCapacity() {
+        return inFlight < (int) limit;
+    }
+
+    /**
+     * Hands free permits to queued callers. Must be called with the lock held.
+     */
+    private void dispatch() {
+        while (hasCapacity()) {
+            GenAIPriority next = nextClass();
+            if (next == null) {
+                return;
+            }
+            Waiter waiter = queues.get(next).pollFirst();
+            waiter.granted = true;
+            inFlight++;
+            waiter.condition.signal();
+        }
+    }
+
+    /**
+     * Picks the class to serve next: a class whose oldest waiter has starved, otherwise smooth weighted round-robin
+     * over the classes with waiters
+     */
+    private GenAIPriority nextClass() {
+        ApplicationProperties.GenAI.Limiter limiter = config();
+        long starvedBefore = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(limiter.getStarvationThreshold());
+        GenAIPriority starved = null;
+        long oldest = Long.MAX_VALUE;
+        int totalWeight = 0;
+        GenAIPriority best = null;
+        for (GenAIPriority priority : GenAIPriority.values()) {
+            Waiter head = queues.get(priority).peekFirst();
+            if (head == null) {
+                continue;
+            }
+            if (head.enqueuedAt - starvedBefore <= 0 && (starved == null || head.enqueuedAt - oldest < 0)) {
+                starved = priority;
+                oldest = head.enqueuedAt;
+            }
+            int weight = Math.max(1, weight(limiter, priority));
+            totalWeight += weight;
+            currentWeights.merge(priority, weight, Integer::sum);
+            if (best == null || currentWeights.get(priority) > currentWeights.get(best)) {
+                best = priority;
+            }
+        }
+        GenAIPriority next = starved != null ? starved : best;
+        if (next != null) {
+            currentWeights.merge(next, -totalWeight, Integer::sum);
+        }
+        return next;
+    }
+
+    private static int weight(ApplicationProperties.GenAI.Limiter limiter, GenAIPriority priority) {
+        return switch (priority) {
+            case INTERACTIVE -> limiter.getInteractiveWeight();
+            case BACKGROUND -> limiter.getBackgroundWeight();
+            case BATCH -> limiter.getBatchWeight();
+        };
+    }
+
+    private static long queueTimeout(ApplicationProperties.GenAI.Limiter limiter, GenAIPriority priority) {
+        return switch (priority) {
+            case INTERACTIVE -> limiter.getQueueTimeout();
+            case BACKGROUND -> limiter.getBackgroundQueueTimeout();
+            case BATCH -> limiter.getBatchQueueTimeout();
+        };
+    }
+
+    private GenAIRejectedException reject() {
+        rejectedCounter.increment();
+        return new GenAIRejectedException("GenAI concurrency limit reached (limit=" + (int) limit + ")");
+    }
+
+    private void release(long latencyNanos, Outcome outcome) {
+        ApplicationProperties.GenAI.Limiter limiter = config();
+        lock.lock();
+        try {
+            boolean saturated = inFlight * 2 >= limit;
+            inFlight--;
+            boolean slow = latencyNanos > TimeUnit.MILLISECONDS.toNanos(limiter.getLatencyThreshold());
+            if (outcome == Outcome.DROPPED || (outcome == Outcome.SUCCESS && slow)) {
+                limit = Math.max(limiter.getMinLimit(), limit * limiter.getBackoffRatio());
+                log.debug("GenAI concurrency limit decreased to {}", (int) limit);
+            } else if (outcome == Outcome.SUCCESS && saturated) {
+                limit = Math.min(limiter.getMaxLimit(), limit + 1);
+            }
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean isOverloadSignal(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof GenAIRejectedException) {
+                return false;
+            }
+            if (cause instanceof GenAIRateLimitException || cause instanceof HttpTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Caller queued for a permit; granted once {@link #dispatch()} hands it one
+     */
+    private static final class Waiter {
+        private final Condition condition;
+        private final long enqueuedAt = System.nanoTime();
+        private boolean granted;
+
+        private Waiter(Condition condition) {
+            this.condition = condition;
+        }
+    }
+
+    private enum Outcome {
+        SUCCESS,
+        DROPPED,
+        IGNORED
+    }
+
+    /**
+     * Right to make one upstream call; completing it feeds the outcome back into the limit
+     */
+    public final class Permit {
+        private final boolean tracked;
+        private final long startTime = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(boolean tracked) {
+            this.tracked = tracked;
+        }
+
+        public void onSuccess() {
+            complete(Outcome.SUCCESS);
+        }
+
+        /**
+         * Completes the permit for a failed call. Rate limiting and timeouts shrink the limit;
+         * other failures release the permit without adjusting it.
+         */
+        public void onFailure(Throwable error) {
+            complete(isOverloadSignal(error) ? Outcome.DROPPED : Outcome.IGNORED);
+        }
+
+        /**
+         * Completes the permit without adjusting the limit, for calls whose duration says nothing about
+         * upstream capacity, such as a stream whose length depends on how much is generated
+         */
+        public void onIgnored() {
+            complete(Outcome.IGNORED);
+        }
+
+        private void complete(Outcome outcome) {
+            if (tracked && released.compareAndSet(false, true)) {
+                release(System.nanoTime() - startTime, outcome);
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import com.gt.bff.exception.GenAIRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool of GenAI API keys, e.g. one per project, so throughput scales with the number of keys instead of
+ * one project's quota. Calls are spread over the keys by smooth weighted round-robin. A key that gets a 429
+ * is skipped for {@code key-pool.penalty}, doubling on each further 429 up to {@code key-pool.max-penalty},
+ * and a key with {@code requests-per-minute} set is skipped once it has used that many in the current minute.
+ * Without {@code key-pool.keys} the pool holds the single {@code api-key}.
+ */
+@Slf4j
+@Component
+public class GenAIKeyPool {
+
+    private static final long QUOTA_WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final String DEFAULT_KEY_NAME = "default";
+
+    private final ApplicationProperties applicationProperties;
+    private final List<Key> keys = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter exhaustedCounter;
+
+    public GenAIKeyPool(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.applicationProperties = applicationProperties;
+        ApplicationProperties.GenAI.Google google = applicationProperties.getGenai().getGoogle();
+        List<ApplicationProperties.GenAI.ApiKey> configured = google.getKeyPool().getKeys();
+        for (int i = 0; i < configured.size(); i++) {
+            ApplicationProperties.GenAI.ApiKey apiKey = configured.get(i);
+            if (apiKey.getKey() == null || apiKey.getKey().isBlank()) {
+                continue;
+            }
+            String name = apiKey.getName() != null && !apiKey.getName().isBlank() ? apiKey.getName() : "key-" + (i + 1);
+            keys.add(new Key(name, apiKey.getKey(), Math.max(1, apiKey.getWeight()), apiKey.getRequestsPerMinute(), meterRegistry));
+        }
+        if (keys.isEmpty() && google.getApiKey() != null && !google.getApiKey().isEmpty()) {
+            keys.add(new Key(DEFAULT_KEY_NAME, google.getApiKey(), 1, 0, meterRegistry));
+        }
+        this.exhaustedCounter = Counter.builder("genai.key.exhausted")
+                .description("GenAI calls rejected because every API key was penalized or out of quota")
+                .register(meterRegistry);
+        if (keys.size() > 1) {
+            log.info("GenAI key pool with {} keys", keys.size());
+        }
+    }
+
+    /**
+     * @return Whether no API key is configured
+     */
+    public boolean isEmpty() {
+        return keys.isEmpty();
+    }
+
+    /**
+     * Picks the key for the next call and counts the call against its quota
+     *
+     * @return The key to call GenAI with
+     * @throws GenAIRejectedException if every key is penalized or out of quota
+     * @throws IllegalStateException if no key is configured
+     */
+    public Key select() {
+        if (keys.isEmpty()) {
+            throw new IllegalStateException("No GenAI API key configured");
+        }
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            int totalWeight = 0;
+            Key best = null;
+            for (Key key : keys) {
+                if (!key.isAvailable(now)) {
+                    continue;
+                }
+                key.currentWeight += key.weight;
+                totalWeight += key.weight;
+                if (best == null || key.currentWeight > best.currentWeight) {
+                    best = key;
+                }
+            }
+            if (best == null) {
+                exhaustedCounter.increment();
+                throw new GenAIRejectedException("All GenAI API keys are rate limited or out of quota");
+            }
+            best.currentWeight -= totalWeight;
+            best.windowRequests++;
+            best.requestCounter.increment();
+            return best;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Clears the 429 backoff of a key after a successful call
+     */
+    public void onSuccess(Key key) {
+        lock.lock();
+        try {
+            key.consecutiveRateLimits = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a key out of rotation after it got a 429, for longer on each consecutive 429
+     */
+    public void onRateLimited(Key key) {
+        ApplicationProperties.GenAI.KeyPool keyPool = applicationProperties.getGenai().getGoogle().getKeyPool();
+        lock.lock();
+        try {
+            long penalty = keyPool.getPenalty() << Math.min(key.consecutiveRateLimits, 20);
+            key.consecutiveRateLimits++;
+            key.penalizedUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.min(penalty, keyPool.getMaxPenalty()));
+            key.rateLimitedCounter.increment();
+            log.warn("GenAI API key {} rate limited, skipping it for {}ms", key.name, Math.min(penalty, keyPool.getMaxPenalty()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A pooled API key and its quota accounting. Only the name is exposed in metrics and logs.
+     */
+    public final class Key {
+        private final String name;
+        private final String value;
+        private final int weight;
+        private final int requestsPerMinute;
+        private final Counter requestCounter;
+        private final Counter rateLimitedCounter;
+        private int currentWeight;
+        private long penalizedUntil = System.nanoTime();
+        private int consecutiveRateLimits;
+        private long windowStart = System.nanoTime();
+        private int windowRequests;
+
+        private Key(String name, String value, int weight, int requestsPerMinute, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.value = value;
+            this.weight = weight;
+            this.requestsPerMinute = requestsPerMinute;
+            this.requestCounter = Counter.builder("genai.key.requests")
+                    .description("GenAI calls sent with each API key")
+                    .tag("key", name)
+                    .register(meterRegistry);
+            this.rateLimitedCounter = Counter.builder("genai.key.rate.limited")
+                    .description("429 responses received for each API key")
+                    .tag("key", name)
+                    .register(meterRegistry);
+            Gauge.builder("genai.key.penalized", this, key -> key.isPenalized() ? 1 : 0)
+                    .description("Whether the API key is out of rotation after a 429")
+                    .tag("key", name)
+                    .register(meterRegistry);
+            Gauge.builder("genai.key.window.requests", this, Key::getWindowRequests)
+                    .description("GenAI calls sent with the API key in the current minute")
+                    .tag("key", name)
+                    .register(meterRegistry);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * Must be called with the pool lock held
+         */
+        private boolean isAvailable(long now) {
+            if (now - windowStart >= QUOTA_WINDOW_NANOS) {
+                windowStart = now;
+                windowRequests = 0;
+            }
+            return now - penalizedUntil >= 0 && (requestsPerMinute <= 0 || windowRequests < requestsPerMinute);
+        }
+
+        private boolean isPenalized() {
+            lock.lock();
+            try {
+                return System.nanoTime() - penalizedUntil < 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int getWindowRequests() {
+            lock.lock();
+            try {
+                return System.nanoTime() - windowStart >= QUOTA_WINDOW_NANOS ? 0 : windowRequests;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
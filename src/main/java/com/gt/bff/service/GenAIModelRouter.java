@@ -0,0 +1,180 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chooses the Gemini model for each call.
+ * Every operation has a preferred model, optionally a bigger one for long prompts, taken from
+ * {@code model-routing.routes}. Latency and errors are tracked per model over a sliding time window; while the
+ * preferred model's p95 exceeds its latency SLO or its error rate crosses the threshold, calls are
+ * downgraded to the fallback model. Old samples age out of the window, so traffic returns to the
+ * preferred model once it has been left alone long enough.
+ */
+@Slf4j
+@Component
+public class GenAIModelRouter {
+
+    private static final int SAMPLE_CAPACITY = 256;
+    private static final double LATENCY_PERCENTILE = 95.0;
+
+    private final ApplicationProperties applicationProperties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ModelStats> modelStats = new ConcurrentHashMap<>();
+
+    public GenAIModelRouter(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.applicationProperties = applicationProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Picks the model for a call
+     *
+     * @param operation The kind of work the call does
+     * @param prompt The prompt that will be sent
+     * @return The model to use
+     */
+    public String route(GenAIOperation operation, String prompt) {
+        ApplicationProperties.GenAI.Google google = applicationProperties.getGenai().getGoogle();
+        ApplicationProperties.GenAI.ModelRouting routing = google.getModelRouting();
+        if (!routing.isEnabled()) {
+            return google.getDefaultModel();
+        }
+
+        ApplicationProperties.GenAI.ModelRoute route = routing.getRoutes().get(operation.getKey());
+        String preferred = preferredModel(google, route, prompt);
+        String fallback = route != null && route.getFallbackModel() != null ? route.getFallbackModel() : routing.getFallbackModel();
+        long latencySlo = route != null && route.getLatencySlo() != null ? route.getLatencySlo() : routing.getLatencySlo();
+
+        String model = preferred;
+        if (fallback != null && !fallback.equals(preferred) && !isHealthy(preferred, latencySlo) && isHealthy(fallback, latencySlo)) {
+            log.debug("Downgrading {} call from {} to {}", operation.getKey(), preferred, fallback);
+            Counter.builder("genai.model.downgrades")
+                    .description("GenAI calls sent to a fallback model because the preferred model was slow or failing")
+                    .tag("operation", operation.getKey())
+                    .tag("from", preferred)
+                    .tag("to", fallback)
+                    .register(meterRegistry)
+                    .increment();
+            model = fallback;
+        }
+
+        Counter.builder("genai.model.routed")
+                .description("GenAI calls routed to each model")
+                .tag("operation", operation.getKey())
+                .tag("model", model)
+                .register(meterRegistry)
+                .increment();
+        return model;
+    }
+
+    /**
+     * Records the outcome of a call to a model
+     *
+     * @param model The model that was called
+     * @param durationNanos How long the call took
+     * @param success Whether the call succeeded
+     */
+    public void record(String model, long durationNanos, boolean success) {
+        if (model != null) {
+            modelStats.computeIfAbsent(model, ModelStats::new).add(durationNanos, success);
+        }
+    }
+
+    /**
+     * Whether a model is currently within a latency SLO and the error rate threshold.
+     * Models without enough recent samples are considered healthy.
+     */
+    public boolean isHealthy(String model, long latencySloMillis) {
+        ModelStats stats = modelStats.get(model);
+        if (stats == null) {
+            return true;
+        }
+        ApplicationProperties.GenAI.ModelRouting routing = applicationProperties.getGenai().getGoogle().getModelRouting();
+        return stats.isHealthy(routing.getStatsWindow(), routing.getStatsMinSamples(),
+                TimeUnit.MILLISECONDS.toNanos(latencySloMillis), routing.getErrorRateThreshold());
+    }
+
+    private static String preferredModel(ApplicationProperties.GenAI.Google google,
+                                         ApplicationProperties.GenAI.ModelRoute route, String prompt) {
+        if (route == null) {
+            return google.getDefaultModel();
+        }
+        if (route.getLongPromptModel() != null && route.getLongPromptThreshold() > 0
+                && prompt.length() >= route.getLongPromptThreshold()) {
+            return route.getLongPromptModel();
+        }
+        return route.getModel() != null ? route.getModel() : google.getDefaultModel();
+    }
+
+    /**
+     * Recent call samples for one model, plus its exported latency histogram
+     */
+    private final class ModelStats {
+        private final Timer latencyTimer;
+        private final Counter errorCounter;
+        private final long[] recordedAt = new long[SAMPLE_CAPACITY];
+        private final long[] latencies = new long[SAMPLE_CAPACITY];
+        private final boolean[] failed = new boolean[SAMPLE_CAPACITY];
+        private int next;
+        private int size;
+
+        private ModelStats(String model) {
+            this.latencyTimer = Timer.builder("genai.model.latency")
+                    .description("Upstream GenAI call latency per model")
+                    .tag("model", model)
+                    .publishPercentileHistogram()
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry);
+            this.errorCounter = Counter.builder("genai.model.errors")
+                    .description("Failed upstream GenAI calls per model")
+                    .tag("model", model)
+                    .register(meterRegistry);
+        }
+
+        private void add(long durationNanos, boolean success) {
+            latencyTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+            if (!success) {
+                errorCounter.increment();
+            }
+            synchronized (this) {
+                recordedAt[next] = System.nanoTime();
+                latencies[next] = durationNanos;
+                failed[next] = !success;
+                next = (next + 1) % SAMPLE_CAPACITY;
+                size = Math.min(size + 1, SAMPLE_CAPACITY);
+            }
+        }
+
+        private boolean isHealthy(long windowMillis, int minSamples, long latencySloNanos, double errorRateThreshold) {
+            long oldest = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(windowMillis);
+            long[] recent = new long[SAMPLE_CAPACITY];
+            int count = 0;
+            int failures = 0;
+            synchronized (this) {
+                for (int i = 0; i < size; i++) {
+                    if (recordedAt[i] - oldest >= 0) {
+                        recent[count++] = latencies[i];
+                        failures += failed[i] ? 1 : 0;
+                    }
+                }
+            }
+            if (count < Math.max(1, minSamples)) {
+                return true;
+            }
+
+            Arrays.sort(recent, 0, count);
+            int index = Math.min(count - 1, (int) Math.ceil(LATENCY_PERCENTILE / 100.0 * count) - 1);
+            return recent[index] <= latencySloNanos && (double) failures / count <= errorRateThreshold;
+        }
+    }
+}
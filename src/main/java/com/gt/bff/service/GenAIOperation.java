@@ -0,0 +1,26 @@
+package com.gt.bff.service;
+
+/**
+ * Kinds of GenAI work, used to apply per-operation routing and limits
+ */
+public enum GenAIOperation {
+    GENERAL("general"),
+    SEARCH_FILTERS("search-filters"),
+    EXPLAIN("explain"),
+    TRAVEL_ADVICE("travel-advice"),
+    GEO_LOCATION("geo-location"),
+    FUSED_SEARCH("fused-search");
+
+    private final String key;
+
+    GenAIOperation(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Name used for this operation in configuration keys and metric tags
+     */
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,104 @@
+package com.gt.bff.service;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Scheduling classes for GenAI calls waiting for upstream capacity.
+ * Calls are interactive unless the code making them runs inside {@link #callAs(GenAIPriority, Callable)},
+ * which is how background warm-up and batch jobs mark their work. The class is per thread, so work handed to
+ * another executor keeps it only when wrapped with {@link #propagate(Runnable)} or {@link #propagate(Callable)}.
+ */
+public enum GenAIPriority {
+    INTERACTIVE("interactive"),
+    BACKGROUND("background"),
+    BATCH("batch");
+
+    private static final ThreadLocal<GenAIPriority> CURRENT = new ThreadLocal<>();
+
+    private final String key;
+
+    GenAIPriority(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Name used for this class in metric tags
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return The class of GenAI calls made by the current thread
+     */
+    public static GenAIPriority current() {
+        GenAIPriority priority = CURRENT.get();
+        return priority != null ? priority : INTERACTIVE;
+    }
+
+    /**
+     * Runs a task whose GenAI calls are scheduled in the given class
+     *
+     * @param priority The class for GenAI calls made by the task on this thread
+     * @param task The task to run
+     * @return The task's result
+     * @throws Exception if the task fails
+     */
+    public static <T> T callAs(GenAIPriority priority, Callable<T> task) throws Exception {
+        GenAIPriority previous = CURRENT.get();
+        CURRENT.set(priority);
+        try {
+            return task.call();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Wraps a task so it runs in the given class on whichever thread executes it
+     *
+     * @param priority The class for GenAI calls made by the task
+     * @param task The task to wrap
+     * @return The wrapped task
+     */
+    public static <T> Callable<T> bind(GenAIPriority priority, Callable<T> task) {
+        return () -> callAs(priority, task);
+    }
+
+    /**
+     * Wraps a task so it runs in the current thread's class on whichever thread executes it
+     *
+     * @param task The task to wrap
+     * @return The wrapped task
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        return bind(current(), task);
+    }
+
+    /**
+     * Wraps a task so it runs in the current thread's class on whichever thread executes it
+     *
+     * @param task The task to wrap
+     * @return The wrapped task
+     */
+    public static Runnable propagate(Runnable task) {
+        GenAIPriority priority = current();
+        return () -> {
+            GenAIPriority previous = CURRENT.get();
+            CURRENT.set(priority);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package com.gt.bff.service;
+
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Pre-serialized {@code generateContent} request body.
+ * The envelope around the prompt and the generation config are encoded once; each request only
+ * JSON-escapes its prompt and hands the three fragments to the transport, which writes them to the
+ * connection in order without joining them.
+ */
+final class GenAIRequestBodyTemplate {
+
+    private static final String PREFIX = "{\"contents\":[{\"parts\":[{\"text\":\"";
+    private static final String SUFFIX = "\"}]}],\"generationConfig\":";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final String generationConfig;
+    private final byte[] prefix;
+    private final byte[] suffix;
+
+    /**
+     * @param generationConfig Serialized generation config JSON object
+     */
+    GenAIRequestBodyTemplate(String generationConfig) {
+        this.generationConfig = generationConfig;
+        this.prefix = PREFIX.getBytes(StandardCharsets.UTF_8);
+        this.suffix = (SUFFIX + generationConfig + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    String generationConfig() {
+        return generationConfig;
+    }
+
+    /**
+     * Returns the request body for a prompt as consecutive UTF-8 fragments
+     */
+    List<byte[]> render(String prompt) {
+        return List.of(prefix, escape(prompt), suffix);
+    }
+
+    /**
+     * Returns a body publisher for a prompt. The publisher can be subscribed to more than once,
+     * so hedged attempts may share it.
+     */
+    HttpRequest.BodyPublisher publisherFor(String prompt) {
+        List<byte[]> fragments = render(prompt);
+        long contentLength = prefix.length + fragments.get(1).length + suffix.length;
+        // Declaring the length up front avoids chunked transfer encoding on HTTP/1.1
+        return HttpRequest.BodyPublishers.fromPublisher(HttpRequest.BodyPublishers.ofByteArrays(fragments), contentLength);
+    }
+
+    /**
+     * Encodes a value as the UTF-8 contents of a JSON string literal, without the quotes
+     */
+    static byte[] escape(String value) {
+        int length = value.length();
+        int first = 0;
+        while (first < length && !needsEscape(value.charAt(first))) {
+            first++;
+        }
+        if (first == length) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        StringBuilder escaped = new StringBuilder(length + 16).append(value, 0, first);
+        for (int i = first; i < length; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                case '\b' -> escaped.append("\\b");
+                case '\f' -> escaped.append("\\f");
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean needsEscape(char c) {
+        return c < 0x20 || c == '"' || c == '\\';
+    }
+}
@@ -0,0 +1,151 @@
+package com.gt.bff.service;
+
+import com.gt.bff.exception.RequestDeadlineExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight coordinator for identical GenAI requests.
+ * The first caller for a key performs the upstream call; callers arriving while it is still
+ * in flight wait for and share its outcome instead of issuing their own call.
+ */
+@Slf4j
+@Component
+public class GenAIRequestCoalescer {
+
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final RequestDeadlines requestDeadlines;
+    private final Counter coalescedCounter;
+
+    public GenAIRequestCoalescer(MeterRegistry meterRegistry, RequestDeadlines requestDeadlines) {
+        this.requestDeadlines = requestDeadlines;
+        this.coalescedCounter = Counter.builder("genai.request.coalesced")
+                .description("GenAI requests served by joining an identical in-flight request")
+                .register(meterRegistry);
+        Gauge.builder("genai.request.inflight.keys", inFlight, Map::size)
+                .description("Distinct GenAI requests currently in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs a blocking call, or waits for the identical call already in flight
+     *
+     * @param key Identity of the request
+     * @param call The upstream call to run if no identical call is in flight
+     * @return The result of the shared call
+     */
+    public String execute(String key, Supplier<String> call) {
+        return execute(key, RequestDeadline.none(), call);
+    }
+
+    /**
+     * Runs a blocking call, or waits for the identical call already in flight for no longer than the caller's
+     * deadline. A caller whose leader ran out of its own deadline retries, as the new leader if nobody else has
+     * taken over, while it still has budget left.
+     *
+     * @param key Identity of the request
+     * @param deadline The deadline of the calling request
+     * @param call The upstream call to run if no identical call is in flight
+     * @return The result of the shared call
+     * @throws RequestDeadlineExceededException if the deadline passes while waiting for the call in flight
+     */
+    public String execute(String key, RequestDeadline deadline, Supplier<String> call) {
+        while (true) {
+            CompletableFuture<String> leader = new CompletableFuture<>();
+            CompletableFuture<String> existing = inFlight.putIfAbsent(key, leader);
+            if (existing == null) {
+                return lead(key, leader, call);
+            }
+
+            coalescedCounter.increment();
+            log.debug("Joining in-flight GenAI request {}", key);
+            try {
+                return await(existing, deadline);
+            } catch (RequestDeadlineExceededException e) {
+                if (deadline.isExpired()) {
+                    throw e;
+                }
+                // Only the leader's deadline ran out; drop its failed call if it is still registered
+                inFlight.remove(key, existing);
+                log.debug("In-flight GenAI request {} ran out of its leader's deadline, retrying", key);
+            }
+        }
+    }
+
+    private String lead(String key, CompletableFuture<String> leader, Supplier<String> call) {
+        try {
+            String result = call.get();
+            leader.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    /**
+     * Starts an asynchronous call, or attaches to the identical call already in flight
+     *
+     * @param key Identity of the request
+     * @param call Starts the upstream call if no identical call is in flight
+     * @return A future completed with the result of the shared call
+     */
+    public CompletableFuture<String> executeAsync(String key, Supplier<CompletableFuture<String>> call) {
+        CompletableFuture<String> leader = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            coalescedCounter.increment();
+            log.debug("Joining in-flight GenAI request {}", key);
+            return existing.copy();
+        }
+
+        CompletableFuture<String> upstream;
+        try {
+            upstream = call.get();
+        } catch (RuntimeException e) {
+            upstream = CompletableFuture.failedFuture(e);
+        }
+        upstream.whenComplete((result, error) -> {
+            inFlight.remove(key, leader);
+            if (error != null) {
+                leader.completeExceptionally(error);
+            } else {
+                leader.complete(result);
+            }
+        });
+        // Hand out a copy so no caller can complete or cancel the shared future for the others
+        return leader.copy();
+    }
+
+    private String await(CompletableFuture<String> shared, RequestDeadline deadline) {
+        try {
+            return deadline.isBounded()
+                    ? shared.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS)
+                    : shared.get();
+        } catch (TimeoutException e) {
+            throw requestDeadlines.exceeded(RequestDeadlines.STAGE_GENAI_CALL);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for in-flight GenAI request", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause.getMessage(), cause);
+        }
+    }
+}
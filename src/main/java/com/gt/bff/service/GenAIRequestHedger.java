@@ -0,0 +1,246 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Issues a backup GenAI request when the original has not answered within a configurable
+ * percentile of recent latency. Whichever attempt succeeds first wins and the other is cancelled.
+ * Hedges draw on a credit budget earned per request, which caps the extra upstream spend at
+ * {@code hedging.max-ratio} of traffic.
+ */
+@Slf4j
+@Component
+public class GenAIRequestHedger {
+
+    private static final int LATENCY_WINDOW = 256;
+    private static final long CREDIT_UNIT = 1000;
+    private static final long MAX_CREDITS = 10 * CREDIT_UNIT;
+
+    private final ApplicationProperties applicationProperties;
+    private final MeterRegistry meterRegistry;
+    private final long[] latencies = new long[LATENCY_WINDOW];
+    private final AtomicLong credits = new AtomicLong();
+    private final Counter hedgeCounter;
+    private final Counter hedgeWinCounter;
+    private final Counter budgetExhaustedCounter;
+    private int latencyCount;
+    private int latencyIndex;
+    private ScheduledExecutorService scheduler;
+
+    public GenAIRequestHedger(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.applicationProperties = applicationProperties;
+        this.meterRegistry = meterRegistry;
+        this.hedgeCounter = Counter.builder("genai.hedge.requests")
+                .description("Backup GenAI requests fired because the original was slow")
+                .register(meterRegistry);
+        this.hedgeWinCounter = Counter.builder("genai.hedge.wins")
+                .description("Hedged GenAI requests where the backup answered first")
+                .register(meterRegistry);
+        this.budgetExhaustedCounter = Counter.builder("genai.hedge.budget.exhausted")
+                .description("Hedges skipped because the hedge budget was used up")
+                .register(meterRegistry);
+    }
+
+    private ApplicationProperties.GenAI.Hedging config() {
+        return applicationProperties.getGenai().getGoogle().getHedging();
+    }
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("genai.hedge.delay", this, hedger -> TimeUnit.NANOSECONDS.toMillis(Math.max(0, hedger.hedgeDelayNanos())))
+                .description("Current delay in milliseconds before a backup GenAI request is sent")
+                .register(meterRegistry);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "genai-hedge");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs an upstream call with hedging
+     *
+     * @param attempt Starts one upstream attempt; invoked once, or twice when a hedge is sent
+     * @param <T> The result type
+     * @return A future completed with the first successful attempt
+     */
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> attempt) {
+        addCredit();
+        return new HedgedCall<>(attempt).start(hedgeDelayNanos());
+    }
+
+    /**
+     * Delay before hedging, derived from recent latency, or -1 while too few samples exist
+     */
+    long hedgeDelayNanos() {
+        ApplicationProperties.GenAI.Hedging hedging = config();
+        long[] snapshot;
+        synchronized (latencies) {
+            if (latencyCount < hedging.getMinSamples()) {
+                return -1;
+            }
+            snapshot = Arrays.copyOf(latencies, latencyCount);
+        }
+        Arrays.sort(snapshot);
+        int index = (int) Math.ceil(hedging.getPercentile() / 100.0 * snapshot.length) - 1;
+        long percentile = snapshot[Math.max(0, Math.min(index, snapshot.length - 1))];
+        return Math.max(percentile, TimeUnit.MILLISECONDS.toNanos(hedging.getMinDelay()));
+    }
+
+    private void recordLatency(long nanos) {
+        synchronized (latencies) {
+            latencies[latencyIndex] = nanos;
+            latencyIndex = (latencyIndex + 1) % LATENCY_WINDOW;
+            latencyCount = Math.min(latencyCount + 1, LATENCY_WINDOW);
+        }
+    }
+
+    private void addCredit() {
+        long earned = (long) (config().getMaxRatio() * CREDIT_UNIT);
+        credits.updateAndGet(current -> Math.min(MAX_CREDITS, current + earned));
+    }
+
+    private boolean tryConsumeCredit() {
+        long remaining = credits.getAndUpdate(current -> current >= CREDIT_UNIT ? current - CREDIT_UNIT : current);
+        return remaining >= CREDIT_UNIT;
+    }
+
+    /**
+     * State of one logical request and its (at most two) attempts
+     */
+    private final class HedgedCall<T> {
+        private final Supplier<CompletableFuture<T>> attempt;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private CompletableFuture<T> primary;
+        private CompletableFuture<T> hedge;
+        private int pending;
+        private boolean settled;
+
+        private HedgedCall(Supplier<CompletableFuture<T>> attempt) {
+            this.attempt = attempt;
+        }
+
+        private CompletableFuture<T> start(long hedgeDelayNanos) {
+            long startTime = System.nanoTime();
+            CompletableFuture<T> first = launch(false);
+            first.whenComplete((value, error) -> {
+                if (error == null) {
+                    recordLatency(System.nanoTime() - startTime);
+                }
+            });
+
+            if (hedgeDelayNanos > 0) {
+                // The backup attempt starts on the scheduler thread but belongs to the caller's priority class
+                ScheduledFuture<?> timer = scheduler.schedule(
+                        GenAIPriority.propagate(this::launchHedge), hedgeDelayNanos, TimeUnit.NANOSECONDS);
+                result.whenComplete((value, error) -> timer.cancel(false));
+            }
+            result.whenComplete((value, error) -> {
+                if (result.isCancelled()) {
+                    cancelAttempts();
+                }
+            });
+            return result;
+        }
+
+        private CompletableFuture<T> launch(boolean isHedge) {
+            synchronized (this) {
+                pending++;
+            }
+            CompletableFuture<T> future;
+            try {
+                future = attempt.get();
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            synchronized (this) {
+                if (isHedge) {
+                    hedge = future;
+                } else {
+                    primary = future;
+                }
+            }
+            future.whenComplete((value, error) -> onAttemptComplete(isHedge, value, error));
+            return future;
+        }
+
+        private void launchHedge() {
+            synchronized (this) {
+                if (settled || hedge != null) {
+                    return;
+                }
+            }
+            if (!tryConsumeCredit()) {
+                budgetExhaustedCounter.increment();
+                return;
+            }
+            hedgeCounter.increment();
+            log.debug("GenAI request exceeded hedge delay, sending backup request");
+            launch(true);
+        }
+
+        private void onAttemptComplete(boolean isHedge, T value, Throwable error) {
+            CompletableFuture<T> loser;
+            synchronized (this) {
+                pending--;
+                // A failed attempt only fails the call once no other attempt can still succeed
+                if (settled || (error != null && pending > 0)) {
+                    return;
+                }
+                settled = true;
+                loser = isHedge ? primary : hedge;
+            }
+
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            if (isHedge) {
+                hedgeWinCounter.increment();
+            }
+            // Abort the loser first so nobody woken by the result still sees it running
+            if (loser != null) {
+                loser.cancel(true);
+            }
+            result.complete(value);
+        }
+
+        private void cancelAttempts() {
+            CompletableFuture<T> first;
+            CompletableFuture<T> second;
+            synchronized (this) {
+                first = primary;
+                second = hedge;
+            }
+            if (first != null) {
+                first.cancel(true);
+            }
+            if (second != null) {
+                second.cancel(true);
+            }
+        }
+    }
+}
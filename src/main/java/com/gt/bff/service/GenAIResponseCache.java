@@ -0,0 +1,245 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded in-memory cache of GenAI results keyed by model, normalized prompt and generation config.
+ * Entries expire after {@code application.cache.ttl} seconds and the least recently used entry is
+ * evicted once {@code application.cache.max-size} is reached. With {@code persistent-enabled}, entries are
+ * also written to the {@link GenAIResponseStore}, which answers misses in memory, so a restarted instance
+ * serves its previous working set.
+ */
+@Slf4j
+@Component
+public class GenAIResponseCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ApplicationProperties applicationProperties;
+    private final GenAIResponseStore genAIResponseStore;
+    private final MeterRegistry meterRegistry;
+    private final LruMap entries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter persistentHitCounter;
+    private final Counter sizeEvictionCounter;
+    private final Counter expiredEvictionCounter;
+
+    public GenAIResponseCache(ApplicationProperties applicationProperties, GenAIResponseStore genAIResponseStore,
+                              MeterRegistry meterRegistry) {
+        this.applicationProperties = applicationProperties;
+        this.genAIResponseStore = genAIResponseStore;
+        this.meterRegistry = meterRegistry;
+        this.hitCounter = Counter.builder("genai.cache.hits")
+                .description("GenAI requests answered from the response cache")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("genai.cache.misses")
+                .description("GenAI requests not found in the response cache")
+                .register(meterRegistry);
+        this.persistentHitCounter = Counter.builder("genai.cache.persistent.hits")
+                .description("GenAI requests answered from the persistent response log after a miss in memory")
+                .register(meterRegistry);
+        this.sizeEvictionCounter = Counter.builder("genai.cache.evictions")
+                .description("GenAI response cache entries evicted")
+                .tag("cause", "size")
+                .register(meterRegistry);
+        this.expiredEvictionCounter = Counter.builder("genai.cache.evictions")
+                .description("GenAI response cache entries evicted")
+                .tag("cause", "expired")
+                .register(meterRegistry);
+        this.entries = new LruMap(() -> applicationProperties.getCache().getMaxSize(), sizeEvictionCounter);
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("genai.cache.size", this, GenAIResponseCache::size)
+                .description("Number of entries in the GenAI response cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Builds the cache key for a request. Whitespace in the prompt is collapsed so that
+     * inputs differing only in spacing share an entry.
+     *
+     * @param model The model the request targets
+     * @param prompt The prompt sent to the model
+     * @param generationConfig Serialized generation config of the request
+     * @return Hex encoded SHA-256 digest identifying the request
+     */
+    public static String buildKey(String model, String prompt, String generationConfig) {
+        String normalizedPrompt = WHITESPACE.matcher(prompt.trim()).replaceAll(" ");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(generationConfig.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(normalizedPrompt.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public boolean isEnabled() {
+        ApplicationProperties.Cache cache = applicationProperties.getCache();
+        return cache.isEnabled() && cache.getTtl() > 0 && cache.getMaxSize() > 0;
+    }
+
+    /**
+     * Returns the cached value for a key, or null if absent or expired
+     */
+    public String get(String key) {
+        String value = getFromMemory(key);
+        if (value == null) {
+            value = loadFromStore(key);
+        }
+        if (value == null) {
+            missCounter.increment();
+            return null;
+        }
+        hitCounter.increment();
+        return value;
+    }
+
+    public void put(String key, String value) {
+        long ttl = applicationProperties.getCache().getTtl();
+        long expiresAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(ttl);
+        lock.lock();
+        try {
+            entries.put(key, new CacheEntry(value, expiresAt));
+        } finally {
+            lock.unlock();
+        }
+        if (genAIResponseStore.isOpen()) {
+            genAIResponseStore.put(key, value, System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttl));
+        }
+    }
+
+    private String getFromMemory(String key) {
+        lock.lock();
+        try {
+            CacheEntry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() - System.nanoTime() <= 0) {
+                entries.remove(key);
+                expiredEvictionCounter.increment();
+                return null;
+            }
+            return entry != null ? entry.value() : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Looks a key up in the persistent log and promotes a hit to memory with its remaining lifetime
+     */
+    private String loadFromStore(String key) {
+        GenAIResponseStore.Entry stored = genAIResponseStore.get(key);
+        if (stored == null) {
+            return null;
+        }
+        long remainingMillis = stored.expiresAt() - System.currentTimeMillis();
+        lock.lock();
+        try {
+            entries.put(key, new CacheEntry(stored.value(), System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(remainingMillis)));
+        } finally {
+            lock.unlock();
+        }
+        persistentHitCounter.increment();
+        return stored.value();
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes every entry from the cache
+     *
+     * @return The number of entries removed
+     */
+    public int invalidateAll() {
+        lock.lock();
+        try {
+            int removed = entries.size();
+            entries.clear();
+            genAIResponseStore.clear();
+            log.info("Flushed {} entries from GenAI response cache", removed);
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of cache configuration and counters
+     */
+    public Map<String, Object> stats() {
+        ApplicationProperties.Cache cache = applicationProperties.getCache();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", isEnabled());
+        stats.put("size", size());
+        stats.put("maxSize", cache.getMaxSize());
+        stats.put("ttlSeconds", cache.getTtl());
+        stats.put("hits", (long) hitCounter.count());
+        stats.put("misses", (long) missCounter.count());
+        stats.put("evictions", (long) (sizeEvictionCounter.count() + expiredEvictionCounter.count()));
+        stats.put("persistent", genAIResponseStore.isOpen());
+        stats.put("persistentSize", genAIResponseStore.size());
+        stats.put("persistentBytes", genAIResponseStore.usedBytes());
+        stats.put("persistentHits", (long) persistentHitCounter.count());
+        return stats;
+    }
+
+    private record CacheEntry(String value, long expiresAt) {
+    }
+
+    /**
+     * Access-ordered map that drops its least recently used entry when over capacity
+     */
+    private static final class LruMap extends LinkedHashMap<String, CacheEntry> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient IntSupplier maxSize;
+        private final transient Counter evictionCounter;
+
+        private LruMap(IntSupplier maxSize, Counter evictionCounter) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+            this.evictionCounter = evictionCounter;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+            if (size() > maxSize.getAsInt()) {
+                evictionCounter.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * On-disk tier of the GenAI response cache, so an instance starts with its previous working set after a
+ * restart or deploy. Responses are appended to a memory-mapped log of {@code persistent-max-bytes} and
+ * found through an in-memory hash index that is rebuilt by scanning the log on startup. A newer record for
+ * a key supersedes the older one. Once the log is full it is compacted: unexpired records are copied to a
+ * new file that atomically replaces the old one, dropping those that expire first if they take more than
+ * half of the log.
+ * <p>
+ * Each record is checksummed, and the scan stops at the first record that is not intact, so a write torn by
+ * a crash only loses the records after it. Expiry is stored as wall-clock time so it survives restarts.
+ */
+@Slf4j
+@Component
+public class GenAIResponseStore {
+
+    private static final int MAGIC = 0x47414331;
+    // magic, payload length, payload CRC32
+    private static final int HEADER_BYTES = 12;
+    // expiry, key length
+    private static final int PAYLOAD_PREFIX_BYTES = 12;
+    private static final int CLEAR_CHUNK_BYTES = 64 * 1024;
+
+    private final ApplicationProperties applicationProperties;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter compactionCounter;
+    private final Counter evictionCounter;
+    private final Counter droppedCounter;
+    private Map<String, Slot> index = new HashMap<>();
+    private Path path;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int writePosition;
+
+    public GenAIResponseStore(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.applicationProperties = applicationProperties;
+        this.meterRegistry = meterRegistry;
+        this.compactionCounter = Counter.builder("genai.cache.persistent.compactions")
+                .description("Compactions of the persistent GenAI response log")
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("genai.cache.persistent.evictions")
+                .description("Unexpired GenAI responses left out of the log by compaction to make room")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("genai.cache.persistent.dropped")
+                .description("GenAI responses not persisted because they are larger than half of the log")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers the store gauges, then maps the log and rebuilds the index from it. Failing to open the log
+     * only disables this tier.
+     */
+    @PostConstruct
+    public void open() {
+        Gauge.builder("genai.cache.persistent.size", this, GenAIResponseStore::size)
+                .description("Number of entries in the persistent GenAI response log")
+                .register(meterRegistry);
+        Gauge.builder("genai.cache.persistent.bytes", this, GenAIResponseStore::usedBytes)
+                .description("Bytes written to the persistent GenAI response log")
+                .register(meterRegistry);
+        ApplicationProperties.Cache cache = applicationProperties.getCache();
+        if (!cache.isPersistentEnabled()) {
+            return;
+        }
+        lock.lock();
+        try {
+            path = Path.of(cache.getPersistentPath()).toAbsolutePath();
+            capacity = (int) Math.min(cache.getPersistentMaxBytes(), Integer.MAX_VALUE);
+            Files.createDirectories(path.getParent());
+            map();
+            load();
+            log.info("Loaded {} GenAI responses from {} ({} bytes)", index.size(), path, writePosition);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Persistent GenAI response cache disabled, cannot open {}: {}", path, e.getMessage());
+            closeChannel();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Flushes the log to disk and unmaps it
+     */
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            if (buffer != null) {
+                buffer.force();
+            }
+            closeChannel();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isOpen() {
+        lock.lock();
+        try {
+            return buffer != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the stored response for a key, or null if absent, expired or the store is closed
+     */
+    public Entry get(String key) {
+        lock.lock();
+        try {
+            if (buffer == null) {
+                return null;
+            }
+            Slot slot = index.get(key);
+            if (slot == null) {
+                return null;
+            }
+            if (slot.expiresAt() <= System.currentTimeMillis()) {
+                index.remove(key);
+                return null;
+            }
+            byte[] value = new byte[slot.valueLength()];
+            buffer.get(slot.valueOffset(), value);
+            return new Entry(new String(value, StandardCharsets.UTF_8), slot.expiresAt());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends a response to the log, compacting it first if it is full
+     *
+     * @param key The cache key
+     * @param value The response
+     * @param expiresAt Wall-clock expiry in epoch milliseconds
+     */
+    public void put(String key, String value, long expiresAt) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+        int payloadLength = PAYLOAD_PREFIX_BYTES + keyBytes.length + valueBytes.length;
+        lock.lock();
+        try {
+            if (buffer == null) {
+                return;
+            }
+            // Compaction only guarantees half of the log, so larger records might never fit
+            if (HEADER_BYTES + payloadLength > capacity / 2) {
+                droppedCounter.increment();
+                return;
+            }
+            if (writePosition + HEADER_BYTES + payloadLength > capacity) {
+                compact();
+            }
+            if (buffer == null || writePosition + HEADER_BYTES + payloadLength > capacity) {
+                return;
+            }
+            int offset = writePosition;
+            int payloadOffset = offset + HEADER_BYTES;
+            buffer.putLong(payloadOffset, expiresAt);
+            buffer.putInt(payloadOffset + 8, keyBytes.length);
+            buffer.put(payloadOffset + PAYLOAD_PREFIX_BYTES, keyBytes);
+            buffer.put(payloadOffset + PAYLOAD_PREFIX_BYTES + keyBytes.length, valueBytes);
+            buffer.putInt(offset + 4, payloadLength);
+            buffer.putInt(offset + 8, checksum(payloadOffset, payloadLength));
+            // The magic goes last, so the scan never accepts a record whose header was not completely written
+            buffer.putInt(offset, MAGIC);
+            index.put(key, new Slot(offset, HEADER_BYTES + payloadLength,
+                    payloadOffset + PAYLOAD_PREFIX_BYTES + keyBytes.length, valueBytes.length, expiresAt));
+            writePosition = offset + HEADER_BYTES + payloadLength;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes every entry. The written part of the log is zeroed so old records cannot reappear on the next
+     * startup once new records end where an old one began.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            if (buffer == null) {
+                return;
+            }
+            byte[] zeros = new byte[Math.min(writePosition, CLEAR_CHUNK_BYTES)];
+            for (int position = 0; position < writePosition; position += zeros.length) {
+                buffer.put(position, zeros, 0, Math.min(zeros.length, writePosition - position));
+            }
+            writePosition = 0;
+            index.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return index.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long usedBytes() {
+        lock.lock();
+        try {
+            return writePosition;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rewrites the log with its unexpired records, keeping those that expire last within half of the log so
+     * that each compaction frees at least half of it. Must be called with the lock held.
+     */
+    private void compact() {
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        Map<String, Slot> compactedIndex = new HashMap<>();
+        long now = System.currentTimeMillis();
+        int position = 0;
+        int evicted = 0;
+        try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer targetLog = target.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            List<Map.Entry<String, Slot>> live = index.entrySet().stream()
+                    .filter(entry -> entry.getValue().expiresAt() > now)
+                    .sorted(Comparator.comparingLong((Map.Entry<String, Slot> entry) -> entry.getValue().expiresAt()).reversed())
+                    .toList();
+            for (Map.Entry<String, Slot> entry : live) {
+                Slot slot = entry.getValue();
+                if (position + slot.length() > capacity / 2) {
+                    evicted++;
+                    continue;
+                }
+                targetLog.put(position, buffer, slot.offset(), slot.length());
+                compactedIndex.put(entry.getKey(), slot.movedTo(position));
+                position += slot.length();
+            }
+            targetLog.force();
+        } catch (IOException e) {
+            log.error("Failed to compact persistent GenAI response log {}: {}", path, e.getMessage());
+            return;
+        }
+
+        try {
+            closeChannel();
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            map();
+        } catch (IOException e) {
+            log.error("Persistent GenAI response cache disabled, failed to reopen {}: {}", path, e.getMessage());
+            closeChannel();
+            return;
+        }
+        log.info("Compacted persistent GenAI response log from {} to {} bytes, {} entries, {} evicted",
+                writePosition, position, compactedIndex.size(), evicted);
+        index = compactedIndex;
+        writePosition = position;
+        compactionCounter.increment();
+        evictionCounter.increment(evicted);
+    }
+
+    private void map() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    /**
+     * Rebuilds the index by scanning records from the start of the log up to the first one that is not intact
+     */
+    private void load() {
+        index = new HashMap<>();
+        long now = System.currentTimeMillis();
+        int position = 0;
+        while (position + HEADER_BYTES + PAYLOAD_PREFIX_BYTES <= capacity && buffer.getInt(position) == MAGIC) {
+            int payloadOffset = position + HEADER_BYTES;
+            int payloadLength = buffer.getInt(position + 4);
+            if (payloadLength < PAYLOAD_PREFIX_BYTES || payloadLength > capacity - payloadOffset
+                    || buffer.getInt(position + 8) != checksum(payloadOffset, payloadLength)) {
+                break;
+            }
+            long expiresAt = buffer.getLong(payloadOffset);
+            int keyLength = buffer.getInt(payloadOffset + 8);
+            if (keyLength < 0 || keyLength > payloadLength - PAYLOAD_PREFIX_BYTES) {
+                break;
+            }
+            byte[] key = new byte[keyLength];
+            buffer.get(payloadOffset + PAYLOAD_PREFIX_BYTES, key);
+            String keyString = new String(key, StandardCharsets.UTF_8);
+            if (expiresAt > now) {
+                index.put(keyString, new Slot(position, HEADER_BYTES + payloadLength,
+                        payloadOffset + PAYLOAD_PREFIX_BYTES + keyLength, payloadLength - PAYLOAD_PREFIX_BYTES - keyLength, expiresAt));
+            } else {
+                index.remove(keyString);
+            }
+            position += HEADER_BYTES + payloadLength;
+        }
+        writePosition = position;
+    }
+
+    private int checksum(int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private void closeChannel() {
+        buffer = null;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Failed to close persistent GenAI response log: {}", e.getMessage());
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * A stored response
+     *
+     * @param value The response
+     * @param expiresAt Wall-clock expiry in epoch milliseconds
+     */
+    public record Entry(String value, long expiresAt) {
+    }
+
+    /**
+     * Location of a record in the log
+     */
+    private record Slot(int offset, int length, int valueOffset, int valueLength, long expiresAt) {
+
+        private Slot movedTo(int newOffset) {
+            return new Slot(newOffset, length, valueOffset - offset + newOffset, valueLength, expiresAt);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.gt.bff.service;
+
+import com.gt.bff.model.schema.AIResponseSchema;
+
+/**
+ * Parts that can be requested together in one fused search call, each answered as a property of the
+ * response object and validated against its {@link AIResponseSchema} class
+ */
+public enum GenAISearchPart {
+    SEARCH_FILTERS("searchFilters", AIResponseSchema.TravelSearchFilters.class,
+            "the travel search filters: from and to locations, fromDate and toDate as future dates in YYYY-MM-DD format, "
+                    + "passengers (1 if not stated) and trip, either One-Way or Round-Trip (the default)"),
+    ORIGIN_LOCATION("originLocation", AIResponseSchema.LocationExtraction.class,
+            "the origin of the trip as location, city and country, with latitude, longitude and your confidence "
+                    + "from 0 to 1; if no origin is mentioned, suggest a popular travel city"),
+    TRAVEL_ADVICE("travelAdvice", AIResponseSchema.TravelAdvice.class,
+            "brief travel advice for the query as response text, with a category and a few short recommendations");
+
+    private final String property;
+    private final Class<?> schema;
+    private final String instruction;
+
+    GenAISearchPart(String property, Class<?> schema, String instruction) {
+        this.property = property;
+        this.schema = schema;
+        this.instruction = instruction;
+    }
+
+    /**
+     * Name of the response property holding this part
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Schema class the part is generated and validated against
+     */
+    public Class<?> getSchema() {
+        return schema;
+    }
+
+    /**
+     * What the model is asked to put in this part
+     */
+    public String getInstruction() {
+        return instruction;
+    }
+}
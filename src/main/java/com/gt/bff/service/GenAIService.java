@@ -1,5 +1,9 @@
 package com.gt.bff.service;
 
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
 /**
  * Interface for Generative AI operations
  */
@@ -22,6 +26,38 @@ public interface GenAIService {
      */
     String generateContent(String model, String prompt);
 
+    /**
+     * Generates content for an operation, giving up once the request deadline has passed
+     *
+     * @param operation The operation the content is for, used to pick the model
+     * @param prompt The prompt to send to the AI
+     * @param deadline The deadline of the request the content is for
+     * @return Generated content as string
+     */
+    String generateContent(GenAIOperation operation, String prompt, RequestDeadline deadline);
+
+    /**
+     * Generates JSON content that follows the response schema of the given type
+     *
+     * @param operation The operation the content is for, used to pick the model
+     * @param prompt The prompt to send to the AI
+     * @param responseType The schema class describing the expected JSON object
+     * @param deadline The deadline of the request the content is for
+     * @return Generated JSON as string
+     */
+    String generateStructuredContent(GenAIOperation operation, String prompt, Class<?> responseType, RequestDeadline deadline);
+
+    /**
+     * Answers several parts of a travel search in one call, e.g. search filters, origin location and advice,
+     * instead of one round-trip per part
+     *
+     * @param query The user's travel query
+     * @param parts The parts to generate; any non-empty subset
+     * @param deadline The deadline of the request the parts are for
+     * @return The requested parts, each validated against its schema class
+     */
+    FusedSearchResult generateFusedSearch(String query, Set<GenAISearchPart> parts, RequestDeadline deadline);
+
     /**
      * Generates a simple text explanation using AI
      *
@@ -46,6 +82,82 @@ public interface GenAIService {
      */
     String extractGeoLocation(String query);
 
+    /**
+     * Generates content asynchronously using AI with default model
+     *
+     * @param prompt The prompt to send to the AI
+     * @return Future completed with the generated content
+     */
+    CompletableFuture<String> generateContentAsync(String prompt);
+
+    /**
+     * Generates content asynchronously using AI with specified model
+     *
+     * @param model The model to use
+     * @param prompt The prompt to send to the AI
+     * @return Future completed with the generated content
+     */
+    CompletableFuture<String> generateContentAsync(String model, String prompt);
+
+    /**
+     * Generates a simple text explanation asynchronously
+     *
+     * @param topic The topic to explain
+     * @return Future completed with the AI-generated explanation
+     */
+    CompletableFuture<String> explainTopicAsync(String topic);
+
+    /**
+     * Processes travel-related queries asynchronously
+     *
+     * @param travelQuery The travel-related query
+     * @return Future completed with the AI-generated travel advice or information
+     */
+    CompletableFuture<String> processTravelQueryAsync(String travelQuery);
+
+    /**
+     * Extracts geo location information from travel query asynchronously
+     *
+     * @param query The travel query containing location information
+     * @return Future completed with the extracted or inferred location information
+     */
+    CompletableFuture<String> extractGeoLocationAsync(String query);
+
+    /**
+     * Streams generated content using AI with default model
+     *
+     * @param prompt The prompt to send to the AI
+     * @return Publisher of text chunks as they are generated
+     */
+    Flow.Publisher<String> streamContent(String prompt);
+
+    /**
+     * Streams generated content using AI with specified model
+     *
+     * @param model The model to use
+     * @param prompt The prompt to send to the AI
+     * @return Publisher of text chunks as they are generated
+     */
+    Flow.Publisher<String> streamContent(String model, String prompt);
+
+    /**
+     * Streams generated content for an operation within a request deadline
+     *
+     * @param operation The operation the content is for, used to pick the model
+     * @param prompt The prompt to send to the AI
+     * @param deadline The deadline of the request the content is for; the stream is aborted once it passes
+     * @return Publisher of text chunks as they are generated
+     */
+    Flow.Publisher<String> streamContent(GenAIOperation operation, String prompt, RequestDeadline deadline);
+
+    /**
+     * Streams travel advice or information for a travel-related query
+     *
+     * @param travelQuery The travel-related query
+     * @return Publisher of text chunks as they are generated
+     */
+    Flow.Publisher<String> streamTravelQuery(String travelQuery);
+
     /**
      * Checks if the AI service is available and ready to use
      *
@@ -0,0 +1,46 @@
+package com.gt.bff.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transport abstraction used by GenAI services to reach the upstream model API
+ */
+public interface GenAITransport {
+
+    /**
+     * Sends a JSON POST request and blocks until the response headers are received.
+     * A body handed back as an {@link java.io.InputStream} is still being read from the connection,
+     * and the request counts as in flight until the caller closes that stream.
+     *
+     * @param uri The endpoint to call
+     * @param body The request body
+     * @param timeout The maximum time to wait for the response
+     * @param bodyHandler The handler used to consume the response body
+     * @param <T> The response body type
+     * @return The HTTP response
+     * @throws IOException if the request could not be sent or the response could not be read
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    <T> HttpResponse<T> send(URI uri, HttpRequest.BodyPublisher body, Duration timeout,
+                             HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException;
+
+    /**
+     * Sends a JSON POST request without blocking the calling thread.
+     * Back-pressure matches {@link #send}: a request that finds no free slot waits for one off the calling thread,
+     * and the future fails with the same rejection if none frees up in time.
+     *
+     * @param uri The endpoint to call
+     * @param body The request body
+     * @param timeout The maximum time to wait for the response
+     * @param bodyHandler The handler used to consume the response body
+     * @param <T> The response body type
+     * @return A future completed with the HTTP response, or exceptionally if the request fails
+     */
+    <T> CompletableFuture<HttpResponse<T>> sendAsync(URI uri, HttpRequest.BodyPublisher body, Duration timeout,
+                                                     HttpResponse.BodyHandler<T> bodyHandler);
+}
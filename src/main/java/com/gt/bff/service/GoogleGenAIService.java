@@ -1,6 +1,14 @@
 package com.gt.bff.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.gt.bff.config.ApplicationProperties;
+import com.gt.bff.exception.GenAICircuitOpenException;
+import com.gt.bff.exception.GenAIException;
+import com.gt.bff.exception.GenAIRateLimitException;
+import com.gt.bff.exception.GenAIRejectedException;
+import com.gt.bff.exception.RequestDeadlineExceededException;
+import com.gt.bff.model.schema.GenAIResponseSchemaGenerator;
+import com.gt.bff.util.GenAIResponseParser;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
@@ -8,19 +16,35 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
-import java.net.URL;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 import org.json.JSONObject;
-import org.json.JSONArray;
 
 /**
  * Service for Google Generative AI operations using REST API
- * This implementation uses direct HTTP calls to the Google GenAI API
+ * This implementation sends HTTP calls to the Google GenAI API through the shared {@link GenAITransport}
  */
 @Slf4j
 @Service
@@ -28,7 +52,7 @@ import org.json.JSONArray;
 public class GoogleGenAIService implements GenAIService {
 
     private static final String BASE_API_URL = "https://generativelanguage.googleapis.com/v1/models/";
-    private static final String CONTENT_TYPE = "application/json";
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
     private static final String NO_CONTENT_MESSAGE = "No content generated";
     private static final String FALLBACK_EXPLANATION = "Unable to generate explanation at this time.";
     private static final String FALLBACK_TRAVEL_RESPONSE = "Unable to process travel query at this time.";
@@ -40,13 +64,26 @@ public class GoogleGenAIService implements GenAIService {
     private final Counter genaiErrorCounter;
     private final Timer genaiTravelAdviceTimer;
     private final Timer genaiLocationExtractionTimer;
+    private final Timer genaiFirstTokenTimer;
     private final AIResponseValidator aiResponseValidator;
+    private final GenAITransport genAITransport;
+    private final GenAIResponseCache genAIResponseCache;
+    private final GenAIRequestCoalescer genAIRequestCoalescer;
+    private final GenAIRequestHedger genAIRequestHedger;
+    private final GenAIConcurrencyLimiter genAIConcurrencyLimiter;
+    private final GenAICircuitBreaker genAICircuitBreaker;
+    private final GenAIModelRouter genAIModelRouter;
+    private final RequestDeadlines requestDeadlines;
+    private final GenAIBulkheads genAIBulkheads;
+    private final GenAIKeyPool genAIKeyPool;
+    private final Map<Class<?>, GenAIRequestBodyTemplate> structuredRequestBodyTemplates = new ConcurrentHashMap<>();
+    private final Map<Set<GenAISearchPart>, GenAIRequestBodyTemplate> fusedRequestBodyTemplates = new ConcurrentHashMap<>();
+    private volatile GenAIRequestBodyTemplate requestBodyTemplate;
     private boolean isInitialized = false;
 
     @PostConstruct
     public void init() {
-        String apiKey = applicationProperties.getGenai().getGoogle().getApiKey();
-        if (apiKey != null && !apiKey.isEmpty()) {
+        if (!genAIKeyPool.isEmpty()) {
             isInitialized = true;
             log.info("GenAI service initialized successfully");
         } else {
@@ -63,7 +100,7 @@ public class GoogleGenAIService implements GenAIService {
      */
     @Override
     public String generateContent(String prompt) {
-        return generateContent(applicationProperties.getGenai().getGoogle().getDefaultModel(), prompt);
+        return generateContent(genAIModelRouter.route(GenAIOperation.GENERAL, prompt), prompt);
     }
 
     /**
@@ -76,25 +113,157 @@ public class GoogleGenAIService implements GenAIService {
      */
     @Override
     public String generateContent(String model, String prompt) {
+        return generate(GenAIOperation.GENERAL, model, prompt, requestBodyTemplate(), RequestDeadline.none());
+    }
+
+    /**
+     * Generates content for an operation within a request deadline.
+     * Waiting for a concurrency permit and the HTTP call are both bounded by what is left of the deadline.
+     *
+     * @param operation The operation the content is for, used to pick the model
+     * @param prompt The prompt to send to the AI
+     * @param deadline The deadline of the request the content is for
+     * @return Generated content as string
+     * @throws IllegalStateException if not initialized
+     */
+    @Override
+    public String generateContent(GenAIOperation operation, String prompt, RequestDeadline deadline) {
+        return generate(operation, genAIModelRouter.route(operation, prompt), prompt, requestBodyTemplate(), deadline);
+    }
+
+    /**
+     * Generates JSON content constrained by the response schema derived from a schema class.
+     * The model is asked for {@code application/json} output, so the result can be parsed directly.
+     *
+     * @param operation The operation the content is for, used to pick the model
+     * @param prompt The prompt to send to the AI
+     * @param responseType The schema class from {@link com.gt.bff.model.schema.AIResponseSchema}
+     * @param deadline The deadline of the request the content is for
+     * @return Generated JSON as string
+     * @throws IllegalStateException if not initialized
+     */
+    @Override
+    public String generateStructuredContent(GenAIOperation operation, String prompt, Class<?> responseType,
+                                            RequestDeadline deadline) {
+        return generate(operation, genAIModelRouter.route(operation, prompt), prompt,
+                structuredRequestBodyTemplate(responseType), deadline);
+    }
+
+    /**
+     * Generates the requested search parts with one structured output call. The response schema holds one
+     * required property per part, derived from its schema class, and each part is validated separately.
+     *
+     * @param query The user's travel query
+     * @param parts The parts to generate; any non-empty subset
+     * @param deadline The deadline of the request the parts are for
+     * @return The requested parts, each validated against its schema class
+     * @throws IllegalArgumentException if no parts are requested
+     * @throws IllegalStateException if not initialized
+     */
+    @Override
+    public FusedSearchResult generateFusedSearch(String query, Set<GenAISearchPart> parts, RequestDeadline deadline) {
+        if (parts.isEmpty()) {
+            throw new IllegalArgumentException("At least one search part must be requested");
+        }
+        Set<GenAISearchPart> requested = EnumSet.copyOf(parts);
+        StringBuilder instructions = new StringBuilder();
+        requested.forEach(part -> instructions.append("- ").append(part.getProperty()).append(": ")
+                .append(part.getInstruction()).append('\n'));
+        String prompt = applicationProperties.getGenai().getGoogle().getFusedSearchPromptTemplate()
+                .replace("{parts}", instructions.toString().trim())
+                .replace("{today}", LocalDate.now().toString())
+                .replace("{query}", query);
+
+        String rawResult = generate(GenAIOperation.FUSED_SEARCH, genAIModelRouter.route(GenAIOperation.FUSED_SEARCH, prompt),
+                prompt, fusedRequestBodyTemplate(requested), deadline);
+        FusedSearchResult result = aiResponseValidator.validateFusedSearchResponse(rawResult, requested);
+        if (!result.errors().isEmpty()) {
+            log.warn("Fused search parts failed validation: {}", result.errors());
+        }
+        return result;
+    }
+
+    private String generate(GenAIOperation operation, String model, String prompt, GenAIRequestBodyTemplate template,
+                            RequestDeadline deadline) {
         if (!isInitialized) {
             throw new IllegalStateException("GenAI service is not initialized. Please check your API key configuration.");
         }
 
+        String requestKey = requestKeyFor(model, prompt, template);
+        String cached = lookupCache(requestKey);
+        if (cached != null) {
+            log.debug("Serving GenAI content for model {} from cache", model);
+            return cached;
+        }
+        requestDeadlines.check(deadline, RequestDeadlines.STAGE_GENAI_QUEUE);
+
+        if (isCoalescingEnabled(requestKey)) {
+            return genAIRequestCoalescer.execute(requestKey, deadline,
+                    () -> callUpstreamInBulkhead(operation, model, prompt, template, requestKey, deadline));
+        }
+        return callUpstreamInBulkhead(operation, model, prompt, template, requestKey, deadline);
+    }
+
+    /**
+     * Calls upstream inside the operation's bulkhead. Entered by the coalescing leader only,
+     * so callers waiting on its result do not hold slots of their own.
+     */
+    private String callUpstreamInBulkhead(GenAIOperation operation, String model, String prompt,
+                                          GenAIRequestBodyTemplate template, String requestKey, RequestDeadline deadline) {
+        GenAIBulkheads.Permit bulkheadPermit = enterBulkhead(operation, deadline);
+        try {
+            return callUpstream(model, prompt, template, requestKey, deadline);
+        } finally {
+            bulkheadPermit.release();
+        }
+    }
+
+    /**
+     * Enters the operation's bulkhead, waiting no longer than what is left of the deadline
+     */
+    private GenAIBulkheads.Permit enterBulkhead(GenAIOperation operation, RequestDeadline deadline) {
+        try {
+            return genAIBulkheads.acquire(operation, deadline.remaining());
+        } catch (GenAIRateLimitException e) {
+            if (deadline.isExpired()) {
+                throw requestDeadlines.exceeded(RequestDeadlines.STAGE_GENAI_QUEUE);
+            }
+            throw e;
+        }
+    }
+
+    private String callUpstream(String model, String prompt, GenAIRequestBodyTemplate template, String requestKey,
+                                RequestDeadline deadline) {
+        if (!genAICircuitBreaker.tryAcquirePermission()) {
+            throw circuitOpen();
+        }
+
         genaiRequestCounter.increment();
         long startTime = System.nanoTime();
         try {
             log.debug("Generating content with model: {} and prompt: {}", model, prompt);
 
-            String apiUrl = buildApiUrl(model);
-            JSONObject requestBody = buildRequestBody(prompt);
+            HttpRequest.BodyPublisher requestBody = template.publisherFor(prompt);
 
-            String result = makeApiCall(apiUrl, requestBody);
+            String result = isHedgingEnabled()
+                    ? awaitHedgedApiCall(model, requestBody, deadline)
+                    : makeApiCall(model, requestBody, deadline);
             genaiRequestTimer.record(System.nanoTime() - startTime, java.util.concurrent.TimeUnit.NANOSECONDS);
+            genAICircuitBreaker.onSuccess(System.nanoTime() - startTime);
+            genAIModelRouter.record(model, System.nanoTime() - startTime, true);
+            cacheResult(requestKey, result);
             return result;
         } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
             genaiErrorCounter.increment();
             genaiRequestTimer.record(System.nanoTime() - startTime, java.util.concurrent.TimeUnit.NANOSECONDS);
+            recordFailure(model, System.nanoTime() - startTime, e);
             log.error("Error generating content: {}", e.getMessage(), e);
+            if (e instanceof GenAIException genAIException) {
+                throw genAIException;
+            }
             throw new RuntimeException("Failed to generate content: " + e.getMessage(), e);
         }
     }
@@ -109,7 +278,7 @@ public class GoogleGenAIService implements GenAIService {
     public String explainTopic(String topic) {
         String prompt = applicationProperties.getGenai().getGoogle().getExplainPromptTemplate().replace("{topic}", topic);
         try {
-            String rawResult = generateContent(prompt);
+            String rawResult = generateContent(GenAIOperation.EXPLAIN, prompt, RequestDeadline.none());
             
             // Validate the AI response
             AIResponseValidator.ValidationResult<String> validationResult = aiResponseValidator.validateBasicResponse(rawResult);
@@ -131,7 +300,7 @@ public class GoogleGenAIService implements GenAIService {
         long startTime = System.nanoTime();
         try {
             String prompt = applicationProperties.getGenai().getGoogle().getTravelAdvicePromptTemplate().replace("{query}", travelQuery);
-            String rawResult = generateContent(prompt);
+            String rawResult = generateContent(GenAIOperation.TRAVEL_ADVICE, prompt, RequestDeadline.none());
             
             // Validate the AI response
             AIResponseValidator.ValidationResult<String> validationResult = aiResponseValidator.validateBasicResponse(rawResult);
@@ -157,7 +326,7 @@ public class GoogleGenAIService implements GenAIService {
         long startTime = System.nanoTime();
         try {
             String prompt = applicationProperties.getGenai().getGoogle().getLocationExtractionPromptTemplate().replace("{query}", query);
-            String rawResult = generateContent(prompt);
+            String rawResult = generateContent(GenAIOperation.GEO_LOCATION, prompt, RequestDeadline.none());
             
             // Validate the AI response
             AIResponseValidator.ValidationResult<String> validationResult = aiResponseValidator.validateBasicResponse(rawResult);
@@ -172,6 +341,397 @@ public class GoogleGenAIService implements GenAIService {
         }
     }
 
+    /**
+     * Generates content asynchronously using Google GenAI REST API
+     *
+     * @param prompt The prompt to send to the AI
+     * @return Future completed with the generated content
+     */
+    @Override
+    public CompletableFuture<String> generateContentAsync(String prompt) {
+        return generateContentAsync(genAIModelRouter.route(GenAIOperation.GENERAL, prompt), prompt);
+    }
+
+    /**
+     * Generates content asynchronously using Google GenAI REST API with specified model.
+     * The request is sent on the non-blocking transport so no thread is held while waiting for the model.
+     *
+     * @param model The model to use (e.g., "gemini-2.5-flash")
+     * @param prompt The prompt to send to the AI
+     * @return Future completed with the generated content, or exceptionally if the call fails
+     */
+    @Override
+    public CompletableFuture<String> generateContentAsync(String model, String prompt) {
+        return generateAsync(GenAIOperation.GENERAL, model, prompt);
+    }
+
+    private CompletableFuture<String> generateAsync(GenAIOperation operation, String model, String prompt) {
+        if (!isInitialized) {
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("GenAI service is not initialized. Please check your API key configuration."));
+        }
+
+        String requestKey = requestKeyFor(model, prompt, requestBodyTemplate());
+        String cached = lookupCache(requestKey);
+        if (cached != null) {
+            log.debug("Serving GenAI content for model {} from cache", model);
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return isCoalescingEnabled(requestKey)
+                ? genAIRequestCoalescer.executeAsync(requestKey, () -> callUpstreamAsyncInBulkhead(operation, model, prompt, requestKey))
+                : callUpstreamAsyncInBulkhead(operation, model, prompt, requestKey);
+    }
+
+    /**
+     * Asynchronous counterpart of {@link #callUpstreamInBulkhead}, rejecting rather than waiting when the bulkhead is full
+     */
+    private CompletableFuture<String> callUpstreamAsyncInBulkhead(GenAIOperation operation, String model, String prompt,
+                                                                  String requestKey) {
+        GenAIBulkheads.Permit bulkheadPermit = genAIBulkheads.tryAcquire(operation).orElse(null);
+        if (bulkheadPermit == null) {
+            return CompletableFuture.failedFuture(
+                    new GenAIRejectedException("GenAI bulkhead for " + operation.getKey() + " is full"));
+        }
+        CompletableFuture<String> call;
+        try {
+            call = callUpstreamAsync(model, prompt, requestKey);
+        } catch (RuntimeException e) {
+            bulkheadPermit.release();
+            throw e;
+        }
+        // Released from the call itself so a caller cancelling a dependent stage cannot skip it
+        call.whenComplete((content, error) -> bulkheadPermit.release());
+        return call;
+    }
+
+    private CompletableFuture<String> callUpstreamAsync(String model, String prompt, String requestKey) {
+        if (!genAICircuitBreaker.tryAcquirePermission()) {
+            return CompletableFuture.failedFuture(circuitOpen());
+        }
+
+        genaiRequestCounter.increment();
+        long startTime = System.nanoTime();
+        log.debug("Generating content asynchronously with model: {} and prompt: {}", model, prompt);
+
+        CompletableFuture<String> call;
+        try {
+            HttpRequest.BodyPublisher requestBody = buildRequestBody(prompt);
+            call = isHedgingEnabled()
+                    ? genAIRequestHedger.execute(() -> makeApiCallAsync(model, requestBody, RequestDeadline.none()))
+                    : makeApiCallAsync(model, requestBody, RequestDeadline.none());
+        } catch (Exception e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+
+        return call.handle((result, error) -> {
+            genaiRequestTimer.record(System.nanoTime() - startTime, java.util.concurrent.TimeUnit.NANOSECONDS);
+            if (error == null) {
+                genAICircuitBreaker.onSuccess(System.nanoTime() - startTime);
+                genAIModelRouter.record(model, System.nanoTime() - startTime, true);
+                cacheResult(requestKey, result);
+                return result;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            recordFailure(model, System.nanoTime() - startTime, cause);
+            genaiErrorCounter.increment();
+            log.error("Error generating content: {}", cause.getMessage(), cause);
+            throw new CompletionException(cause instanceof GenAIException
+                    ? cause
+                    : new RuntimeException("Failed to generate content: " + cause.getMessage(), cause));
+        });
+    }
+
+    /**
+     * Generates a simple text explanation asynchronously with response validation
+     *
+     * @param topic The topic to explain
+     * @return Future completed with the AI-generated explanation
+     */
+    @Override
+    public CompletableFuture<String> explainTopicAsync(String topic) {
+        String prompt = applicationProperties.getGenai().getGoogle().getExplainPromptTemplate().replace("{topic}", topic);
+        return generateAsync(GenAIOperation.EXPLAIN, genAIModelRouter.route(GenAIOperation.EXPLAIN, prompt), prompt)
+                .thenApply(rawResult -> validatedOrFallback(rawResult, FALLBACK_EXPLANATION))
+                .exceptionally(e -> {
+                    log.error("Failed to explain topic '{}': {}", topic, e.getMessage());
+                    return FALLBACK_EXPLANATION;
+                });
+    }
+
+    /**
+     * Processes travel-related queries asynchronously with response validation
+     *
+     * @param travelQuery The travel-related query
+     * @return Future completed with the AI-generated travel advice or information
+     */
+    @Override
+    public CompletableFuture<String> processTravelQueryAsync(String travelQuery) {
+        long startTime = System.nanoTime();
+        String prompt = applicationProperties.getGenai().getGoogle().getTravelAdvicePromptTemplate().replace("{query}", travelQuery);
+        return generateAsync(GenAIOperation.TRAVEL_ADVICE, genAIModelRouter.route(GenAIOperation.TRAVEL_ADVICE, prompt), prompt)
+                .thenApply(rawResult -> validatedOrFallback(rawResult, FALLBACK_TRAVEL_RESPONSE))
+                .exceptionally(e -> {
+                    log.error("Failed to process travel query '{}': {}", travelQuery, e.getMessage());
+                    return FALLBACK_TRAVEL_RESPONSE;
+                })
+                .whenComplete((result, error) ->
+                        genaiTravelAdviceTimer.record(System.nanoTime() - startTime, java.util.concurrent.TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Extracts geo location information from travel query asynchronously with response validation
+     *
+     * @param query The travel query containing location information
+     * @return Future completed with the extracted or inferred location information
+     */
+    @Override
+    public CompletableFuture<String> extractGeoLocationAsync(String query) {
+        long startTime = System.nanoTime();
+        String prompt = applicationProperties.getGenai().getGoogle().getLocationExtractionPromptTemplate().replace("{query}", query);
+        return generateAsync(GenAIOperation.GEO_LOCATION, genAIModelRouter.route(GenAIOperation.GEO_LOCATION, prompt), prompt)
+                .thenApply(rawResult -> validatedOrFallback(rawResult, FALLBACK_LOCATION))
+                .exceptionally(e -> {
+                    log.error("Failed to extract geo location from query '{}': {}", query, e.getMessage());
+                    return FALLBACK_LOCATION;
+                })
+                .whenComplete((result, error) ->
+                        genaiLocationExtractionTimer.record(System.nanoTime() - startTime, java.util.concurrent.TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Identity of a request for caching and coalescing, or null when neither is enabled
+     */
+    private String requestKeyFor(String model, String prompt, GenAIRequestBodyTemplate template) {
+        if (!genAIResponseCache.isEnabled() && !applicationProperties.getGenai().getGoogle().isCoalesceRequests()) {
+            return null;
+        }
+        return GenAIResponseCache.buildKey(model, prompt, template.generationConfig());
+    }
+
+    private String lookupCache(String requestKey) {
+        return requestKey != null && genAIResponseCache.isEnabled() ? genAIResponseCache.get(requestKey) : null;
+    }
+
+    private boolean isCoalescingEnabled(String requestKey) {
+        return requestKey != null && applicationProperties.getGenai().getGoogle().isCoalesceRequests();
+    }
+
+    private boolean isHedgingEnabled() {
+        return applicationProperties.getGenai().getGoogle().getHedging().isEnabled();
+    }
+
+    private void cacheResult(String requestKey, String result) {
+        if (requestKey != null && genAIResponseCache.isEnabled() && result != null && !NO_CONTENT_MESSAGE.equals(result)) {
+            genAIResponseCache.put(requestKey, result);
+        }
+    }
+
+    /**
+     * Feeds a failed call to the circuit breaker and the model router, unless it failed locally
+     */
+    private void recordFailure(String model, long durationNanos, Throwable error) {
+        recordBreakerFailure(durationNanos, error);
+        if (!isLocalFailure(error)) {
+            genAIModelRouter.record(model, durationNanos, false);
+        }
+    }
+
+    private void recordBreakerFailure(long durationNanos, Throwable error) {
+        if (isLocalFailure(error)) {
+            genAICircuitBreaker.onIgnored();
+        } else {
+            genAICircuitBreaker.onError(durationNanos, error);
+        }
+    }
+
+    /**
+     * Whether a call was turned away by a local limit or cut short by its own deadline.
+     * Neither says anything about upstream health.
+     */
+    private static boolean isLocalFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof GenAIRejectedException || cause instanceof RequestDeadlineExceededException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private GenAICircuitOpenException circuitOpen() {
+        return new GenAICircuitOpenException("GenAI circuit breaker is open, retry in "
+                + genAICircuitBreaker.getRemainingOpenMillis() + "ms");
+    }
+
+    private String validatedOrFallback(String rawResult, String fallback) {
+        AIResponseValidator.ValidationResult<String> validationResult = aiResponseValidator.validateBasicResponse(rawResult);
+        return validationResult.isValid() ? validationResult.getData() : fallback;
+    }
+
+    /**
+     * Streams generated content using the server-sent events variant of the Google GenAI REST API
+     *
+     * @param prompt The prompt to send to the AI
+     * @return Publisher of text chunks in the order they are generated
+     */
+    @Override
+    public Flow.Publisher<String> streamContent(String prompt) {
+        return streamContent(genAIModelRouter.route(GenAIOperation.GENERAL, prompt), prompt);
+    }
+
+    /**
+     * Streams generated content with specified model. The upstream call is started once per subscriber,
+     * and every text part is published as soon as its event arrives.
+     *
+     * @param model The model to use (e.g., "gemini-2.5-flash")
+     * @param prompt The prompt to send to the AI
+     * @return Publisher of text chunks in the order they are generated
+     */
+    @Override
+    public Flow.Publisher<String> streamContent(String model, String prompt) {
+        return stream(GenAIOperation.GENERAL, model, prompt, RequestDeadline.none());
+    }
+
+    /**
+     * Streams generated content with the model routed for the operation. Once the deadline passes the
+     * HTTP exchange is aborted and the publisher fails with {@link RequestDeadlineExceededException}.
+     *
+     * @param operation The operation the content is for
+     * @param prompt The prompt to send to the AI
+     * @param deadline The deadline of the request the content is for
+     * @return Publisher of text chunks in the order they are generated
+     */
+    @Override
+    public Flow.Publisher<String> streamContent(GenAIOperation operation, String prompt, RequestDeadline deadline) {
+        return stream(operation, genAIModelRouter.route(operation, prompt), prompt, deadline);
+    }
+
+    /**
+     * Streams travel advice for a query using the travel advice prompt template
+     *
+     * @param travelQuery The travel-related query
+     * @return Publisher of travel advice text chunks
+     */
+    @Override
+    public Flow.Publisher<String> streamTravelQuery(String travelQuery) {
+        String prompt = applicationProperties.getGenai().getGoogle().getTravelAdvicePromptTemplate().replace("{query}", travelQuery);
+        return streamContent(GenAIOperation.TRAVEL_ADVICE, prompt, RequestDeadline.none());
+    }
+
+    private Flow.Publisher<String> stream(GenAIOperation operation, String model, String prompt, RequestDeadline deadline) {
+        return subscriber -> {
+            SubmissionPublisher<String> publisher = new SubmissionPublisher<>();
+            publisher.subscribe(subscriber);
+            startStream(operation, model, prompt, deadline, publisher);
+        };
+    }
+
+    /**
+     * Starts one streaming call. The stream holds a slot in the operation's bulkhead and a concurrency limiter
+     * permit until it terminates; subscribing waits for both no longer than their queue timeouts and the deadline.
+     */
+    private void startStream(GenAIOperation operation, String model, String prompt, RequestDeadline deadline,
+                             SubmissionPublisher<String> publisher) {
+        if (!isInitialized) {
+            publisher.closeExceptionally(
+                    new IllegalStateException("GenAI service is not initialized. Please check your API key configuration."));
+            return;
+        }
+        GenAIBulkheads.Permit bulkheadPermit;
+        GenAIConcurrencyLimiter.Permit permit;
+        try {
+            requestDeadlines.check(deadline, RequestDeadlines.STAGE_GENAI_QUEUE);
+            bulkheadPermit = enterBulkhead(operation, deadline);
+        } catch (GenAIException e) {
+            publisher.closeExceptionally(e);
+            return;
+        }
+        try {
+            permit = acquirePermit(deadline);
+        } catch (GenAIException e) {
+            bulkheadPermit.release();
+            publisher.closeExceptionally(e);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            bulkheadPermit.release();
+            publisher.closeExceptionally(e);
+            return;
+        }
+        GenAIKeyPool.Key key;
+        try {
+            key = genAIKeyPool.select();
+        } catch (GenAIRateLimitException e) {
+            permit.onFailure(e);
+            bulkheadPermit.release();
+            publisher.closeExceptionally(e);
+            return;
+        }
+        if (!genAICircuitBreaker.tryAcquirePermission()) {
+            GenAICircuitOpenException open = circuitOpen();
+            permit.onFailure(open);
+            bulkheadPermit.release();
+            publisher.closeExceptionally(open);
+            return;
+        }
+
+        genaiRequestCounter.increment();
+        long startTime = System.nanoTime();
+        log.debug("Streaming content with model: {} and prompt: {}", model, prompt);
+
+        SseTextSubscriber lineSubscriber = new SseTextSubscriber(
+                publisher,
+                this::extractTextOrNull,
+                aiResponseValidator::isSafeContent,
+                () -> genaiFirstTokenTimer.record(System.nanoTime() - startTime, java.util.concurrent.TimeUnit.NANOSECONDS));
+
+        CompletableFuture<HttpResponse<Void>> exchange = genAITransport.sendAsync(
+                URI.create(buildStreamApiUrl(model, key)),
+                buildRequestBody(prompt),
+                deadline.cap(Duration.ofMillis(applicationProperties.getGenai().getGoogle().getReadTimeout())),
+                HttpResponse.BodyHandlers.fromLineSubscriber(lineSubscriber));
+        if (deadline.isBounded()) {
+            // The request timeout only covers the response headers, so the body is cut off separately
+            CompletableFuture.delayedExecutor(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS)
+                    .execute(() -> exchange.cancel(true));
+        }
+        exchange.whenComplete((response, error) -> {
+            long duration = System.nanoTime() - startTime;
+            genaiRequestTimer.record(duration, java.util.concurrent.TimeUnit.NANOSECONDS);
+            bulkheadPermit.release();
+            if (error != null && deadline.isExpired()) {
+                RequestDeadlineExceededException exceeded = requestDeadlines.exceeded(RequestDeadlines.STAGE_GENAI_CALL);
+                genaiErrorCounter.increment();
+                genAICircuitBreaker.onIgnored();
+                permit.onFailure(exceeded);
+                log.warn("GenAI stream cut short by the request deadline after {}ms",
+                        TimeUnit.NANOSECONDS.toMillis(duration));
+                publisher.closeExceptionally(exceeded);
+            } else if (error != null) {
+                genaiErrorCounter.increment();
+                recordBreakerFailure(duration, error);
+                permit.onFailure(error);
+                log.error("Error streaming content: {}", error.getMessage(), error);
+                publisher.closeExceptionally(new RuntimeException("Failed to stream content: " + error.getMessage(), error));
+            } else if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+                RuntimeException apiError = apiError(response.statusCode(), "");
+                if (apiError instanceof GenAIRateLimitException) {
+                    genAIKeyPool.onRateLimited(key);
+                }
+                genaiErrorCounter.increment();
+                genAICircuitBreaker.onError(duration, apiError);
+                permit.onFailure(apiError);
+                publisher.closeExceptionally(apiError);
+            } else {
+                genAICircuitBreaker.onSuccess(duration);
+                // A stream's length depends on how much is generated, so its duration is not fed to the limit
+                permit.onIgnored();
+                genAIKeyPool.onSuccess(key);
+                publisher.close();
+            }
+        });
+    }
+
     /**
      * Extracts text content from GenAI JSON response
      *
@@ -179,30 +739,34 @@ public class GoogleGenAIService implements GenAIService {
      * @return Extracted text content
      */
     private String extractTextFromResponse(String jsonResponse) {
+        String text = extractTextOrNull(jsonResponse);
+        return text != null ? text : NO_CONTENT_MESSAGE;
+    }
+
+    /**
+     * Extracts text content from a GenAI JSON response body without buffering it
+     *
+     * @param responseBody The response body stream, left open for the caller
+     * @return Extracted text content
+     * @throws IOException if the body cannot be read
+     */
+    private String extractTextFromResponse(InputStream responseBody) throws IOException {
         try {
-            JSONObject response = new JSONObject(jsonResponse);
-            if (response.has("candidates")) {
-                JSONArray candidates = response.getJSONArray("candidates");
-                if (candidates.length() > 0) {
-                    JSONObject candidate = candidates.getJSONObject(0);
-                    if (candidate.has("content")) {
-                        JSONObject content = candidate.getJSONObject("content");
-                        if (content.has("parts")) {
-                            JSONArray parts = content.getJSONArray("parts");
-                            if (parts.length() > 0) {
-                                JSONObject part = parts.getJSONObject(0);
-                                if (part.has("text")) {
-                                    return part.getString("text");
-                                }
-                            }
-                        }
-                    }
-                }
-            }
+            String text = GenAIResponseParser.extractText(responseBody);
+            return text != null ? text : NO_CONTENT_MESSAGE;
+        } catch (JsonProcessingException e) {
+            log.error("Error parsing GenAI response: {}", e.getMessage());
+            return NO_CONTENT_MESSAGE;
+        }
+    }
+
+    private String extractTextOrNull(String jsonResponse) {
+        try {
+            return GenAIResponseParser.extractText(jsonResponse);
         } catch (Exception e) {
             log.error("Error parsing GenAI response: {}", e.getMessage());
+            return null;
         }
-        return NO_CONTENT_MESSAGE;
     }
 
     /**
@@ -215,29 +779,53 @@ public class GoogleGenAIService implements GenAIService {
         return isInitialized;
     }
 
-    private String buildApiUrl(String model) {
-        return BASE_API_URL + model + ":generateContent?key=" + applicationProperties.getGenai().getGoogle().getApiKey();
+    private String buildApiUrl(String model, GenAIKeyPool.Key key) {
+        return BASE_API_URL + model + ":generateContent?key=" + key.getValue();
     }
 
-    private JSONObject buildRequestBody(String prompt) {
-        JSONObject requestBody = new JSONObject();
-
-        JSONObject part = new JSONObject();
-        part.put("text", prompt);
-
-        JSONArray parts = new JSONArray();
-        parts.put(part);
+    private String buildStreamApiUrl(String model, GenAIKeyPool.Key key) {
+        return BASE_API_URL + model + ":streamGenerateContent?alt=sse&key=" + key.getValue();
+    }
 
-        JSONObject content = new JSONObject();
-        content.put("parts", parts);
+    private HttpRequest.BodyPublisher buildRequestBody(String prompt) {
+        return requestBodyTemplate().publisherFor(prompt);
+    }
 
-        JSONArray contents = new JSONArray();
-        contents.put(content);
+    /**
+     * Request body template for the configured generation config, serialized on first use
+     */
+    private GenAIRequestBodyTemplate requestBodyTemplate() {
+        GenAIRequestBodyTemplate template = requestBodyTemplate;
+        if (template == null) {
+            template = new GenAIRequestBodyTemplate(buildGenerationConfig().toString());
+            requestBodyTemplate = template;
+        }
+        return template;
+    }
 
-        requestBody.put("contents", contents);
-        requestBody.put("generationConfig", buildGenerationConfig());
+    /**
+     * Request body template asking for JSON output matching the schema of a response type
+     */
+    private GenAIRequestBodyTemplate structuredRequestBodyTemplate(Class<?> responseType) {
+        return structuredRequestBodyTemplates.computeIfAbsent(responseType, type -> new GenAIRequestBodyTemplate(
+                buildGenerationConfig()
+                        .put("responseMimeType", "application/json")
+                        .put("responseSchema", new JSONObject(GenAIResponseSchemaGenerator.schemaFor(type)))
+                        .toString()));
+    }
 
-        return requestBody;
+    /**
+     * Request body template asking for JSON output with one property per requested search part
+     */
+    private GenAIRequestBodyTemplate fusedRequestBodyTemplate(Set<GenAISearchPart> parts) {
+        return fusedRequestBodyTemplates.computeIfAbsent(parts, requested -> {
+            Map<String, Class<?>> schemas = new LinkedHashMap<>();
+            requested.forEach(part -> schemas.put(part.getProperty(), part.getSchema()));
+            return new GenAIRequestBodyTemplate(buildGenerationConfig()
+                    .put("responseMimeType", "application/json")
+                    .put("responseSchema", new JSONObject(GenAIResponseSchemaGenerator.schemaFor(schemas)))
+                    .toString());
+        });
     }
 
     private JSONObject buildGenerationConfig() {
@@ -249,55 +837,198 @@ public class GoogleGenAIService implements GenAIService {
         return generationConfig;
     }
 
-    private String makeApiCall(String apiUrl, JSONObject requestBody) throws IOException {
-        URL url = new URL(apiUrl);
-        HttpURLConnection connection = configureConnection(url);
+    private String makeApiCall(String model, HttpRequest.BodyPublisher requestBody, RequestDeadline deadline)
+            throws IOException, InterruptedException {
+        Duration readTimeout = Duration.ofMillis(applicationProperties.getGenai().getGoogle().getReadTimeout());
+        boolean boundByDeadline = deadline.isShorterThan(readTimeout);
+        GenAIConcurrencyLimiter.Permit permit = acquirePermit(deadline);
+        GenAIKeyPool.Key key = null;
+        try {
+            requestDeadlines.check(deadline, RequestDeadlines.STAGE_GENAI_QUEUE);
+            key = genAIKeyPool.select();
+            HttpResponse<InputStream> response = genAITransport.send(
+                    URI.create(buildApiUrl(model, key)),
+                    requestBody,
+                    deadline.cap(readTimeout),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            String result = handleResponse(response);
+            genAIKeyPool.onSuccess(key);
+            permit.onSuccess();
+            return result;
+        } catch (HttpTimeoutException e) {
+            if (!boundByDeadline) {
+                permit.onFailure(e);
+                throw e;
+            }
+            // The request ran out of budget, which says nothing about upstream capacity
+            RequestDeadlineExceededException exceeded = requestDeadlines.exceeded(RequestDeadlines.STAGE_GENAI_CALL);
+            permit.onFailure(exceeded);
+            throw exceeded;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            if (key != null && isRateLimited(e)) {
+                genAIKeyPool.onRateLimited(key);
+            }
+            permit.onFailure(e);
+            throw e;
+        }
+    }
+
+    private GenAIConcurrencyLimiter.Permit acquirePermit(RequestDeadline deadline) throws InterruptedException {
+        try {
+            return genAIConcurrencyLimiter.acquire(deadline.remaining());
+        } catch (GenAIRateLimitException e) {
+            if (deadline.isExpired()) {
+                throw requestDeadlines.exceeded(RequestDeadlines.STAGE_GENAI_QUEUE);
+            }
+            throw e;
+        }
+    }
 
-        sendRequest(connection, requestBody);
-        return handleResponse(connection);
+    private CompletableFuture<String> makeApiCallAsync(String model, HttpRequest.BodyPublisher requestBody,
+                                                       RequestDeadline deadline) {
+        return makeApiCallAsync(model, requestBody, deadline, null);
     }
 
-    private HttpURLConnection configureConnection(URL url) throws IOException {
-        ApplicationProperties.GenAI genaiConfig = applicationProperties.getGenai();
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setRequestMethod("POST");
-        connection.setRequestProperty("Content-Type", CONTENT_TYPE);
-        connection.setDoOutput(true);
-        connection.setConnectTimeout(genaiConfig.getGoogle().getConnectTimeout());
-        connection.setReadTimeout(genaiConfig.getGoogle().getReadTimeout());
-        return connection;
+    /**
+     * Sends one upstream call without blocking
+     *
+     * @param acquiredPermit Limiter permit the caller already holds, or null to take one only if it is free right away
+     */
+    private CompletableFuture<String> makeApiCallAsync(String model, HttpRequest.BodyPublisher requestBody,
+                                                       RequestDeadline deadline,
+                                                       GenAIConcurrencyLimiter.Permit acquiredPermit) {
+        if (deadline.isExpired()) {
+            RequestDeadlineExceededException exceeded = requestDeadlines.exceeded(RequestDeadlines.STAGE_GENAI_QUEUE);
+            if (acquiredPermit != null) {
+                acquiredPermit.onFailure(exceeded);
+            }
+            return CompletableFuture.failedFuture(exceeded);
+        }
+        GenAIConcurrencyLimiter.Permit permit = acquiredPermit != null
+                ? acquiredPermit
+                : genAIConcurrencyLimiter.tryAcquire().orElse(null);
+        if (permit == null) {
+            return CompletableFuture.failedFuture(new GenAIRejectedException("GenAI concurrency limit reached"));
+        }
+        GenAIKeyPool.Key key;
+        try {
+            key = genAIKeyPool.select();
+        } catch (GenAIRateLimitException e) {
+            permit.onFailure(e);
+            return CompletableFuture.failedFuture(e);
+        }
+
+        Duration readTimeout = Duration.ofMillis(applicationProperties.getGenai().getGoogle().getReadTimeout());
+        boolean boundByDeadline = deadline.isShorterThan(readTimeout);
+        CompletableFuture<HttpResponse<String>> exchange = genAITransport.sendAsync(
+                URI.create(buildApiUrl(model, key)),
+                requestBody,
+                deadline.cap(readTimeout),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        CompletableFuture<String> result = exchange.thenApply(response -> handleResponse(response.statusCode(), response.body()));
+        result.whenComplete((text, error) -> {
+            // Let a losing hedge attempt abort its HTTP exchange when it is cancelled
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+            if (error == null) {
+                genAIKeyPool.onSuccess(key);
+                permit.onSuccess();
+                return;
+            }
+            if (isRateLimited(error)) {
+                genAIKeyPool.onRateLimited(key);
+            }
+            if (boundByDeadline && isTimeout(error)) {
+                permit.onFailure(new RequestDeadlineExceededException("GenAI call cut short by the request deadline"));
+            } else {
+                permit.onFailure(error);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Sends a hedged call and waits for it. The first attempt queues for a limiter permit on the calling thread,
+     * in its priority class and within the deadline, like an unhedged call. The backup attempt is only sent if
+     * a permit is free right away, so hedging never adds to the queue.
+     */
+    private String awaitHedgedApiCall(String model, HttpRequest.BodyPublisher requestBody, RequestDeadline deadline)
+            throws IOException, InterruptedException {
+        AtomicReference<GenAIConcurrencyLimiter.Permit> queuedPermit = new AtomicReference<>(acquirePermit(deadline));
+        CompletableFuture<String> call = genAIRequestHedger.execute(
+                () -> makeApiCallAsync(model, requestBody, deadline, queuedPermit.getAndSet(null)));
+        try {
+            return deadline.isBounded()
+                    ? call.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS)
+                    : call.get();
+        } catch (TimeoutException e) {
+            call.cancel(true);
+            throw requestDeadlines.exceeded(RequestDeadlines.STAGE_GENAI_CALL);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
     }
 
-    private void sendRequest(HttpURLConnection connection, JSONObject requestBody) throws IOException {
-        try (OutputStream os = connection.getOutputStream()) {
-            byte[] input = requestBody.toString().getBytes(StandardCharsets.UTF_8);
-            os.write(input, 0, input.length);
+    /**
+     * Whether upstream answered 429; a local rejection is not held against the key
+     */
+    private static boolean isRateLimited(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof GenAIRejectedException) {
+                return false;
+            }
+            if (cause instanceof GenAIRateLimitException) {
+                return true;
+            }
         }
+        return false;
     }
 
-    private String handleResponse(HttpURLConnection connection) throws IOException {
-        int responseCode = connection.getResponseCode();
+    private static boolean isTimeout(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        if (responseCode == HttpURLConnection.HTTP_OK) {
-            String responseBody = readInputStream(connection.getInputStream());
+    private String handleResponse(HttpResponse<InputStream> response) throws IOException {
+        try (InputStream responseBody = response.body()) {
+            if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+                throw apiError(response.statusCode(), new String(responseBody.readAllBytes(), StandardCharsets.UTF_8));
+            }
             String result = extractTextFromResponse(responseBody);
+            // Drain whatever follows the text part so the connection can be reused
+            responseBody.transferTo(OutputStream.nullOutputStream());
             log.debug("Successfully generated content");
             return result;
-        } else {
-            String errorResponse = readInputStream(connection.getErrorStream());
-            log.error("GenAI API error ({}): {}", responseCode, errorResponse);
-            throw new RuntimeException("GenAI API error: " + responseCode + " - " + errorResponse);
         }
     }
 
-    private String readInputStream(java.io.InputStream inputStream) throws IOException {
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            StringBuilder response = new StringBuilder();
-            String responseLine;
-            while ((responseLine = br.readLine()) != null) {
-                response.append(responseLine.trim());
-            }
-            return response.toString();
+    private String handleResponse(int responseCode, String responseBody) {
+        if (responseCode != HttpURLConnection.HTTP_OK) {
+            throw apiError(responseCode, responseBody);
+        }
+        String result = extractTextFromResponse(responseBody);
+        log.debug("Successfully generated content");
+        return result;
+    }
+
+    private RuntimeException apiError(int responseCode, String responseBody) {
+        if (responseCode == HTTP_TOO_MANY_REQUESTS) {
+            log.warn("GenAI API rate limited ({}): {}", responseCode, responseBody);
+            return new GenAIRateLimitException("GenAI API error: " + responseCode + " - " + responseBody);
         }
+        log.error("GenAI API error ({}): {}", responseCode, responseBody);
+        return new RuntimeException("GenAI API error: " + responseCode + " - " + responseBody);
     }
-}
\ No newline at end of file
+}
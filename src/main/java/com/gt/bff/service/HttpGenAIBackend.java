@@ -0,0 +1,122 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import com.gt.bff.exception.GenAIException;
+import com.gt.bff.exception.GenAIRateLimitException;
+import com.gt.bff.model.schema.GenAIResponseSchemaGenerator;
+import com.gt.bff.util.GenAIResponseParser;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * GenAI backend for an additional endpoint speaking the Gemini {@code generateContent} API, e.g. another
+ * region, a gateway or a self-hosted model. Calls go through the shared transport and use the Google
+ * generation config, but none of the cache, limiter or circuit breaker of {@link GoogleGenAIService};
+ * health is tracked by {@link FailoverGenAIService}.
+ */
+final class HttpGenAIBackend implements GenAIBackend {
+
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    private final String name;
+    private final String baseUrl;
+    private final String model;
+    private final String apiKey;
+    private final ApplicationProperties applicationProperties;
+    private final GenAITransport genAITransport;
+    private final Map<Class<?>, GenAIRequestBodyTemplate> structuredRequestBodyTemplates = new ConcurrentHashMap<>();
+    private volatile GenAIRequestBodyTemplate requestBodyTemplate;
+
+    HttpGenAIBackend(ApplicationProperties.GenAI.Endpoint endpoint, ApplicationProperties applicationProperties,
+                     GenAITransport genAITransport) {
+        String baseUrl = endpoint.getBaseUrl();
+        this.name = endpoint.getName() != null && !endpoint.getName().isBlank() ? endpoint.getName() : URI.create(baseUrl).getHost();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        this.model = endpoint.getModel() != null && !endpoint.getModel().isBlank()
+                ? endpoint.getModel()
+                : applicationProperties.getGenai().getGoogle().getDefaultModel();
+        this.apiKey = endpoint.getApiKey();
+        this.applicationProperties = applicationProperties;
+        this.genAITransport = genAITransport;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean supports(GenAIOperation operation) {
+        return true;
+    }
+
+    @Override
+    public String generate(GenAIOperation operation, String prompt, Class<?> responseType, RequestDeadline deadline) {
+        GenAIRequestBodyTemplate template = responseType != null
+                ? structuredRequestBodyTemplate(responseType)
+                : requestBodyTemplate();
+        Duration readTimeout = Duration.ofMillis(applicationProperties.getGenai().getGoogle().getReadTimeout());
+        try {
+            HttpResponse<String> response = genAITransport.send(
+                    URI.create(buildApiUrl()),
+                    template.publisherFor(prompt),
+                    deadline.cap(readTimeout),
+                    HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            if (response.statusCode() == HTTP_TOO_MANY_REQUESTS) {
+                throw new GenAIRateLimitException("GenAI backend " + name + " rate limited: " + response.body());
+            }
+            if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+                throw new GenAIException("GenAI backend " + name + " error: " + response.statusCode() + " - " + response.body());
+            }
+            String text = GenAIResponseParser.extractText(response.body());
+            if (text == null) {
+                throw new GenAIException("GenAI backend " + name + " generated no content");
+            }
+            return text;
+        } catch (IOException e) {
+            throw new GenAIException("GenAI backend " + name + " call failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GenAIException("Interrupted while calling GenAI backend " + name, e);
+        }
+    }
+
+    private String buildApiUrl() {
+        String url = baseUrl + model + ":generateContent";
+        return apiKey != null && !apiKey.isBlank() ? url + "?key=" + apiKey : url;
+    }
+
+    private GenAIRequestBodyTemplate requestBodyTemplate() {
+        GenAIRequestBodyTemplate template = requestBodyTemplate;
+        if (template == null) {
+            template = new GenAIRequestBodyTemplate(buildGenerationConfig().toString());
+            requestBodyTemplate = template;
+        }
+        return template;
+    }
+
+    private GenAIRequestBodyTemplate structuredRequestBodyTemplate(Class<?> responseType) {
+        return structuredRequestBodyTemplates.computeIfAbsent(responseType, type -> new GenAIRequestBodyTemplate(
+                buildGenerationConfig()
+                        .put("responseMimeType", "application/json")
+                        .put("responseSchema", new JSONObject(GenAIResponseSchemaGenerator.schemaFor(type)))
+                        .toString()));
+    }
+
+    private JSONObject buildGenerationConfig() {
+        ApplicationProperties.GenAI.Google google = applicationProperties.getGenai().getGoogle();
+        JSONObject generationConfig = new JSONObject();
+        generationConfig.put("temperature", google.getTemperature());
+        generationConfig.put("topP", google.getTopP());
+        generationConfig.put("topK", google.getTopK());
+        return generationConfig;
+    }
+}
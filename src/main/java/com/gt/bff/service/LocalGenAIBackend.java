@@ -0,0 +1,63 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import com.gt.bff.exception.GenAIException;
+import com.gt.bff.util.TravelJsonExtractor;
+import org.json.JSONObject;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Last-resort GenAI backend that answers search filter extraction with the regex based
+ * {@link TravelJsonExtractor}, without any network call. The search input is found in the prompt with
+ * {@code local-input-pattern}, whose first group must capture it. Needs no API key, so the failover chain
+ * can be exercised offline.
+ */
+@Component
+public class LocalGenAIBackend implements GenAIBackend {
+
+    static final String NAME = "local";
+
+    private final TravelJsonExtractor travelJsonExtractor;
+    private final Pattern inputPattern;
+
+    public LocalGenAIBackend(ApplicationProperties applicationProperties, TravelJsonExtractor travelJsonExtractor) {
+        this.travelJsonExtractor = travelJsonExtractor;
+        this.inputPattern = Pattern.compile(applicationProperties.getGenai().getFailover().getLocalInputPattern());
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean supports(GenAIOperation operation) {
+        return operation == GenAIOperation.SEARCH_FILTERS;
+    }
+
+    @Override
+    public String generate(GenAIOperation operation, String prompt, Class<?> responseType, RequestDeadline deadline) {
+        if (!supports(operation)) {
+            throw new GenAIException("The local extractor cannot answer " + operation.getKey());
+        }
+        Matcher matcher = inputPattern.matcher(prompt);
+        if (!matcher.find()) {
+            throw new GenAIException("No search input found in the prompt for the local extractor");
+        }
+        return new JSONObject(extractFilters(matcher.group(1))).toString();
+    }
+
+    /**
+     * Extracts search filters from a raw search input
+     *
+     * @param searchInput The user's search input
+     * @return Filter values keyed by filter name
+     */
+    public Map<String, Object> extractFilters(String searchInput) {
+        return travelJsonExtractor.extract(searchInput).toFilters();
+    }
+}
@@ -0,0 +1,258 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import com.gt.bff.config.ThreadingMode;
+import com.gt.bff.exception.GenAIRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * GenAI transport backed by a single shared JDK {@link HttpClient}.
+ * The client negotiates HTTP/2 so concurrent requests are multiplexed over kept-alive connections,
+ * falling back to pooled persistent HTTP/1.1 connections. A per-host semaphore caps
+ * how many requests may be in flight against each upstream host. The client's executor runs on
+ * virtual threads when {@link ThreadingMode} is virtual.
+ * <p>
+ * The JDK sizes and expires its connection pool from JVM-wide system properties that it reads once, so they
+ * are startup flags rather than application settings: {@code -Djdk.httpclient.connectionPoolSize} (unbounded
+ * by default) and {@code -Djdk.httpclient.keepalive.timeout} in seconds.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PooledHttpTransport implements GenAITransport {
+
+    private static final String CONNECTION_POOL_SIZE_PROPERTY = "jdk.httpclient.connectionPoolSize";
+    private static final String KEEP_ALIVE_TIMEOUT_PROPERTY = "jdk.httpclient.keepalive.timeout";
+    private static final String CONTENT_TYPE = "application/json";
+
+    private final ApplicationProperties applicationProperties;
+    private final MeterRegistry meterRegistry;
+    private final ThreadingMode threadingMode;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private ExecutorService executor;
+    private HttpClient httpClient;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void init() {
+        ApplicationProperties.GenAI.Google google = applicationProperties.getGenai().getGoogle();
+        executor = threadingMode.newExecutor("genai-http");
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(google.getConnectTimeout()))
+                .executor(executor)
+                .build();
+
+        rejectedCounter = Counter.builder("genai.transport.rejected")
+                .description("GenAI requests rejected because the per-host concurrency limit was reached")
+                .register(meterRegistry);
+        Gauge.builder("genai.transport.requests.active", activeRequests, AtomicInteger::get)
+                .description("GenAI requests currently in flight on the shared transport")
+                .register(meterRegistry);
+
+        log.info("GenAI HTTP transport initialized (maxConcurrentPerHost={}, {}={}, {}={})",
+                google.getMaxConcurrentRequestsPerHost(),
+                CONNECTION_POOL_SIZE_PROPERTY, System.getProperty(CONNECTION_POOL_SIZE_PROPERTY, "default"),
+                KEEP_ALIVE_TIMEOUT_PROPERTY, System.getProperty(KEEP_ALIVE_TIMEOUT_PROPERTY, "default"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(URI uri, HttpRequest.BodyPublisher body, Duration timeout,
+                                    HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException {
+        Semaphore permits = acquirePermit(uri.getHost());
+        activeRequests.incrementAndGet();
+        Runnable release = releaseOnce(permits);
+        try {
+            HttpResponse<T> response = httpClient.send(buildRequest(uri, body, timeout), releasingOnClose(bodyHandler, release));
+            // A streamed body is still being read from the connection; its close releases the permit
+            if (!(response.body() instanceof InputStream)) {
+                release.run();
+            }
+            return response;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            release.run();
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(URI uri, HttpRequest.BodyPublisher body, Duration timeout,
+                                                            HttpResponse.BodyHandler<T> bodyHandler) {
+        String host = uri.getHost();
+        Semaphore permits = hostPermits.computeIfAbsent(host, this::createHostPermits);
+        HttpRequest request = buildRequest(uri, body, timeout);
+        CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        // tryAcquire() ignores fairness, so only take the fast path when nobody is queued ahead
+        if (!permits.hasQueuedThreads() && permits.tryAcquire()) {
+            exchange(permits, request, bodyHandler, result);
+            return result;
+        }
+
+        // Queue for a slot as long as send() would, but on a transport thread instead of the caller's
+        Future<?> waiter;
+        try {
+            waiter = executor.submit(() -> {
+                try {
+                    awaitPermit(permits, host);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    result.completeExceptionally(e);
+                    return;
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                    return;
+                }
+                exchange(permits, request, bodyHandler, result);
+            });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                waiter.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Starts the exchange once a permit is held and completes {@code result} with its outcome
+     */
+    private <T> void exchange(Semaphore permits, HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler,
+                              CompletableFuture<HttpResponse<T>> result) {
+        activeRequests.incrementAndGet();
+        Runnable release = releaseOnce(permits);
+        // The caller may have cancelled while the request was waiting for its slot
+        if (result.isDone()) {
+            release.run();
+            return;
+        }
+        CompletableFuture<HttpResponse<T>> exchange;
+        try {
+            exchange = httpClient.sendAsync(request, bodyHandler);
+        } catch (RuntimeException e) {
+            release.run();
+            result.completeExceptionally(e);
+            return;
+        }
+        // Released from the exchange itself: a dependent stage would be skipped if the caller cancelled it
+        exchange.whenComplete((response, error) -> {
+            release.run();
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(response);
+            }
+        });
+        // Cancelling the returned future aborts the underlying exchange, which then releases the permit
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+    }
+
+    private Runnable releaseOnce(Semaphore permits) {
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                activeRequests.decrementAndGet();
+                permits.release();
+            }
+        };
+    }
+
+    /**
+     * Wraps streamed response bodies so the request keeps its permit until the caller closes the stream
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> HttpResponse.BodyHandler<T> releasingOnClose(HttpResponse.BodyHandler<T> bodyHandler, Runnable release) {
+        return responseInfo -> HttpResponse.BodySubscribers.mapping(bodyHandler.apply(responseInfo),
+                body -> body instanceof InputStream stream ? (T) new ReleasingInputStream(stream, release) : body);
+    }
+
+    private HttpRequest buildRequest(URI uri, HttpRequest.BodyPublisher body, Duration timeout) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Content-Type", CONTENT_TYPE)
+                .POST(body)
+                .build();
+    }
+
+    private Semaphore acquirePermit(String host) throws InterruptedException {
+        Semaphore permits = hostPermits.computeIfAbsent(host, this::createHostPermits);
+        awaitPermit(permits, host);
+        return permits;
+    }
+
+    private void awaitPermit(Semaphore permits, String host) throws InterruptedException {
+        int acquireTimeout = applicationProperties.getGenai().getGoogle().getConnectionAcquireTimeout();
+        if (!permits.tryAcquire(acquireTimeout, TimeUnit.MILLISECONDS)) {
+            rejectedCounter.increment();
+            throw new GenAIRejectedException("Too many concurrent GenAI requests to host " + host);
+        }
+    }
+
+    private Semaphore createHostPermits(String host) {
+        int limit = applicationProperties.getGenai().getGoogle().getMaxConcurrentRequestsPerHost();
+        Semaphore permits = new Semaphore(limit, true);
+        Gauge.builder("genai.transport.host.utilization", permits, p -> (double) (limit - p.availablePermits()) / limit)
+                .description("Fraction of the per-host GenAI concurrency limit currently in use")
+                .tag("host", String.valueOf(host))
+                .register(meterRegistry);
+        return permits;
+    }
+
+    private static final class ReleasingInputStream extends FilterInputStream {
+
+        private final Runnable release;
+
+        ReleasingInputStream(InputStream in, Runnable release) {
+            super(in);
+            this.release = release;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                release.run();
+            }
+        }
+    }
+}
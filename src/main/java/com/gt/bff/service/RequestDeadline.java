@@ -0,0 +1,76 @@
+package com.gt.bff.service;
+
+import java.time.Duration;
+
+/**
+ * Point in time by which a request must be answered.
+ * Created at the HTTP edge and passed down to every stage that may block, so each stage waits at most
+ * for what is left of the request's budget instead of its own fixed timeout.
+ */
+public final class RequestDeadline {
+
+    private static final RequestDeadline NONE = new RequestDeadline(Long.MAX_VALUE);
+
+    private final long expiresAtNanos;
+
+    private RequestDeadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * @param budget Time the request may take from now
+     * @return Deadline that expires once the budget is spent
+     */
+    public static RequestDeadline after(Duration budget) {
+        return new RequestDeadline(System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * @return Deadline that never expires, leaving each stage to its configured timeout
+     */
+    public static RequestDeadline none() {
+        return NONE;
+    }
+
+    public boolean isBounded() {
+        return this != NONE;
+    }
+
+    public boolean isExpired() {
+        return isBounded() && remainingNanos() <= 0;
+    }
+
+    /**
+     * @return Time left before the deadline, never negative
+     */
+    public Duration remaining() {
+        return isBounded() ? Duration.ofNanos(Math.max(0, remainingNanos())) : Duration.ofNanos(Long.MAX_VALUE);
+    }
+
+    /**
+     * Shortens a stage timeout to what is left of the budget
+     *
+     * @param timeout The stage's configured timeout
+     * @return The smaller of the timeout and the remaining budget
+     */
+    public Duration cap(Duration timeout) {
+        Duration remaining = remaining();
+        return remaining.compareTo(timeout) < 0 ? remaining : timeout;
+    }
+
+    /**
+     * @return Whether the remaining budget, rather than the given timeout, bounds the stage
+     */
+    public boolean isShorterThan(Duration timeout) {
+        return remaining().compareTo(timeout) < 0;
+    }
+
+    private long remainingNanos() {
+        return expiresAtNanos - System.nanoTime();
+    }
+
+    @Override
+    public String toString() {
+        return isBounded() ? "RequestDeadline[remaining=" + remaining().toMillis() + "ms]" : "RequestDeadline[none]";
+    }
+}
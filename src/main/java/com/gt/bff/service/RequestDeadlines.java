@@ -0,0 +1,85 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import com.gt.bff.exception.RequestDeadlineExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Creates request deadlines at the HTTP edge and counts the requests that run out of budget.
+ * The budget comes from the {@value #REQUEST_TIMEOUT_HEADER} header when the client sends one,
+ * otherwise from the endpoint's default, and is never longer than {@code deadline.max-timeout}.
+ */
+@Slf4j
+@Component
+public class RequestDeadlines {
+
+    public static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout";
+
+    public static final String STAGE_SEARCH_FILTERS = "search-filters";
+    public static final String STAGE_GENAI_QUEUE = "genai-queue";
+    public static final String STAGE_GENAI_CALL = "genai-call";
+
+    private final ApplicationProperties applicationProperties;
+    private final MeterRegistry meterRegistry;
+
+    public RequestDeadlines(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.applicationProperties = applicationProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Starts the deadline for a request
+     *
+     * @param endpoint The endpoint key used to look up its default budget
+     * @param requestedTimeout Budget in ms asked for by the client, or null
+     * @return The request's deadline, or {@link RequestDeadline#none()} when deadlines are disabled
+     */
+    public RequestDeadline start(String endpoint, Long requestedTimeout) {
+        ApplicationProperties.Deadline config = applicationProperties.getDeadline();
+        if (!config.isEnabled()) {
+            return RequestDeadline.none();
+        }
+
+        long budget = requestedTimeout != null && requestedTimeout > 0
+                ? requestedTimeout
+                : config.getEndpoints().getOrDefault(endpoint, config.getDefaultTimeout());
+        if (config.getMaxTimeout() > 0) {
+            budget = Math.min(budget, config.getMaxTimeout());
+        }
+        log.debug("Request deadline for {}: {}ms", endpoint, budget);
+        return RequestDeadline.after(Duration.ofMillis(budget));
+    }
+
+    /**
+     * Fails fast when a stage is reached after the deadline has passed
+     *
+     * @param deadline The request's deadline
+     * @param stage The stage about to start
+     * @throws RequestDeadlineExceededException if the deadline has passed
+     */
+    public void check(RequestDeadline deadline, String stage) {
+        if (deadline.isExpired()) {
+            throw exceeded(stage);
+        }
+    }
+
+    /**
+     * Counts a request that ran out of budget in a stage
+     *
+     * @param stage The stage that was cut short
+     * @return The exception to throw
+     */
+    public RequestDeadlineExceededException exceeded(String stage) {
+        Counter.builder("request.deadline.exceeded")
+                .description("Requests whose deadline passed, by the stage that was cut short")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .increment();
+        return new RequestDeadlineExceededException("Request deadline exceeded during " + stage);
+    }
+}
@@ -0,0 +1,219 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import com.gt.bff.config.ThreadingMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONObject;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects concurrent search filter extractions into a single GenAI call.
+ * Inputs sharing a prompt template are held for up to {@code search-batching.max-wait} ms or until
+ * {@code search-batching.max-size} are pending, then sent as one prompt asking for a JSON array with one
+ * result per input. The array is split back into per-input JSON so each caller validates its own result,
+ * and the shared extraction instructions are sent once per batch instead of once per input.
+ * Each input keeps the {@link GenAIPriority} of the caller that submitted it, and a batch queues for upstream
+ * capacity in the most urgent class among its inputs, so live searches are never demoted behind background work.
+ */
+@Slf4j
+@Component
+public class SearchFilterBatcher {
+
+    private static final String SEARCH_INPUT_PLACEHOLDER = "{searchInput}";
+    private static final String BATCH_INPUT_REFERENCE = "(see the numbered inputs below)";
+
+    private final ApplicationProperties applicationProperties;
+    private final GenAIService genAIService;
+    private final AIResponseValidator aiResponseValidator;
+    private final ThreadingMode threadingMode;
+    private final Map<String, List<PendingExtraction>> pending = new HashMap<>();
+    private final DistributionSummary batchSizeSummary;
+    private final Counter batchFailureCounter;
+    private ScheduledExecutorService scheduler;
+    private ExecutorService sendExecutor;
+
+    public SearchFilterBatcher(ApplicationProperties applicationProperties,
+                               GenAIService genAIService,
+                               AIResponseValidator aiResponseValidator,
+                               ThreadingMode threadingMode,
+                               MeterRegistry meterRegistry) {
+        this.applicationProperties = applicationProperties;
+        this.genAIService = genAIService;
+        this.aiResponseValidator = aiResponseValidator;
+        this.threadingMode = threadingMode;
+        this.batchSizeSummary = DistributionSummary.builder("genai.search.batch.size")
+                .description("Number of search inputs sent in one GenAI call")
+                .register(meterRegistry);
+        this.batchFailureCounter = Counter.builder("genai.search.batch.failures")
+                .description("Batched GenAI search extractions whose response could not be split")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-filter-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sendExecutor = threadingMode.newExecutor("search-filter-batch-send");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (sendExecutor != null) {
+            sendExecutor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return applicationProperties.getGenai().getGoogle().getSearchBatching().isEnabled();
+    }
+
+    /**
+     * Queues a search input for the next batch
+     *
+     * @param searchInput the user's search input
+     * @param promptTemplate the extraction prompt template containing {@code {searchInput}}
+     * @return future completed with the raw JSON result for this input
+     */
+    public CompletableFuture<String> submit(String searchInput, String promptTemplate) {
+        ApplicationProperties.GenAI.Google google = applicationProperties.getGenai().getGoogle();
+        PendingExtraction extraction = new PendingExtraction(searchInput, GenAIPriority.current(), new CompletableFuture<>());
+        List<PendingExtraction> full = null;
+
+        synchronized (pending) {
+            List<PendingExtraction> batch = pending.computeIfAbsent(promptTemplate, template -> new ArrayList<>());
+            batch.add(extraction);
+            if (batch.size() >= google.getSearchBatching().getMaxSize()) {
+                full = pending.remove(promptTemplate);
+            } else if (batch.size() == 1) {
+                scheduler.schedule(() -> flush(promptTemplate, batch), google.getSearchBatching().getMaxWait(), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (full != null) {
+            send(promptTemplate, full);
+        }
+        return extraction.result();
+    }
+
+    private void flush(String promptTemplate, List<PendingExtraction> batch) {
+        synchronized (pending) {
+            // The batch may already have been sent because it filled up
+            if (pending.get(promptTemplate) != batch) {
+                return;
+            }
+            pending.remove(promptTemplate);
+        }
+        send(promptTemplate, batch);
+    }
+
+    private void send(String promptTemplate, List<PendingExtraction> batch) {
+        batchSizeSummary.record(batch.size());
+        if (batch.size() == 1) {
+            PendingExtraction single = batch.get(0);
+            generate(promptTemplate.replace(SEARCH_INPUT_PLACEHOLDER, single.searchInput()), single.priority())
+                    .whenComplete((response, error) -> complete(single, response, error));
+            return;
+        }
+
+        log.debug("Sending batched search filter extraction for {} inputs", batch.size());
+        generate(buildBatchPrompt(promptTemplate, batch), highestPriority(batch))
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        batch.forEach(extraction -> extraction.result().completeExceptionally(error));
+                        return;
+                    }
+                    split(response, batch);
+                });
+    }
+
+    /**
+     * Sends the prompt from a worker thread, where it can wait for a limiter permit in the given class
+     */
+    private CompletableFuture<String> generate(String prompt, GenAIPriority priority) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        sendExecutor.execute(() -> {
+            try {
+                result.complete(GenAIPriority.callAs(priority, () -> genAIService.generateContent(prompt)));
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * The most urgent class among the batch's callers; classes are declared from most to least urgent
+     */
+    static GenAIPriority highestPriority(List<PendingExtraction> batch) {
+        GenAIPriority highest = GenAIPriority.BATCH;
+        for (PendingExtraction extraction : batch) {
+            if (extraction.priority().compareTo(highest) < 0) {
+                highest = extraction.priority();
+            }
+        }
+        return highest;
+    }
+
+    private void split(String response, List<PendingExtraction> batch) {
+        AIResponseValidator.ValidationResult<List<String>> items = aiResponseValidator.validateJsonArray(response, batch.size());
+        if (!items.isValid()) {
+            batchFailureCounter.increment();
+            log.error("Failed to split batched GenAI response: {}", items.getErrorMessage());
+            IllegalStateException failure = new IllegalStateException("Invalid batched GenAI response: " + items.getErrorMessage());
+            batch.forEach(extraction -> extraction.result().completeExceptionally(failure));
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result().complete(items.getData().get(i));
+        }
+    }
+
+    private static void complete(PendingExtraction extraction, String response, Throwable error) {
+        if (error != null) {
+            extraction.result().completeExceptionally(error);
+        } else {
+            extraction.result().complete(response);
+        }
+    }
+
+    /**
+     * Reuses the single-input template, pointing its input at a numbered list and asking for an array
+     */
+    static String buildBatchPrompt(String promptTemplate, List<PendingExtraction> batch) {
+        StringBuilder prompt = new StringBuilder(promptTemplate.length() + batch.size() * 64)
+                .append(promptTemplate.replace(SEARCH_INPUT_PLACEHOLDER, BATCH_INPUT_REFERENCE))
+                .append("\n\nBatch Instructions\n")
+                .append("Apply the rules above to each numbered input independently.\n")
+                .append("Return only a JSON array containing exactly ").append(batch.size())
+                .append(" objects in the Output Format above, in the same order as the inputs.\n")
+                .append("Inputs:\n");
+        for (int i = 0; i < batch.size(); i++) {
+            prompt.append(i + 1).append(". ").append(JSONObject.quote(batch.get(i).searchInput())).append('\n');
+        }
+        return prompt.toString();
+    }
+
+    record PendingExtraction(String searchInput, GenAIPriority priority, CompletableFuture<String> result) {
+    }
+}
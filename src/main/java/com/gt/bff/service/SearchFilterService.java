@@ -1,11 +1,36 @@
 package com.gt.bff.service;
 
+import com.gt.bff.config.ApplicationProperties;
+import com.gt.bff.config.ThreadingMode;
+import com.gt.bff.exception.GenAICircuitOpenException;
+import com.gt.bff.exception.RequestDeadlineExceededException;
 import com.gt.bff.model.schema.AIResponseSchema;
+import com.gt.bff.util.PartialJsonObjectDecoder;
+import com.gt.bff.util.TravelExtraction;
+import com.gt.bff.util.TravelJsonExtractor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Service for enhancing search filters using AI with schema validation.
@@ -16,29 +41,273 @@ import java.util.Map;
 public class SearchFilterService {
 
     private static final String SEARCH_INPUT_PLACEHOLDER = "{searchInput}";
+    private static final String SOURCE_AI = "ai";
+    private static final String SOURCE_LOCAL = "local";
+    private static final String CONFIDENCE_HIGH = "high";
+    private static final String CONFIDENCE_LOW = "low";
 
     private final GenAIService genAIService;
     private final AIResponseValidator aiResponseValidator;
+    private final SearchFilterBatcher searchFilterBatcher;
+    private final ApplicationProperties applicationProperties;
+    private final RequestDeadlines requestDeadlines;
+    private final MeterRegistry meterRegistry;
+    private final TravelJsonExtractor travelJsonExtractor;
+    private final ThreadingMode threadingMode;
+    private ExecutorService speculativeExecutor;
+
+    @PostConstruct
+    public void init() {
+        speculativeExecutor = threadingMode.newExecutor("search-filter-speculative");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (speculativeExecutor != null) {
+            speculativeExecutor.shutdownNow();
+        }
+    }
 
     /**
-     * Enhances search filters using AI-generated content with schema validation.
+     * Enhances search filters using AI-generated content with schema validation, without a request deadline.
      *
      * @param searchInput the user's search input
      * @param promptTemplate the prompt template to use
      * @param filters the filters map to enhance
      */
     public void enhanceFiltersWithAI(String searchInput, String promptTemplate, Map<String, Object> filters) {
+        enhanceFiltersWithAI(searchInput, promptTemplate, filters, RequestDeadline.none());
+    }
+
+    /**
+     * Enhances search filters using AI-generated content with schema validation.
+     * With structured output the model is asked for JSON matching {@link AIResponseSchema.TravelSearchFilters},
+     * which is parsed directly. When batching is enabled the input is sent together with other concurrent searches.
+     * While the GenAI circuit breaker is open, or once the request deadline has passed, the filters are
+     * extracted locally instead. Inputs the local extractor fully understands can skip GenAI altogether.
+     *
+     * @param searchInput the user's search input
+     * @param promptTemplate the prompt template to use
+     * @param filters the filters map to enhance
+     * @param deadline the deadline of the request the filters are for
+     */
+    public void enhanceFiltersWithAI(String searchInput, String promptTemplate, Map<String, Object> filters,
+                                     RequestDeadline deadline) {
+        ApplicationProperties.GenAI.Google google = applicationProperties.getGenai().getGoogle();
+        if (google.getLocalBypass().isEnabled() && tryLocalBypass(searchInput, filters)) {
+            return;
+        }
+        if (google.getSpeculative().isEnabled()) {
+            raceLocalExtraction(searchInput, promptTemplate, filters, deadline);
+            return;
+        }
         try {
+            mergeAIExtraction(searchInput, promptTemplate, filters, deadline);
+        } catch (Exception e) {
+            if (hasCause(e, GenAICircuitOpenException.class) || hasCause(e, RequestDeadlineExceededException.class)) {
+                log.warn("GenAI unavailable ({}), extracting search filters locally", e.getMessage());
+                mergeLocalExtraction(searchInput, filters);
+                return;
+            }
+            log.error("Error calling GenAI service, using fallback values: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Streams search filters as the model generates them. The output is decoded incrementally and each
+     * {@link AIResponseSchema.TravelSearchFilters} field is published, validated, as soon as its value is
+     * closed, so a form can be filled in before the whole JSON object is complete. If the stream fails or
+     * ends without a complete object, the fields not yet published are taken from the local extractor,
+     * so subscribers always see the stream complete normally. This includes a stream cut short by the deadline.
+     *
+     * @param searchInput the user's search input
+     * @param promptTemplate the prompt template to use
+     * @param deadline the request's deadline
+     * @return publisher of filter fields in the order they are decoded
+     */
+    public Flow.Publisher<FilterField> streamFilters(String searchInput, String promptTemplate, RequestDeadline deadline) {
+        return subscriber -> {
+            SubmissionPublisher<FilterField> publisher = new SubmissionPublisher<>();
+            publisher.subscribe(subscriber);
             String prompt = promptTemplate.replace(SEARCH_INPUT_PLACEHOLDER, searchInput);
-            String aiResponse = genAIService.generateContent(prompt);
-            log.debug("GenAI response for search filters: {}", aiResponse);
-            
-            if (aiResponse != null) {
-                validateAndMergeAIResponse(aiResponse, filters);
+            genAIService.streamContent(GenAIOperation.SEARCH_FILTERS, prompt, deadline)
+                .subscribe(new FilterFieldDecoder(searchInput, publisher));
+        };
+    }
+
+    /**
+     * Extracts filters with GenAI and merges them into filters
+     *
+     * @return whether a valid AI result was merged
+     */
+    private boolean mergeAIExtraction(String searchInput, String promptTemplate, Map<String, Object> filters,
+                                      RequestDeadline deadline) throws Exception {
+        requestDeadlines.check(deadline, RequestDeadlines.STAGE_SEARCH_FILTERS);
+        if (searchFilterBatcher.isEnabled()) {
+            return mergeAIResponse(awaitBatchedExtraction(searchInput, promptTemplate, deadline), filters);
+        }
+
+        String prompt = promptTemplate.replace(SEARCH_INPUT_PLACEHOLDER, searchInput);
+        if (applicationProperties.getGenai().getGoogle().isStructuredOutputEnabled()) {
+            String aiResponse = genAIService.generateStructuredContent(
+                GenAIOperation.SEARCH_FILTERS, prompt, AIResponseSchema.TravelSearchFilters.class, deadline);
+            log.debug("Structured GenAI response for search filters: {}", aiResponse);
+            return aiResponse != null && mergeStructuredResponse(aiResponse, filters);
+        }
+        return mergeAIResponse(genAIService.generateContent(GenAIOperation.SEARCH_FILTERS, prompt, deadline), filters);
+    }
+
+    /**
+     * Runs the local extractor while the GenAI call is in flight and uses the AI result only if it is
+     * valid and arrives within {@code speculative.latency-budget}. Otherwise the local result is returned,
+     * so the latency of the search endpoints no longer depends on the model. Unless
+     * {@code speculative.complete-in-background} is off, a late AI call is left to finish, which puts its
+     * response in the GenAI response cache for the next identical search. Such a call may outlive the request
+     * and never blocks it, so it queues for upstream capacity as {@link GenAIPriority#BACKGROUND} work.
+     */
+    private void raceLocalExtraction(String searchInput, String promptTemplate, Map<String, Object> filters,
+                                     RequestDeadline deadline) {
+        ApplicationProperties.GenAI.Google google = applicationProperties.getGenai().getGoogle();
+        Map<String, Object> aiFilters = new HashMap<>(filters);
+        GenAIPriority priority = google.getSpeculative().isCompleteInBackground()
+            ? GenAIPriority.BACKGROUND
+            : GenAIPriority.current();
+        Future<Boolean> aiExtraction = speculativeExecutor.submit(GenAIPriority.bind(priority,
+            () -> mergeAIExtraction(searchInput, promptTemplate, aiFilters, deadline)));
+
+        Map<String, Object> localFilters = new HashMap<>(filters);
+        mergeLocalExtraction(searchInput, localFilters);
+
+        Duration budget = deadline.cap(Duration.ofMillis(google.getSpeculative().getLatencyBudget()));
+        try {
+            if (aiExtraction.get(budget.toNanos(), TimeUnit.NANOSECONDS)) {
+                useExtraction(aiFilters, filters, SOURCE_AI, CONFIDENCE_HIGH);
+                return;
             }
+            log.debug("GenAI returned no usable search filters, using local extraction");
+        } catch (TimeoutException e) {
+            log.debug("GenAI search filter extraction missed its {}ms budget, using local extraction", budget.toMillis());
+            if (!google.getSpeculative().isCompleteInBackground()) {
+                aiExtraction.cancel(true);
+            }
+        } catch (ExecutionException e) {
+            log.warn("GenAI search filter extraction failed ({}), using local extraction", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            aiExtraction.cancel(true);
+        }
+        useExtraction(localFilters, filters, SOURCE_LOCAL, CONFIDENCE_LOW);
+    }
+
+    private void useExtraction(Map<String, Object> extracted, Map<String, Object> filters, String source, String confidence) {
+        filters.putAll(extracted);
+        filters.put("source", source);
+        filters.put("confidence", confidence);
+        Counter.builder("search.filters.speculative")
+            .description("Speculative search filter extractions by the result that was returned")
+            .tag("source", source)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private boolean mergeAIResponse(String aiResponse, Map<String, Object> filters) {
+        log.debug("GenAI response for search filters: {}", aiResponse);
+        return aiResponse != null && validateAndMergeAIResponse(aiResponse, filters);
+    }
+
+    /**
+     * Fast path for structured output: the response is already the JSON object, so it goes straight
+     * to the typed parser. The lenient parsing path is kept only for responses that still fail.
+     */
+    private boolean mergeStructuredResponse(String aiResponse, Map<String, Object> filters) {
+        AIResponseValidator.ValidationResult<AIResponseSchema.TravelSearchFilters> result =
+            aiResponseValidator.validateStructuredTravelSearchFilters(aiResponse);
+        if (result.isValid()) {
+            mergeStructuredFilters(result.getData(), filters);
+            log.info("Successfully merged structured GenAI output into filters");
+            return true;
+        }
+        log.debug("Structured output rejected: {}, trying lenient parsing", result.getErrorMessage());
+        return validateAndMergeAIResponse(aiResponse, filters);
+    }
+
+    private String awaitBatchedExtraction(String searchInput, String promptTemplate, RequestDeadline deadline) throws Exception {
+        ApplicationProperties.GenAI.Google google = applicationProperties.getGenai().getGoogle();
+        Duration configuredTimeout = Duration.ofMillis(google.getSearchBatching().getMaxWait() + google.getReadTimeout());
+        try {
+            // The batch is shared with other requests, so only this request's wait for it is cut short
+            return searchFilterBatcher.submit(searchInput, promptTemplate)
+                .get(deadline.cap(configuredTimeout).toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } catch (TimeoutException e) {
+            if (deadline.isExpired()) {
+                throw requestDeadlines.exceeded(RequestDeadlines.STAGE_SEARCH_FILTERS);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Uses the local extraction instead of GenAI when every field was extracted with at least
+     * {@code local-bypass.confidence-threshold} confidence, e.g. "2 people one-way from Boston to Denver next month".
+     *
+     * @param searchInput the user's search input
+     * @param filters the filters map to update
+     * @return whether the local extraction was used and GenAI can be skipped
+     */
+    private boolean tryLocalBypass(String searchInput, Map<String, Object> filters) {
+        TravelExtraction extraction;
+        try {
+            extraction = travelJsonExtractor.extract(searchInput);
         } catch (Exception e) {
-            log.error("Error calling GenAI service, using fallback values: {}", e.getMessage());
+            log.warn("Local search filter extraction failed, asking GenAI: {}", e.getMessage());
+            return false;
+        }
+
+        double confidence = extraction.confidence();
+        boolean bypass = confidence >= applicationProperties.getGenai().getGoogle().getLocalBypass().getConfidenceThreshold();
+        DistributionSummary.builder("search.filters.local.confidence")
+            .description("Lowest field confidence of local search filter extractions")
+            .register(meterRegistry)
+            .record(confidence);
+        Counter.builder("search.filters.ai.bypass")
+            .description("Search filter extractions by whether the GenAI call was skipped")
+            .tag("decision", bypass ? "bypassed" : "ai")
+            .register(meterRegistry)
+            .increment();
+        if (!bypass) {
+            return false;
         }
+
+        log.debug("Local extraction confidence {} is high enough, skipping GenAI", confidence);
+        mergeMapFilters(extraction.toFilters(), filters);
+        filters.put("source", SOURCE_LOCAL);
+        filters.put("confidence", CONFIDENCE_HIGH);
+        return true;
+    }
+
+    /**
+     * Extracts filters with the regex based {@link TravelJsonExtractor} and merges them into filters
+     *
+     * @param searchInput the user's search input
+     * @param filters the filters map to update
+     */
+    private void mergeLocalExtraction(String searchInput, Map<String, Object> filters) {
+        try {
+            mergeMapFilters(travelJsonExtractor.extract(searchInput).toFilters(), filters);
+        } catch (Exception e) {
+            log.error("Local search filter extraction failed, using fallback values: {}", e.getMessage());
+        }
+    }
+
+    private boolean hasCause(Throwable error, Class<? extends Throwable> type) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (type.isInstance(current)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -46,8 +315,9 @@ public class SearchFilterService {
      *
      * @param aiResponse the AI-generated response
      * @param filters the filters map to update
+     * @return whether the response was valid and merged
      */
-    private void validateAndMergeAIResponse(String aiResponse, Map<String, Object> filters) {
+    private boolean validateAndMergeAIResponse(String aiResponse, Map<String, Object> filters) {
         // Try structured validation first
         AIResponseValidator.ValidationResult<AIResponseSchema.TravelSearchFilters> structuredResult = 
             aiResponseValidator.validateTravelSearchFilters(aiResponse);
@@ -55,7 +325,7 @@ public class SearchFilterService {
         if (structuredResult.isValid()) {
             mergeStructuredFilters(structuredResult.getData(), filters);
             log.info("Successfully validated and merged structured GenAI response into filters");
-            return;
+            return true;
         }
         
         log.debug("Structured validation failed: {}, trying generic map parsing", structuredResult.getErrorMessage());
@@ -67,9 +337,10 @@ public class SearchFilterService {
         if (mapResult.isValid()) {
             mergeMapFilters(mapResult.getData(), filters);
             log.info("Successfully validated and merged generic GenAI response into filters");
-        } else {
-            log.error("Failed to validate GenAI response: {}, using fallback values", mapResult.getErrorMessage());
+            return true;
         }
+        log.error("Failed to validate GenAI response: {}, using fallback values", mapResult.getErrorMessage());
+        return false;
     }
     
     /**
@@ -128,4 +399,112 @@ public class SearchFilterService {
         String valueStr = value.toString();
         return valueStr.length() <= 200 && !valueStr.matches(".*[<>\"'&;].*");
     }
-}
\ No newline at end of file
+
+    /**
+     * A search filter decoded from a streamed response
+     *
+     * @param name the filter name, e.g. "fromDate"
+     * @param value the filter value in the same form as the filters map, e.g. an ISO date string
+     * @param source "ai" or "local"
+     */
+    public record FilterField(String name, Object value, String source) {
+    }
+
+    /**
+     * Decodes streamed text chunks into validated filter fields
+     */
+    private final class FilterFieldDecoder implements Flow.Subscriber<String> {
+
+        private final String searchInput;
+        private final SubmissionPublisher<FilterField> publisher;
+        private final Set<String> published = new HashSet<>();
+        private PartialJsonObjectDecoder decoder;
+        private Flow.Subscription subscription;
+
+        private FilterFieldDecoder(String searchInput, SubmissionPublisher<FilterField> publisher) {
+            this.searchInput = searchInput;
+            this.publisher = publisher;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            try {
+                decoder = new PartialJsonObjectDecoder();
+            } catch (IOException e) {
+                subscription.cancel();
+                finishLocally(e);
+                return;
+            }
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String chunk) {
+            if (publisher.isClosed()) {
+                return;
+            }
+            try {
+                for (PartialJsonObjectDecoder.Field field : decoder.feed(chunk)) {
+                    publishAIField(field);
+                }
+            } catch (IOException e) {
+                subscription.cancel();
+                finishLocally(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            finishLocally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (!decoder.isComplete()) {
+                finishLocally(new IOException("Stream ended before the JSON object was complete"));
+                return;
+            }
+            publisher.close();
+        }
+
+        private void publishAIField(PartialJsonObjectDecoder.Field field) {
+            if (field.value() == null || !isValidFilterKey(field.name())) {
+                return;
+            }
+            AIResponseValidator.ValidationResult<Object> result =
+                aiResponseValidator.validateTravelSearchFilterField(field.name(), field.value());
+            if (!result.isValid()) {
+                log.debug("Skipping streamed search filter {}: {}", field.name(), result.getErrorMessage());
+                return;
+            }
+            Object value = result.getData() instanceof LocalDate date ? date.toString() : result.getData();
+            if (isValidFilterValue(value)) {
+                publish(new FilterField(field.name(), value, SOURCE_AI));
+            }
+        }
+
+        /**
+         * Publishes the locally extracted value of every filter the model did not provide and completes the stream
+         */
+        private void finishLocally(Throwable cause) {
+            if (publisher.isClosed()) {
+                return;
+            }
+            log.warn("Streamed search filter extraction failed ({}), completing with local extraction", cause.getMessage());
+            Map<String, Object> localFilters = new HashMap<>();
+            mergeLocalExtraction(searchInput, localFilters);
+            localFilters.forEach((name, value) -> {
+                if (!published.contains(name)) {
+                    publish(new FilterField(name, value, SOURCE_LOCAL));
+                }
+            });
+            publisher.close();
+        }
+
+        private void publish(FilterField field) {
+            published.add(field.name());
+            publisher.submit(field);
+        }
+    }
+}
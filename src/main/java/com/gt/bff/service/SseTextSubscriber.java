@@ -0,0 +1,85 @@
+package com.gt.bff.service;
+
+import com.gt.bff.exception.GenAIException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Line subscriber for server-sent event responses from the GenAI streaming endpoint.
+ * Each {@code data:} event is reduced to its text part and republished as soon as it arrives;
+ * completion of the publisher is left to the owner of the HTTP exchange.
+ */
+@Slf4j
+class SseTextSubscriber implements Flow.Subscriber<String> {
+
+    private static final String DATA_PREFIX = "data:";
+
+    private final SubmissionPublisher<String> publisher;
+    private final Function<String, String> chunkTextExtractor;
+    private final Predicate<String> chunkValidator;
+    private final Runnable onFirstChunk;
+    private Flow.Subscription subscription;
+    private boolean firstChunkSeen;
+    private boolean failed;
+
+    SseTextSubscriber(SubmissionPublisher<String> publisher,
+                      Function<String, String> chunkTextExtractor,
+                      Predicate<String> chunkValidator,
+                      Runnable onFirstChunk) {
+        this.publisher = publisher;
+        this.chunkTextExtractor = chunkTextExtractor;
+        this.chunkValidator = chunkValidator;
+        this.onFirstChunk = onFirstChunk;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(String line) {
+        try {
+            if (!failed && !publisher.isClosed() && line.startsWith(DATA_PREFIX)) {
+                publishChunk(line.substring(DATA_PREFIX.length()).trim());
+            }
+        } finally {
+            subscription.request(1);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        log.debug("GenAI stream terminated with error: {}", throwable.getMessage());
+    }
+
+    @Override
+    public void onComplete() {
+        log.debug("GenAI stream body fully received");
+    }
+
+    private void publishChunk(String payload) {
+        String text = chunkTextExtractor.apply(payload);
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+
+        // Keep draining the body after a bad chunk so the exchange still completes normally
+        if (!chunkValidator.test(text)) {
+            failed = true;
+            publisher.closeExceptionally(new GenAIException("Invalid content detected in streamed GenAI response"));
+            return;
+        }
+
+        if (!firstChunkSeen) {
+            firstChunkSeen = true;
+            onFirstChunk.run();
+        }
+        publisher.submit(text);
+    }
+}
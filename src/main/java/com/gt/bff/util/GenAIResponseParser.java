@@ -0,0 +1,88 @@
+package com.gt.bff.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Pull parser for Gemini {@code generateContent} responses.
+ * Walks the token stream straight to {@code candidates[0].content.parts[0].text} and skips every
+ * other value without materializing it, so no intermediate JSON tree or copy of the body is built.
+ */
+public final class GenAIResponseParser {
+
+    // The caller owns the stream and decides whether to drain or close it
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .build();
+
+    private GenAIResponseParser() {
+    }
+
+    /**
+     * Extracts the first text part from a response body, reading only as far as that part
+     *
+     * @param inputStream The UTF-8 encoded response body; it is left open
+     * @return The text of the first part, or null if the response has none
+     * @throws IOException if the stream cannot be read or does not contain valid JSON
+     */
+    public static String extractText(InputStream inputStream) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(inputStream)) {
+            return extractText(parser);
+        }
+    }
+
+    /**
+     * Extracts the first text part from a response body held in memory
+     *
+     * @param json The response body
+     * @return The text of the first part, or null if the response has none
+     * @throws IOException if the body is not valid JSON
+     */
+    public static String extractText(String json) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return extractText(parser);
+        }
+    }
+
+    private static String extractText(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT
+                || !enterFirstObject(parser, "candidates")
+                || seekField(parser, "content") != JsonToken.START_OBJECT
+                || !enterFirstObject(parser, "parts")
+                || seekField(parser, "text") != JsonToken.VALUE_STRING) {
+            return null;
+        }
+        return parser.getText();
+    }
+
+    /**
+     * Moves to the named array field of the current object and into its first element,
+     * which must be an object
+     */
+    private static boolean enterFirstObject(JsonParser parser, String fieldName) throws IOException {
+        return seekField(parser, fieldName) == JsonToken.START_ARRAY
+                && parser.nextToken() == JsonToken.START_OBJECT;
+    }
+
+    /**
+     * Advances through the current object to the named field, skipping the values of all others
+     *
+     * @return The first token of the field's value, or null if the object has no such field
+     */
+    private static JsonToken seekField(JsonParser parser, String fieldName) throws IOException {
+        String name;
+        while ((name = parser.nextFieldName()) != null) {
+            JsonToken value = parser.nextToken();
+            if (fieldName.equals(name)) {
+                return value;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,109 @@
+package com.gt.bff.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental decoder for a JSON object that arrives in pieces, e.g. model output streamed token by token.
+ * Chunks are fed to a non-blocking parser and every top-level field is returned as soon as its value is
+ * closed, so {@code "from":"Boston"} is available before the rest of the object has been generated.
+ * Text before the opening brace, such as a markdown code fence, and anything after the closing brace is ignored.
+ * Only scalar values are returned; nested objects and arrays are parsed through and skipped.
+ * Instances hold parser state and are not thread-safe.
+ */
+public final class PartialJsonObjectDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private boolean started;
+    private boolean complete;
+    private int depth;
+
+    public PartialJsonObjectDecoder() throws IOException {
+        this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Feeds the next chunk of the stream
+     *
+     * @param chunk The next piece of text, in stream order
+     * @return The top-level fields whose values were closed by this chunk, in stream order
+     * @throws IOException if the text is not a valid JSON object
+     */
+    public List<Field> feed(String chunk) throws IOException {
+        List<Field> fields = new ArrayList<>();
+        if (complete || chunk == null || chunk.isEmpty()) {
+            return fields;
+        }
+        if (!started) {
+            int objectStart = chunk.indexOf('{');
+            if (objectStart < 0) {
+                return fields;
+            }
+            chunk = chunk.substring(objectStart);
+            started = true;
+        }
+
+        byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+        feeder.feedInput(bytes, 0, bytes.length);
+        JsonToken token;
+        while (!complete && (token = parser.nextToken()) != JsonToken.NOT_AVAILABLE) {
+            if (token == null) {
+                complete = true;
+                break;
+            }
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> depth++;
+                case END_OBJECT, END_ARRAY -> complete = --depth == 0;
+                case FIELD_NAME -> {
+                    // Field names only matter once their value is closed
+                }
+                default -> {
+                    if (depth == 1) {
+                        fields.add(new Field(parser.currentName(), scalarValue(token)));
+                    }
+                }
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * @return Whether the closing brace of the object has been decoded
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    private Object scalarValue(JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NUMBER_INT -> parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT -> parser.getDoubleValue();
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case VALUE_NULL -> null;
+            default -> throw new JsonParseException(parser, "Unexpected token " + token);
+        };
+    }
+
+    /**
+     * A top-level field whose value has been fully decoded
+     *
+     * @param name The field name
+     * @param value The value as a String, Number, Boolean or null
+     */
+    public record Field(String name, Object value) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.gt.bff.util;
 
+import com.gt.bff.exception.GenAIException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +20,7 @@ public final class ResponseHelper {
 
     /**
      * Executes a service operation and handles common exceptions.
+     * GenAI exceptions are rethrown as they are, so the global exception handler can map them to their status.
      * 
      * @param operation the operation to execute
      * @param operationName the name of the operation for logging
@@ -35,6 +37,9 @@ public final class ResponseHelper {
             T result = operation.get();
             log.debug("Successfully completed operation: {}", operationName);
             return ResponseEntity.ok(result);
+        } catch (GenAIException e) {
+            log.warn("GenAI error executing operation: {}: {}", operationName, e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Error executing operation: {}", operationName, e);
             throw new ResponseStatusException(
@@ -47,6 +52,7 @@ public final class ResponseHelper {
 
     /**
      * Executes a service operation with additional logging context.
+     * GenAI exceptions are rethrown as they are, so the global exception handler can map them to their status.
      * 
      * @param operation the operation to execute
      * @param operationName the name of the operation for logging
@@ -65,6 +71,9 @@ public final class ResponseHelper {
             T result = operation.get();
             log.debug("Successfully completed operation: {} with context: {}", operationName, context);
             return ResponseEntity.ok(result);
+        } catch (GenAIException e) {
+            log.warn("GenAI error executing operation: {} with context: {}: {}", operationName, context, e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Error executing operation: {} with context: {}", operationName, context, e);
             throw new ResponseStatusException(
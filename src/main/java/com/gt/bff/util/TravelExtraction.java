@@ -0,0 +1,74 @@
+package com.gt.bff.util;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Travel search filters extracted locally from a search input, with a confidence per field.
+ * Values stated unambiguously in the input score highest, just below 1.0 since the patterns can still
+ * misread them; values that were defaulted or pulled out of a noisy phrase score lower.
+ *
+ * @param from Origin location
+ * @param to Destination location
+ * @param fromDate Departure date
+ * @param toDate Return date; null for one-way trips
+ * @param passengers Number of passengers
+ * @param trip "Round-Trip" or "One-Way"
+ */
+public record TravelExtraction(
+        Field<String> from,
+        Field<String> to,
+        Field<LocalDate> fromDate,
+        Field<LocalDate> toDate,
+        Field<Integer> passengers,
+        Field<String> trip) {
+
+    /**
+     * One extracted value
+     *
+     * @param value The value, or null when the field has none
+     * @param confidence How certain the value is, from 0.0 to 1.0
+     * @param stated Whether the value came from the input rather than a default
+     */
+    public record Field<T>(T value, double confidence, boolean stated) {
+    }
+
+    /**
+     * @return The confidence of the least certain field
+     */
+    public double confidence() {
+        return fields().mapToDouble(Field::confidence).min().orElse(0.0);
+    }
+
+    /**
+     * Converts the extraction to search filter values. Dates are formatted as YYYY-MM-DD; fields without
+     * a value and locations that were not found in the input are left out, so the caller's defaults apply.
+     *
+     * @return Filter values keyed by filter name
+     */
+    public Map<String, Object> toFilters() {
+        Map<String, Object> filters = new LinkedHashMap<>();
+        if (from.stated()) {
+            filters.put("from", from.value());
+        }
+        if (to.stated()) {
+            filters.put("to", to.value());
+        }
+        if (fromDate.value() != null) {
+            filters.put("fromDate", fromDate.value().format(DateTimeFormatter.ISO_LOCAL_DATE));
+        }
+        if (toDate.value() != null) {
+            filters.put("toDate", toDate.value().format(DateTimeFormatter.ISO_LOCAL_DATE));
+        }
+        filters.put("passengers", passengers.value());
+        filters.put("trip", trip.value());
+        return filters;
+    }
+
+    private Stream<Field<?>> fields() {
+        return Stream.of(from, to, fromDate, toDate, passengers, trip);
+    }
+}
@@ -1,6 +1,7 @@
 package com.gt.bff.util;
 
 import org.json.JSONObject;
+import org.springframework.stereotype.Component;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -9,11 +10,19 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.TextStyle;
 import java.time.temporal.TemporalAdjusters;
 import java.util.Locale;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * Regex based travel search extraction engine.
+ * {@link #extract(String, LocalDate)} returns typed filters with a confidence per field, which lets callers
+ * skip the GenAI call for inputs that state everything plainly. {@link #extractTravelInfo(String, LocalDate)}
+ * keeps the original JSON output, including the raw location phrases.
+ */
+@Component
 public class TravelJsonExtractor {
 
     // Pre-compiled regex patterns for efficiency
@@ -27,6 +36,75 @@ public class TravelJsonExtractor {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE; // YYYY-MM-DD
 
+    private static final Pattern LOCATION_QUALIFIER_PATTERN = Pattern.compile("\\s+(?:next|this|in|on|for|with|during|around|by|at|and|departing|leaving|returning)\\b|\\s+\\d", Pattern.CASE_INSENSITIVE);
+    private static final Pattern PLACE_NAME_PATTERN = Pattern.compile("[A-Za-z][A-Za-z.'-]*(?:\\s+[A-Za-z][A-Za-z.'-]*){0,2}");
+    private static final Pattern GROUP_HINT_PATTERN = Pattern.compile("\\b(?:family|couple|friends?|wife|husband|partner|kids|children|me and)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DATE_HINT_PATTERN = Pattern.compile("\\b(?:jan(?:uary)?|feb(?:ruary)?|mar(?:ch)?|apr(?:il)?|may|june?|july?|aug(?:ust)?|sep(?:tember)?|oct(?:ober)?|nov(?:ember)?|dec(?:ember)?|tomorrow|tonight|weekend|summer|winter|spring|autumn|fall|christmas|easter|monday|tuesday|wednesday|thursday|friday|saturday|sunday|\\d{1,2}(?:st|nd|rd|th)|\\d{1,2}/\\d{1,2})\\b", Pattern.CASE_INSENSITIVE);
+    private static final Set<String> NON_PLACE_WORDS = Set.of(
+            "a", "an", "the", "i", "me", "my", "us", "our", "we", "book", "go", "going", "travel", "traveling", "fly",
+            "flying", "visit", "plan", "get", "see", "flight", "flights", "trip", "ticket", "tickets", "vacation",
+            "holiday", "next", "this", "week", "weeks", "day", "days", "month", "months", "people", "passengers");
+
+    private static final String DEFAULT_FROM_LOCATION = "San Francisco";
+    private static final String DEFAULT_TO_LOCATION = "London";
+    private static final String ROUND_TRIP = "Round-Trip";
+    private static final String ONE_WAY = "One-Way";
+
+    // Field confidences
+    private static final double STATED = 0.95;
+    private static final double STATED_WITH_PARSED_QUALIFIER = 0.85;
+    private static final double PROMPT_DEFAULT = 0.8;
+    private static final double STATED_WITH_NOISE = 0.6;
+    private static final double AMBIGUOUS_DEFAULT = 0.6;
+    private static final double DEFAULT_LOCATION = 0.5;
+    private static final double UNSURE = 0.3;
+
+    /**
+     * Extracts typed travel filters relative to today
+     *
+     * @param text The user's search input
+     * @return The extracted filters with per-field confidence
+     */
+    public TravelExtraction extract(String text) {
+        return extract(text, LocalDate.now());
+    }
+
+    /**
+     * Extracts typed travel filters with a confidence per field.
+     * Locations are trimmed of trailing qualifiers such as "next month" or "for 2 people".
+     *
+     * @param text The user's search input
+     * @param referenceDate The reference date for relative dates
+     * @return The extracted filters with per-field confidence
+     */
+    public TravelExtraction extract(String text, LocalDate referenceDate) {
+        Scan scan = scan(text, referenceDate);
+
+        TravelExtraction.Field<Integer> passengers = new TravelExtraction.Field<>(scan.passengers, scan.passengersStated
+                ? STATED
+                : GROUP_HINT_PATTERN.matcher(text).find() ? UNSURE : PROMPT_DEFAULT, scan.passengersStated);
+        TravelExtraction.Field<String> trip = new TravelExtraction.Field<>(scan.tripType,
+                scan.oneWay ? STATED : PROMPT_DEFAULT, scan.oneWay);
+
+        TravelExtraction.Field<LocalDate> fromDate = scan.fromDateStated
+                ? new TravelExtraction.Field<>(scan.fromDate, STATED, true)
+                : new TravelExtraction.Field<>(scan.fromDate, DATE_HINT_PATTERN.matcher(text).find() ? UNSURE : PROMPT_DEFAULT, false);
+        TravelExtraction.Field<LocalDate> toDate;
+        if (scan.oneWay) {
+            toDate = new TravelExtraction.Field<>(null, STATED, true);
+        } else {
+            toDate = new TravelExtraction.Field<>(scan.toDate, scan.durationStated ? STATED : AMBIGUOUS_DEFAULT, scan.durationStated);
+        }
+
+        return new TravelExtraction(
+                location(scan.rawFrom, DEFAULT_FROM_LOCATION),
+                location(scan.rawTo, DEFAULT_TO_LOCATION),
+                fromDate,
+                toDate,
+                passengers,
+                trip);
+    }
+
     /**
      * Extracts travel information from user input text and returns a JSON string.
      * This is a testable method that allows injecting the reference date.
@@ -36,14 +114,31 @@ public class TravelJsonExtractor {
      * @return A JSON formatted string with the extracted travel information.
      */
     public static String extractTravelInfo(String text, LocalDate referenceDate) {
-        String lowerText = text.toLowerCase();
+        Scan scan = scan(text, referenceDate);
         JSONObject result = new JSONObject();
 
+        result.put("fromDate", scan.fromDate.format(DATE_FORMATTER));
+        result.put("passengers", scan.passengers);
+        result.put("trip", scan.tripType);
+        // Use JSONObject.NULL for proper JSON null representation
+        result.put("toDate", scan.oneWay ? JSONObject.NULL :
+                   (scan.toDate != null ? scan.toDate.format(DATE_FORMATTER) : JSONObject.NULL));
+        result.put("from", scan.rawFrom != null ? capitalize(scan.rawFrom.trim()) : DEFAULT_FROM_LOCATION);
+        result.put("to", scan.rawTo != null ? capitalize(scan.rawTo.trim()) : DEFAULT_TO_LOCATION);
+
+        return result.toString(4); // Indent with 4 spaces for pretty printing
+    }
+
+    /**
+     * Runs the patterns over the input once; both output forms are built from the result
+     */
+    private static Scan scan(String text, LocalDate referenceDate) {
+        String lowerText = text.toLowerCase();
+        Scan scan = new Scan();
+
         // 1. Set default values
-        int passengers = 1;
-        String tripType = "Round-Trip";
-        String fromLocation = "San Francisco";
-        String toLocation = "London";
+        scan.passengers = 1;
+        scan.tripType = ROUND_TRIP;
 
         // 2. Extract specific information, overriding defaults
         // Passengers
@@ -52,27 +147,29 @@ public class TravelJsonExtractor {
             // The pattern has two capturing groups, one will be null
             String p1 = passengerMatcher.group(1);
             String p2 = passengerMatcher.group(2);
-            passengers = Integer.parseInt(p1 != null ? p1 : p2);
+            scan.passengers = Integer.parseInt(p1 != null ? p1 : p2);
+            scan.passengersStated = true;
         }
 
         // Trip Type
         if (ONE_WAY_PATTERN.matcher(lowerText).find()) {
-            tripType = "One-Way";
+            scan.tripType = ONE_WAY;
+            scan.oneWay = true;
         }
 
         // Locations
         Matcher fromMatcher = FROM_LOCATION_PATTERN.matcher(text); // Use original case text for better capitalization
         if (fromMatcher.find()) {
-            fromLocation = capitalize(fromMatcher.group(1).trim());
+            scan.rawFrom = fromMatcher.group(1);
         }
 
         Matcher toMatcher = TO_LOCATION_PATTERN.matcher(text);
         if (toMatcher.find()) {
-            toLocation = capitalize(toMatcher.group(1).trim());
+            scan.rawTo = toMatcher.group(1);
         } else if (lowerText.contains("tour of")){
              Matcher tourMatcher = Pattern.compile("tour of ([\\w\\s,]+)").matcher(lowerText);
              if(tourMatcher.find()){
-                 toLocation = capitalize(tourMatcher.group(1).trim());
+                 scan.rawTo = tourMatcher.group(1);
              }
         }
 
@@ -105,6 +202,7 @@ public class TravelJsonExtractor {
             // Rule: "next month" starts from the 1st
             fromDate = referenceDate.withDayOfMonth(1).plusMonths(1);
         }
+        scan.fromDateStated = fromDate != null;
 
         // 4. Calculate final dates based on findings
         // If no specific start date was found, use the default (next Friday)
@@ -113,7 +211,7 @@ public class TravelJsonExtractor {
         }
 
         LocalDate toDate = null;
-        if ("Round-Trip".equals(tripType)) {
+        if (ROUND_TRIP.equals(scan.tripType)) {
             if (durationValue > 0) { // A specific duration was found
                 switch (durationUnit) {
                     case "week":
@@ -126,29 +224,53 @@ public class TravelJsonExtractor {
                         toDate = fromDate.plusMonths(durationValue);
                         break;
                 }
+                scan.durationStated = toDate != null;
             } else { // No duration found, use the default (1 week)
                 toDate = fromDate.plusWeeks(1);
             }
         }
-        
-        // Handle a special case from the prompt: "2 week vacation" results in 14 days, but the example output shows fromDate + 14 days. 
-        // For example, July 1 to July 15. Let's adjust for that.
-        // If the duration was "2 weeks" (14 days), we'll add 14 days instead of 15.
-        // Let's assume toDate should be fromDate + duration. My current logic for week/month/day handles this correctly. The example seems to have an off-by-one interpretation.
-        // Let's adjust to match the example: 2 weeks from July 1 is July 15. That is fromDate + 14 days. Correct.
-        // My logic is fine. For `2 week vacation from ... July 2025`, fromDate=2025-07-01, toDate=fromDate.plusWeeks(2) = 2025-07-15. This is correct.
-
-        // 5. Build the final JSON object
-        result.put("fromDate", fromDate.format(DATE_FORMATTER));
-        result.put("passengers", passengers);
-        result.put("trip", tripType);
-        // Use JSONObject.NULL for proper JSON null representation
-        result.put("toDate", "One-Way".equals(tripType) ? JSONObject.NULL : 
-                   (toDate != null ? toDate.format(DATE_FORMATTER) : JSONObject.NULL));
-        result.put("from", fromLocation);
-        result.put("to", toLocation);
 
-        return result.toString(4); // Indent with 4 spaces for pretty printing
+        scan.fromDate = fromDate;
+        scan.toDate = toDate;
+        return scan;
+    }
+
+    /**
+     * Builds a location field from a raw capture such as "Denver next month".
+     * Trailing qualifiers are cut off; the confidence drops when what was cut off is not a date, duration
+     * or passenger phrase, and the capture is rejected when it does not look like a place name.
+     */
+    private static TravelExtraction.Field<String> location(String raw, String defaultLocation) {
+        if (raw == null) {
+            return new TravelExtraction.Field<>(defaultLocation, DEFAULT_LOCATION, false);
+        }
+
+        String candidate = raw.trim();
+        String tail = "";
+        Matcher qualifier = LOCATION_QUALIFIER_PATTERN.matcher(candidate);
+        if (qualifier.find()) {
+            tail = candidate.substring(qualifier.start());
+            candidate = candidate.substring(0, qualifier.start()).trim();
+        }
+        candidate = candidate.replaceAll(",+$", "").trim();
+
+        if (!PLACE_NAME_PATTERN.matcher(candidate).matches() || containsNonPlaceWord(candidate)) {
+            return new TravelExtraction.Field<>(capitalize(raw.trim()), UNSURE, true);
+        }
+        double confidence = tail.isBlank() ? STATED : isParsedQualifier(tail) ? STATED_WITH_PARSED_QUALIFIER : STATED_WITH_NOISE;
+        return new TravelExtraction.Field<>(capitalize(candidate), confidence, true);
+    }
+
+    private static boolean containsNonPlaceWord(String candidate) {
+        return Stream.of(candidate.toLowerCase().split("\\s+")).anyMatch(NON_PLACE_WORDS::contains);
+    }
+
+    private static boolean isParsedQualifier(String tail) {
+        String lowerTail = tail.toLowerCase();
+        return NEXT_MONTH_PATTERN.matcher(lowerTail).find()
+                || MONTH_YEAR_PATTERN.matcher(lowerTail).find()
+                || PASSENGERS_PATTERN.matcher(lowerTail).find()
+                || DURATION_PATTERN.matcher(lowerTail).find();
     }
 
     /**
@@ -164,39 +286,18 @@ public class TravelJsonExtractor {
     }
 
     /**
-     * Main method to demonstrate usage with examples.
+     * Values found by the patterns, before they are turned into either output form
      */
-    public static void main(String[] args) {
-        // Assume today is 2024-05-21 for consistent testing
-        LocalDate today = LocalDate.of(2024, 5, 21);
-        
-        System.out.println("--- Example 1: Provided Input ---");
-        String input1 = "Plan a 2 week vacation from New York to London in July 2025";
-        System.out.println("Input: \"" + input1 + "\"");
-        System.out.println(extractTravelInfo(input1, today));
-
-        System.out.println("--- Example 2: Defaults and Family ---");
-        String input2 = "Book a flight for a family of 4.";
-        System.out.println("Input: \"" + input2 + "\"");
-        System.out.println(extractTravelInfo(input2, today));
-
-        System.out.println("--- Example 3: One-Way and Relative Date ---");
-        String input3 = "I need a one-way ticket to Tokyo for me and my friend next month.";
-        System.out.println("Input: \"" + input3 + "\"");
-        // "me and my friend" is not parsed by the regex, so it defaults to 1.
-        // A more advanced NLP tool would be needed for that nuance. Let's adjust the input slightly to match the rule.
-        String input3Adjusted = "I need a one-way ticket to Tokyo for 2 people next month.";
-        System.out.println("Input (Adjusted): \"" + input3Adjusted + "\"");
-        System.out.println(extractTravelInfo(input3Adjusted, today));
-
-        System.out.println("--- Example 4: Missing 'From' location ---");
-        String input4 = "I want to go to Paris for 10 days.";
-        System.out.println("Input: \"" + input4 + "\"");
-        System.out.println(extractTravelInfo(input4, today));
-        
-        System.out.println("--- Example 5: Cultural Tour ---");
-        String input5 = "Cultural tour of Japan with temples and traditional food";
-        System.out.println("Input: \"" + input5 + "\"");
-        System.out.println(extractTravelInfo(input5, today));
+    private static final class Scan {
+        private int passengers;
+        private boolean passengersStated;
+        private String tripType;
+        private boolean oneWay;
+        private String rawFrom;
+        private String rawTo;
+        private LocalDate fromDate;
+        private boolean fromDateStated;
+        private LocalDate toDate;
+        private boolean durationStated;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,190 @@
+package com.gt.bff.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    private ApplicationProperties applicationProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionControlFilter filter;
+    private final CountDownLatch releaseHeld = new CountDownLatch(1);
+    private final List<CompletableFuture<Void>> held = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        ApplicationProperties.Admission admission = applicationProperties.getAdmission();
+        admission.setMaxInFlight(2);
+        admission.setCheapReserved(1);
+        admission.setMaxQueueWait(20);
+        admission.setMaxQueueTime(1000);
+        admission.setRetryAfter(3);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new AdmissionControlFilter(applicationProperties, meterRegistry,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        releaseHeld.countDown();
+        for (CompletableFuture<Void> request : held) {
+            request.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void doFilter_WhenStandardCapacityUsed_ShouldShedWithRetryAfter() throws Exception {
+        hold("/api/v1/gt/search-filters");
+
+        MockHttpServletResponse response = send("/api/v1/gt/process-search");
+
+        assertEquals(503, response.getStatus());
+        assertEquals("3", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("Service is busy"));
+        assertEquals(1.0, meterRegistry.get("http.admission.shed")
+                .tag("endpoint", "process-search").tag("reason", "capacity").counter().count());
+    }
+
+    @Test
+    void doFilter_WhenStandardCapacityUsed_ShouldStillAdmitCheapEndpoints() throws Exception {
+        hold("/api/v1/gt/search-filters");
+
+        MockHttpServletResponse response = send("/api/v1/gt/airports");
+
+        assertEquals(200, response.getStatus());
+        assertNull(meterRegistry.find("http.admission.shed").counter());
+    }
+
+    @Test
+    void doFilter_WhenAllSlotsUsed_ShouldShedCheapEndpoints() throws Exception {
+        hold("/api/v1/gt/search-filters");
+        hold("/api/v1/gt/airports");
+
+        MockHttpServletResponse response = send("/health");
+
+        assertEquals(503, response.getStatus());
+        assertEquals(1.0, meterRegistry.get("http.admission.shed")
+                .tag("endpoint", "health").tag("reason", "capacity").counter().count());
+    }
+
+    @Test
+    void doFilter_WhenQueuedTooLongUpstream_ShouldShedGenAIEndpointsOnArrival() throws Exception {
+        String requestStart = "t=" + (System.currentTimeMillis() - 5000);
+
+        MockHttpServletResponse search = send("/api/v1/gt/search-filters", requestStart);
+        MockHttpServletResponse airports = send("/api/v1/gt/airports", requestStart);
+
+        assertEquals(503, search.getStatus());
+        assertEquals(200, airports.getStatus());
+        assertEquals(1.0, meterRegistry.get("http.admission.shed")
+                .tag("endpoint", "search-filters").tag("reason", "queue-time").counter().count());
+    }
+
+    @Test
+    void doFilter_AfterRequestCompletes_ShouldReleaseSlot() throws Exception {
+        assertEquals(200, send("/api/v1/gt/search-filters").getStatus());
+        assertEquals(200, send("/api/v1/gt/search-filters").getStatus());
+
+        assertEquals(0, filter.getInFlight());
+    }
+
+    @Test
+    void doFilter_WhenAsyncStarted_ShouldHoldSlotUntilAsyncCompletes() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/gt/search-filters/stream");
+        request.setAsyncSupported(true);
+        FilterChain asyncChain = (req, res) -> req.startAsync();
+
+        filter.doFilter(request, new MockHttpServletResponse(), asyncChain);
+
+        assertEquals(1, filter.getInFlight());
+        request.getAsyncContext().complete();
+        assertEquals(0, filter.getInFlight());
+    }
+
+    @Test
+    void doFilter_OutsideApi_ShouldNotBeLimited() throws Exception {
+        hold("/api/v1/gt/search-filters");
+        hold("/api/v1/gt/airports");
+
+        assertEquals(200, send("/actuator/health").getStatus());
+    }
+
+    @Test
+    void upstreamQueueMillis_ShouldParseCommonFormats() {
+        long now = System.currentTimeMillis();
+
+        assertBetween(AdmissionControlFilter.upstreamQueueMillis(requestStart("t=" + (now - 500))), 500, 1500);
+        assertBetween(AdmissionControlFilter.upstreamQueueMillis(requestStart("t=" + (now - 500) * 1000)), 500, 1500);
+        assertBetween(AdmissionControlFilter.upstreamQueueMillis(requestStart("t=" + (now - 500) / 1000.0)), 500, 1500);
+        assertBetween(AdmissionControlFilter.upstreamQueueMillis(requestStart("t=" + (now - 5000) / 1000)), 4000, 6500);
+        assertEquals(0, AdmissionControlFilter.upstreamQueueMillis(requestStart("not-a-time")));
+        assertEquals(0, AdmissionControlFilter.upstreamQueueMillis(new MockHttpServletRequest()));
+    }
+
+    private MockHttpServletResponse send(String uri) throws Exception {
+        return send(uri, null);
+    }
+
+    private MockHttpServletResponse send(String uri, String requestStart) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (requestStart != null) {
+            request.addHeader(AdmissionControlFilter.REQUEST_START_HEADER, requestStart);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    /**
+     * Starts a request that stays in flight until the test ends
+     */
+    private void hold(String uri) throws Exception {
+        int expected = filter.getInFlight() + 1;
+        FilterChain blockingChain = (request, response) -> {
+            try {
+                releaseHeld.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        held.add(CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", uri), new MockHttpServletResponse(), blockingChain);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (filter.getInFlight() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, filter.getInFlight());
+    }
+
+    private static MockHttpServletRequest requestStart(String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(AdmissionControlFilter.REQUEST_START_HEADER, value);
+        return request;
+    }
+
+    private static void assertBetween(long actual, long min, long max) {
+        assertTrue(actual >= min && actual <= max, "Expected between " + min + " and " + max + " but was " + actual);
+    }
+}
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.gt.bff.config.ApplicationProperties;
 import com.gt.bff.service.SearchFilterService;
+import com.gt.bff.service.RequestDeadlines;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -65,7 +67,8 @@ class GtBffControllerTest {
             searchFilterService,
             applicationProperties,
             resourceLoader,
-            airportDataService
+            airportDataService,
+            new RequestDeadlines(new ApplicationProperties(), new SimpleMeterRegistry())
         );
 
         // Configure ObjectMapper for Java 8 date/time types
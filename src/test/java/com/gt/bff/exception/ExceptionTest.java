@@ -117,5 +117,7 @@ class ExceptionTest {
         assertTrue(new GenAIConfigurationException("test") instanceof GenAIException);
         assertTrue(new GenAIRateLimitException("test") instanceof GenAIException);
         assertTrue(new GenAITimeoutException("test") instanceof GenAIException);
+        assertTrue(new GenAICircuitOpenException("test") instanceof GenAIException);
+        assertTrue(new RequestDeadlineExceededException("test") instanceof GenAITimeoutException);
     }
 }
\ No newline at end of file
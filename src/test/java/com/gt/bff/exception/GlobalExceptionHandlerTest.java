@@ -144,6 +144,19 @@ class GlobalExceptionHandlerTest {
         assertEquals("AI service request timed out. Please try again later.", response.getBody().getMessage());
     }
 
+    @Test
+    void handleRequestDeadlineExceededException_ShouldReturn504() {
+        when(webRequest.getDescription(false)).thenReturn("uri=/test");
+        RequestDeadlineExceededException ex = new RequestDeadlineExceededException("Request deadline exceeded during genai-call");
+        
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleRequestDeadlineExceededException(ex, webRequest);
+        
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(504, response.getBody().getStatus());
+        assertEquals("AI service did not answer within the request deadline.", response.getBody().getMessage());
+    }
+
     @Test
     void handleGenAIRateLimitException_ShouldReturn429() {
         when(webRequest.getDescription(false)).thenReturn("uri=/test");
@@ -157,6 +170,19 @@ class GlobalExceptionHandlerTest {
         assertEquals("AI service rate limit exceeded. Please try again later.", response.getBody().getMessage());
     }
 
+    @Test
+    void handleGenAICircuitOpenException_ShouldReturn503() {
+        when(webRequest.getDescription(false)).thenReturn("uri=/test");
+        GenAICircuitOpenException ex = new GenAICircuitOpenException("Circuit open");
+        
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleGenAICircuitOpenException(ex, webRequest);
+        
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(503, response.getBody().getStatus());
+        assertEquals("AI service is temporarily unavailable. Please try again later.", response.getBody().getMessage());
+    }
+
     @Test
     void handleGenAIConfigurationException_ShouldReturn503() {
         when(webRequest.getDescription(false)).thenReturn("uri=/test");
@@ -0,0 +1,72 @@
+package com.gt.bff.model.schema;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenAIResponseSchemaGeneratorTest {
+
+    @Test
+    void schemaFor_TravelSearchFilters_ShouldDescribeEveryField() {
+        JSONObject schema = new JSONObject(GenAIResponseSchemaGenerator.schemaFor(AIResponseSchema.TravelSearchFilters.class));
+
+        assertEquals("OBJECT", schema.getString("type"));
+        JSONObject properties = schema.getJSONObject("properties");
+        assertEquals(7, properties.length());
+        assertEquals("STRING", properties.getJSONObject("from").getString("type"));
+        assertEquals("STRING", properties.getJSONObject("fromDate").getString("type"));
+        assertTrue(properties.getJSONObject("fromDate").getString("description").contains("YYYY-MM-DD"));
+        assertFalse(schema.has("required"));
+    }
+
+    @Test
+    void schemaFor_TravelSearchFilters_ShouldCarryValidationConstraints() {
+        JSONObject properties = new JSONObject(GenAIResponseSchemaGenerator.schemaFor(AIResponseSchema.TravelSearchFilters.class))
+                .getJSONObject("properties");
+
+        JSONObject passengers = properties.getJSONObject("passengers");
+        assertEquals("INTEGER", passengers.getString("type"));
+        assertEquals(1, passengers.getInt("minimum"));
+        assertEquals(10, passengers.getInt("maximum"));
+        assertTrue(passengers.getBoolean("nullable"));
+
+        JSONArray tripValues = properties.getJSONObject("trip").getJSONArray("enum");
+        assertEquals(2, tripValues.length());
+        assertEquals("One-Way", tripValues.getString(0));
+        assertEquals("Round-Trip", tripValues.getString(1));
+    }
+
+    @Test
+    void schemaFor_LocationExtraction_ShouldMarkRequiredFields() {
+        JSONObject schema = new JSONObject(GenAIResponseSchemaGenerator.schemaFor(AIResponseSchema.LocationExtraction.class));
+
+        assertEquals("location", schema.getJSONArray("required").getString(0));
+        assertFalse(schema.getJSONObject("properties").getJSONObject("location").has("nullable"));
+        assertEquals("NUMBER", schema.getJSONObject("properties").getJSONObject("confidence").getString("type"));
+        // Free-form patterns are left to bean validation
+        assertFalse(schema.getJSONObject("properties").getJSONObject("latitude").has("enum"));
+    }
+
+    @Test
+    void schemaFor_ShouldCacheSerializedSchema() {
+        assertSame(GenAIResponseSchemaGenerator.schemaFor(AIResponseSchema.TravelSearchFilters.class),
+                GenAIResponseSchemaGenerator.schemaFor(AIResponseSchema.TravelSearchFilters.class));
+    }
+
+    @Test
+    void schemaFor_Parts_ShouldRequireOneObjectPerPart() {
+        java.util.Map<String, Class<?>> parts = new java.util.LinkedHashMap<>();
+        parts.put("searchFilters", AIResponseSchema.TravelSearchFilters.class);
+        parts.put("travelAdvice", AIResponseSchema.TravelAdvice.class);
+
+        JSONObject schema = new JSONObject(GenAIResponseSchemaGenerator.schemaFor(parts));
+
+        JSONObject properties = schema.getJSONObject("properties");
+        assertEquals(2, properties.length());
+        assertEquals("OBJECT", properties.getJSONObject("searchFilters").getString("type"));
+        assertTrue(properties.getJSONObject("travelAdvice").getJSONObject("properties").has("recommendations"));
+        assertEquals(2, schema.getJSONArray("required").length());
+    }
+}
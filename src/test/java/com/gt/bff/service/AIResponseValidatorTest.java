@@ -11,6 +11,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import jakarta.validation.ValidatorFactory;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -449,4 +450,91 @@ class AIResponseValidatorTest {
         assertNotNull(result.getErrorMessage());
         assertTrue(result.getErrorMessage().contains("Validation errors"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testValidateJsonArray_ValidArray() {
+        String response = "```json\n[{\"from\": \"Boston\"}, {\"from\": \"Austin\", \"passengers\": 2}]\n```";
+
+        AIResponseValidator.ValidationResult<List<String>> result = validator.validateJsonArray(response, 2);
+
+        assertTrue(result.isValid());
+        assertEquals(2, result.getData().size());
+        assertEquals("{\"from\":\"Boston\"}", result.getData().get(0));
+        assertEquals("Austin", validator.validateTravelSearchFilters(result.getData().get(1)).getData().getFrom());
+    }
+
+    @Test
+    void testValidateJsonArray_WrongSize() {
+        AIResponseValidator.ValidationResult<List<String>> result = validator.validateJsonArray("[{}]", 2);
+
+        assertFalse(result.isValid());
+        assertTrue(result.getErrorMessage().contains("Expected 2"));
+    }
+
+    @Test
+    void testValidateJsonArray_NotAnArray() {
+        assertFalse(validator.validateJsonArray("{\"from\": \"Boston\"}", 1).isValid());
+        assertFalse(validator.validateJsonArray("not json", 1).isValid());
+    }
+
+    @Test
+    void testValidateTravelSearchFilterField_ConvertsToPropertyType() {
+        AIResponseValidator.ValidationResult<Object> date = validator.validateTravelSearchFilterField("fromDate", "2024-01-15");
+        AIResponseValidator.ValidationResult<Object> passengers = validator.validateTravelSearchFilterField("passengers", 2);
+
+        assertTrue(date.isValid());
+        assertEquals(java.time.LocalDate.of(2024, 1, 15), date.getData());
+        assertTrue(passengers.isValid());
+        assertEquals(2, passengers.getData());
+    }
+
+    @Test
+    void testValidateTravelSearchFilterField_RejectsInvalidValues() {
+        assertFalse(validator.validateTravelSearchFilterField("passengers", 50).isValid());
+        assertFalse(validator.validateTravelSearchFilterField("trip", "Multi-City").isValid());
+        assertFalse(validator.validateTravelSearchFilterField("fromDate", "next week").isValid());
+        assertFalse(validator.validateTravelSearchFilterField("from", "<script>").isValid());
+        assertFalse(validator.validateTravelSearchFilterField("price", 100).isValid());
+    }
+
+    @Test
+    void testValidateFusedSearchResponse_ValidatesEachPartSeparately() {
+        String json = """
+                {
+                    "searchFilters": {"from": "Boston", "to": "Denver", "passengers": 2, "trip": "One-Way"},
+                    "originLocation": {"location": "Boston", "confidence": 3.5},
+                    "travelAdvice": {"response": "Pack layers for Denver weather", "category": "weather"}
+                }
+                """;
+
+        FusedSearchResult result = validator.validateFusedSearchResponse(json, java.util.EnumSet.allOf(GenAISearchPart.class));
+
+        assertEquals("Denver", result.searchFilters().getTo());
+        assertEquals("weather", result.travelAdvice().getCategory());
+        assertNull(result.originLocation());
+        assertFalse(result.isValid(GenAISearchPart.ORIGIN_LOCATION));
+        assertTrue(result.errors().get(GenAISearchPart.ORIGIN_LOCATION).contains("Confidence"));
+        assertEquals(1, result.errors().size());
+    }
+
+    @Test
+    void testValidateFusedSearchResponse_OnlyReadsRequestedParts() {
+        String json = "{\"travelAdvice\": {\"response\": \"Book early\"}}";
+
+        FusedSearchResult result = validator.validateFusedSearchResponse(json,
+            java.util.EnumSet.of(GenAISearchPart.SEARCH_FILTERS, GenAISearchPart.TRAVEL_ADVICE));
+
+        assertTrue(result.isValid(GenAISearchPart.TRAVEL_ADVICE));
+        assertFalse(result.isValid(GenAISearchPart.SEARCH_FILTERS));
+        assertEquals(java.util.Set.of(GenAISearchPart.SEARCH_FILTERS), result.errors().keySet());
+    }
+
+    @Test
+    void testValidateFusedSearchResponse_InvalidJson() {
+        FusedSearchResult result = validator.validateFusedSearchResponse("not json",
+            java.util.EnumSet.of(GenAISearchPart.ORIGIN_LOCATION));
+
+        assertFalse(result.isValid(GenAISearchPart.ORIGIN_LOCATION));
+        assertEquals(1, result.errors().size());
+    }
+}
@@ -136,6 +136,20 @@ class AirportDataServiceTest {
         assertTrue(result.contains("Test Airport"));
     }
 
+    @Test
+    void getAirportsJson_WhenFileChanges_ShouldReturnNewContent() throws Exception {
+        Path testFile = Paths.get("src/main/resources/airportcodes/gt-airports.json");
+        Files.createDirectories(testFile.getParent());
+        Files.writeString(testFile, SAMPLE_IATA_JSON);
+        assertEquals(SAMPLE_IATA_JSON, airportDataService.getAirportsJson());
+        assertEquals(SAMPLE_IATA_JSON, airportDataService.getAirportsJson());
+
+        String updatedJson = "[{\"code\":\"NEW\",\"name\":\"New Airport\",\"city\":\"New City\",\"country\":\"New Country\"}]";
+        Files.writeString(testFile, updatedJson);
+
+        assertEquals(updatedJson, airportDataService.getAirportsJson());
+    }
+
     @Test
     void getAirportsJson_FileNotFound() throws Exception {
         // Make sure file doesn't exist
@@ -0,0 +1,166 @@
+package com.gt.bff.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.gt.bff.config.ApplicationProperties;
+import com.gt.bff.exception.GenAIException;
+import com.gt.bff.exception.RequestDeadlineExceededException;
+import com.gt.bff.model.schema.AIResponseSchema;
+import com.gt.bff.util.TravelJsonExtractor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class FailoverGenAIServiceTest {
+
+    private static final String PROMPT = "Extract travel filters\nInput: \"from Boston to Denver for 2 people\"\nOutput Format";
+
+    private ApplicationProperties applicationProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private GoogleGenAIService googleGenAIService;
+    private GenAIBackend primary;
+    private GenAIBackend secondary;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getGenai().getFailover().setFailureThreshold(2);
+        meterRegistry = new SimpleMeterRegistry();
+        googleGenAIService = mock(GoogleGenAIService.class);
+        primary = backend("primary");
+        secondary = backend("secondary");
+    }
+
+    @Test
+    void generateContent_WhenFirstBackendAnswers_ShouldNotTryOthers() {
+        when(primary.generate(eq(GenAIOperation.EXPLAIN), anyString(), isNull(), any())).thenReturn("primary answer");
+
+        String result = service().generateContent(GenAIOperation.EXPLAIN, "Explain jet lag", RequestDeadline.none());
+
+        assertEquals("primary answer", result);
+        verify(secondary, never()).generate(any(), any(), any(), any());
+        assertEquals(1.0, meterRegistry.get("genai.failover.calls").tag("backend", "primary").tag("outcome", "success").counter().count());
+    }
+
+    @Test
+    void generateContent_WhenBackendFails_ShouldFailOverToNext() {
+        when(primary.generate(any(), anyString(), any(), any())).thenThrow(new GenAIException("primary down"));
+        when(secondary.generate(any(), anyString(), any(), any())).thenReturn("secondary answer");
+
+        String result = service().generateContent(GenAIOperation.EXPLAIN, "Explain jet lag", RequestDeadline.none());
+
+        assertEquals("secondary answer", result);
+        assertEquals(1.0, meterRegistry.get("genai.failover.calls").tag("backend", "primary").tag("outcome", "failure").counter().count());
+        assertEquals(1.0, meterRegistry.get("genai.failover.calls").tag("backend", "secondary").tag("outcome", "success").counter().count());
+    }
+
+    @Test
+    void generateContent_AfterFailure_ShouldPreferHealthyBackend() {
+        when(primary.generate(any(), anyString(), any(), any())).thenThrow(new GenAIException("primary down"));
+        when(secondary.generate(any(), anyString(), any(), any())).thenReturn("secondary answer");
+        FailoverGenAIService service = service();
+        service.generateContent(GenAIOperation.EXPLAIN, "first", RequestDeadline.none());
+
+        service.generateContent(GenAIOperation.EXPLAIN, "second", RequestDeadline.none());
+
+        verify(primary, never()).generate(any(), eq("second"), any(), any());
+        verify(secondary).generate(any(), eq("second"), any(), any());
+    }
+
+    @Test
+    void generateContent_AfterFailureThreshold_ShouldTryBackendLastDuringCooldown() {
+        // Without smoothing the scores stay equal, so only the cooldown changes the order
+        applicationProperties.getGenai().getFailover().setSmoothing(0);
+        when(primary.generate(any(), anyString(), any(), any())).thenThrow(new GenAIException("primary down"));
+        when(secondary.generate(any(), anyString(), any(), any())).thenReturn("secondary answer");
+        FailoverGenAIService service = service();
+        service.generateContent(GenAIOperation.EXPLAIN, "first", RequestDeadline.none());
+        service.generateContent(GenAIOperation.EXPLAIN, "second", RequestDeadline.none());
+
+        service.generateContent(GenAIOperation.EXPLAIN, "third", RequestDeadline.none());
+
+        verify(primary).generate(any(), eq("second"), any(), any());
+        verify(primary, never()).generate(any(), eq("third"), any(), any());
+    }
+
+    @Test
+    void generateContent_WhileOtherBackendsRemain_ShouldGiveAttemptShareOfDeadline() {
+        when(primary.generate(any(), anyString(), any(), any())).thenReturn("primary answer");
+        ArgumentCaptor<RequestDeadline> deadline = ArgumentCaptor.forClass(RequestDeadline.class);
+
+        service().generateContent(GenAIOperation.EXPLAIN, "Explain jet lag", RequestDeadline.after(Duration.ofSeconds(10)));
+
+        verify(primary).generate(any(), anyString(), any(), deadline.capture());
+        assertTrue(deadline.getValue().remaining().compareTo(Duration.ofSeconds(5)) <= 0);
+    }
+
+    @Test
+    void generateStructuredContent_WhenEveryBackendFails_ShouldUseLocalExtractor() {
+        when(primary.generate(any(), anyString(), any(), any())).thenThrow(new GenAIException("primary down"));
+        when(secondary.generate(any(), anyString(), any(), any())).thenThrow(new GenAIException("secondary down"));
+
+        String result = service().generateStructuredContent(GenAIOperation.SEARCH_FILTERS, PROMPT,
+                AIResponseSchema.TravelSearchFilters.class, RequestDeadline.none());
+
+        JSONObject filters = new JSONObject(result);
+        assertEquals("Boston", filters.getString("from"));
+        assertEquals("Denver", filters.getString("to"));
+        assertEquals(2, filters.getInt("passengers"));
+        assertEquals(1.0, meterRegistry.get("genai.failover.calls").tag("backend", "local").tag("outcome", "success").counter().count());
+    }
+
+    @Test
+    void generateContent_WhenDeadlineExpired_ShouldThrowDeadlineExceeded() {
+        FailoverGenAIService service = service();
+
+        assertThrows(RequestDeadlineExceededException.class,
+                () -> service.generateContent(GenAIOperation.EXPLAIN, "Explain jet lag", RequestDeadline.after(Duration.ZERO)));
+        verify(primary, never()).generate(any(), any(), any(), any());
+        verify(secondary, never()).generate(any(), any(), any(), any());
+        assertEquals(1.0, meterRegistry.get("genai.failover.exhausted").counter().count());
+    }
+
+    @Test
+    void generateFusedSearch_WhenGoogleFails_ShouldAnswerSearchFiltersLocally() {
+        when(googleGenAIService.generateFusedSearch(anyString(), any(), any())).thenThrow(new GenAIException("google down"));
+
+        FusedSearchResult result = service().generateFusedSearch("from Boston to Denver for 2 people",
+                EnumSet.of(GenAISearchPart.SEARCH_FILTERS, GenAISearchPart.TRAVEL_ADVICE), RequestDeadline.none());
+
+        assertTrue(result.isValid(GenAISearchPart.SEARCH_FILTERS));
+        assertEquals("Boston", result.searchFilters().getFrom());
+        assertFalse(result.isValid(GenAISearchPart.TRAVEL_ADVICE));
+        assertTrue(result.errors().containsKey(GenAISearchPart.TRAVEL_ADVICE));
+    }
+
+    private FailoverGenAIService service() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        AIResponseValidator aiResponseValidator = new AIResponseValidator(objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        LocalGenAIBackend localGenAIBackend = new LocalGenAIBackend(applicationProperties, new TravelJsonExtractor());
+        return new FailoverGenAIService(applicationProperties, googleGenAIService, List.of(primary, secondary),
+                localGenAIBackend, aiResponseValidator, new RequestDeadlines(applicationProperties, meterRegistry), meterRegistry);
+    }
+
+    private static GenAIBackend backend(String name) {
+        GenAIBackend backend = mock(GenAIBackend.class);
+        when(backend.getName()).thenReturn(name);
+        when(backend.supports(any())).thenReturn(true);
+        return backend;
+    }
+}
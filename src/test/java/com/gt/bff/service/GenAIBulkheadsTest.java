@@ -0,0 +1,111 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import com.gt.bff.exception.GenAIRateLimitException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenAIBulkheadsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GenAIBulkheads bulkheads;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        ApplicationProperties.GenAI.Bulkhead advice = new ApplicationProperties.GenAI.Bulkhead();
+        advice.setMaxConcurrent(2);
+        advice.setMaxQueueSize(1);
+        advice.setQueueTimeout(1000);
+        applicationProperties.getGenai().getBulkheads().put("travel-advice", advice);
+        meterRegistry = new SimpleMeterRegistry();
+        bulkheads = new GenAIBulkheads(applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void acquire_WhenFullAndQueueFull_ShouldReject() throws Exception {
+        bulkheads.acquire(GenAIOperation.TRAVEL_ADVICE, Duration.ZERO);
+        bulkheads.acquire(GenAIOperation.TRAVEL_ADVICE, Duration.ZERO);
+        CompletableFuture<GenAIBulkheads.Permit> queued = CompletableFuture.supplyAsync(
+                () -> bulkheads.acquire(GenAIOperation.TRAVEL_ADVICE, Duration.ofSeconds(5)));
+        awaitQueueDepth(1);
+
+        assertThrows(GenAIRateLimitException.class,
+                () -> bulkheads.acquire(GenAIOperation.TRAVEL_ADVICE, Duration.ofSeconds(5)));
+        assertEquals(1.0, meterRegistry.get("genai.bulkhead.rejected")
+                .tag("operation", "travel-advice").counter().count());
+        queued.cancel(true);
+    }
+
+    @Test
+    void acquire_WhenFull_ShouldWaitNoLongerThanMaxWait() {
+        bulkheads.acquire(GenAIOperation.TRAVEL_ADVICE, Duration.ZERO);
+        bulkheads.acquire(GenAIOperation.TRAVEL_ADVICE, Duration.ZERO);
+
+        long start = System.nanoTime();
+        assertThrows(GenAIRateLimitException.class,
+                () -> bulkheads.acquire(GenAIOperation.TRAVEL_ADVICE, Duration.ofMillis(20)));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+    }
+
+    @Test
+    void release_ShouldLetQueuedCallerIn() throws Exception {
+        GenAIBulkheads.Permit first = bulkheads.acquire(GenAIOperation.TRAVEL_ADVICE, Duration.ZERO);
+        bulkheads.acquire(GenAIOperation.TRAVEL_ADVICE, Duration.ZERO);
+        CompletableFuture<GenAIBulkheads.Permit> queued = CompletableFuture.supplyAsync(
+                () -> bulkheads.acquire(GenAIOperation.TRAVEL_ADVICE, Duration.ofSeconds(5)));
+        awaitQueueDepth(1);
+
+        first.release();
+        first.release();
+
+        assertNotNull(queued.get(5, TimeUnit.SECONDS));
+        assertEquals(2, bulkheads.getActive(GenAIOperation.TRAVEL_ADVICE));
+    }
+
+    @Test
+    void tryAcquire_WhenFull_ShouldReturnEmptyAndCountRejection() {
+        bulkheads.acquire(GenAIOperation.TRAVEL_ADVICE, Duration.ZERO);
+        bulkheads.acquire(GenAIOperation.TRAVEL_ADVICE, Duration.ZERO);
+
+        assertTrue(bulkheads.tryAcquire(GenAIOperation.TRAVEL_ADVICE).isEmpty());
+        assertEquals(1.0, meterRegistry.get("genai.bulkhead.rejected")
+                .tag("operation", "travel-advice").counter().count());
+    }
+
+    @Test
+    void utilization_ShouldReflectSlotsInUse() {
+        GenAIBulkheads.Permit permit = bulkheads.acquire(GenAIOperation.TRAVEL_ADVICE, Duration.ZERO);
+
+        assertEquals(0.5, meterRegistry.get("genai.bulkhead.utilization")
+                .tag("operation", "travel-advice").gauge().value());
+        permit.release();
+        assertEquals(0.0, meterRegistry.get("genai.bulkhead.utilization")
+                .tag("operation", "travel-advice").gauge().value());
+    }
+
+    @Test
+    void acquire_ForOperationWithoutBulkhead_ShouldNotLimit() {
+        for (int i = 0; i < 100; i++) {
+            bulkheads.acquire(GenAIOperation.SEARCH_FILTERS, Duration.ZERO);
+        }
+
+        assertTrue(bulkheads.tryAcquire(GenAIOperation.SEARCH_FILTERS).isPresent());
+        assertNull(meterRegistry.find("genai.bulkhead.active").tag("operation", "search-filters").gauge());
+    }
+
+    private void awaitQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("genai.bulkhead.queue.depth").tag("operation", "travel-advice").gauge().value() < depth
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
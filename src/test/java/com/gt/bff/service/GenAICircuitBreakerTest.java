@@ -0,0 +1,144 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenAICircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(5);
+
+    private ApplicationProperties applicationProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private GenAICircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        ApplicationProperties.GenAI.Google google = applicationProperties.getGenai().getGoogle();
+        google.getCircuitBreaker().setWindowSize(4);
+        google.getCircuitBreaker().setMinimumCalls(4);
+        google.getCircuitBreaker().setFailureRateThreshold(50.0);
+        google.getCircuitBreaker().setSlowCallRateThreshold(75.0);
+        google.getCircuitBreaker().setSlowCallThreshold(1000);
+        google.getCircuitBreaker().setOpenDuration(50);
+        google.getCircuitBreaker().setHalfOpenCalls(2);
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new GenAICircuitBreaker(applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void failures_BelowMinimumCalls_ShouldKeepBreakerClosed() {
+        recordFailures(3);
+
+        assertEquals(GenAICircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void failureRate_AboveThreshold_ShouldOpenAndRejectCalls() {
+        recordSuccesses(2);
+        recordFailures(2);
+
+        assertEquals(GenAICircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertTrue(circuitBreaker.getRemainingOpenMillis() > 0);
+        assertEquals(1.0, meterRegistry.get("genai.circuit.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("genai.circuit.transitions")
+                .tag("from", "closed").tag("to", "open").counter().count());
+    }
+
+    @Test
+    void slowCallRate_AboveThreshold_ShouldOpen() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(circuitBreaker.tryAcquirePermission());
+            circuitBreaker.onSuccess(SLOW);
+        }
+        recordSuccesses(1);
+
+        assertEquals(GenAICircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void oldOutcomes_ShouldSlideOutOfWindow() {
+        recordFailures(1);
+        recordSuccesses(3);
+        recordSuccesses(1);
+        recordFailures(1);
+
+        assertEquals(GenAICircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void halfOpen_WithSuccessfulProbes_ShouldClose() throws InterruptedException {
+        recordFailures(4);
+        Thread.sleep(60);
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertEquals(GenAICircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+
+        circuitBreaker.onSuccess(FAST);
+        circuitBreaker.onSuccess(FAST);
+
+        assertEquals(GenAICircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(1.0, meterRegistry.get("genai.circuit.transitions")
+                .tag("from", "half_open").tag("to", "closed").counter().count());
+    }
+
+    @Test
+    void halfOpen_WithFailedProbe_ShouldReopen() throws InterruptedException {
+        recordFailures(4);
+        Thread.sleep(60);
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onError(FAST, new RuntimeException("still failing"));
+
+        assertEquals(GenAICircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void halfOpen_WithIgnoredProbe_ShouldFreeProbeSlotWithoutReopening() throws InterruptedException {
+        recordFailures(4);
+        Thread.sleep(60);
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onIgnored();
+
+        assertEquals(GenAICircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void disabledBreaker_ShouldAlwaysPermitCalls() {
+        applicationProperties.getGenai().getGoogle().getCircuitBreaker().setEnabled(false);
+
+        recordFailures(10);
+
+        assertEquals(GenAICircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    private void recordSuccesses(int count) {
+        for (int i = 0; i < count; i++) {
+            assertTrue(circuitBreaker.tryAcquirePermission());
+            circuitBreaker.onSuccess(FAST);
+        }
+    }
+
+    private void recordFailures(int count) {
+        for (int i = 0; i < count; i++) {
+            assertTrue(circuitBreaker.tryAcquirePermission());
+            circuitBreaker.onError(FAST, new RuntimeException("upstream error"));
+        }
+    }
+}
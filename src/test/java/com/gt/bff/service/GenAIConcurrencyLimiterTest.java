@@ -0,0 +1,205 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import com.gt.bff.exception.GenAIRateLimitException;
+import com.gt.bff.exception.GenAIRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenAIConcurrencyLimiterTest {
+
+    private ApplicationProperties applicationProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private GenAIConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        ApplicationProperties.GenAI.Google google = applicationProperties.getGenai().getGoogle();
+        google.getLimiter().setInitialLimit(4);
+        google.getLimiter().setMinLimit(1);
+        google.getLimiter().setMaxLimit(10);
+        google.getLimiter().setBackoffRatio(0.5);
+        google.getLimiter().setMaxQueueSize(1);
+        google.getLimiter().setQueueTimeout(20);
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new GenAIConcurrencyLimiter(applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void acquire_WhenLimitReached_ShouldRejectAfterQueueTimeout() throws Exception {
+        List<GenAIConcurrencyLimiter.Permit> permits = acquireAll(4);
+
+        assertThrows(GenAIRateLimitException.class, () -> limiter.acquire());
+        assertEquals(4, limiter.getInFlight());
+        assertEquals(1.0, meterRegistry.get("genai.limiter.rejected").counter().count());
+        permits.forEach(GenAIConcurrencyLimiter.Permit::onSuccess);
+    }
+
+    @Test
+    void tryAcquire_WhenLimitReached_ShouldReturnEmpty() throws Exception {
+        acquireAll(4);
+
+        assertTrue(limiter.tryAcquire().isEmpty());
+    }
+
+    @Test
+    void onSuccess_WhenSaturated_ShouldIncreaseLimit() throws Exception {
+        List<GenAIConcurrencyLimiter.Permit> permits = acquireAll(4);
+
+        permits.get(0).onSuccess();
+
+        assertEquals(5.0, limiter.getLimit());
+        assertEquals(3, limiter.getInFlight());
+    }
+
+    @Test
+    void onFailure_WithRateLimitOrTimeout_ShouldDecreaseLimit() throws Exception {
+        limiter.acquire().onFailure(new RuntimeException("wrapped", new GenAIRateLimitException("429")));
+        assertEquals(2.0, limiter.getLimit());
+
+        limiter.acquire().onFailure(new HttpTimeoutException("timed out"));
+        assertEquals(1.0, limiter.getLimit());
+    }
+
+    @Test
+    void onFailure_WithLocalRejection_ShouldKeepLimit() throws Exception {
+        limiter.acquire().onFailure(new GenAIRejectedException("All GenAI API keys are rate limited or out of quota"));
+
+        assertEquals(4.0, limiter.getLimit());
+    }
+
+    @Test
+    void onFailure_WithOtherError_ShouldKeepLimit() throws Exception {
+        limiter.acquire().onFailure(new IllegalArgumentException("bad request"));
+
+        assertEquals(4.0, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void permit_CompletedTwice_ShouldReleaseOnce() throws Exception {
+        GenAIConcurrencyLimiter.Permit permit = limiter.acquire();
+        limiter.acquire();
+
+        permit.onSuccess();
+        permit.onSuccess();
+
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void acquire_WhenDisabled_ShouldNeverReject() throws Exception {
+        applicationProperties.getGenai().getGoogle().getLimiter().setEnabled(false);
+
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(limiter.acquire());
+        }
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void release_WithSeveralClassesQueued_ShouldServeInteractiveFirst() throws Exception {
+        useSinglePermit();
+        GenAIConcurrencyLimiter.Permit holder = limiter.acquire();
+        CompletableFuture<GenAIConcurrencyLimiter.Permit> background = acquireAsync(GenAIPriority.BACKGROUND);
+        CompletableFuture<GenAIConcurrencyLimiter.Permit> interactive = acquireAsync(GenAIPriority.INTERACTIVE);
+
+        holder.onFailure(new IllegalArgumentException("bad request"));
+
+        GenAIConcurrencyLimiter.Permit first = interactive.get(1, TimeUnit.SECONDS);
+        assertFalse(background.isDone());
+        first.onFailure(new IllegalArgumentException("bad request"));
+        background.get(1, TimeUnit.SECONDS).onSuccess();
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void release_WhenBackgroundWaiterStarved_ShouldServeItBeforeInteractive() throws Exception {
+        useSinglePermit();
+        applicationProperties.getGenai().getGoogle().getLimiter().setStarvationThreshold(0);
+        GenAIConcurrencyLimiter.Permit holder = limiter.acquire();
+        CompletableFuture<GenAIConcurrencyLimiter.Permit> background = acquireAsync(GenAIPriority.BACKGROUND);
+        CompletableFuture<GenAIConcurrencyLimiter.Permit> interactive = acquireAsync(GenAIPriority.INTERACTIVE);
+
+        holder.onFailure(new IllegalArgumentException("bad request"));
+
+        GenAIConcurrencyLimiter.Permit first = background.get(1, TimeUnit.SECONDS);
+        assertFalse(interactive.isDone());
+        first.onFailure(new IllegalArgumentException("bad request"));
+        interactive.get(1, TimeUnit.SECONDS).onSuccess();
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void acquire_InBackground_ShouldWaitLongerThanInteractive() throws Exception {
+        List<GenAIConcurrencyLimiter.Permit> permits = acquireAll(4);
+        CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS)
+                .execute(() -> permits.get(0).onFailure(new IllegalArgumentException("bad request")));
+
+        assertThrows(GenAIRateLimitException.class, () -> limiter.acquire());
+        assertNotNull(GenAIPriority.callAs(GenAIPriority.BACKGROUND, () -> limiter.acquire()));
+        assertEquals(4, limiter.getInFlight());
+    }
+
+    @Test
+    void tryAcquire_WhenCallersQueued_ShouldNotJumpTheQueue() throws Exception {
+        useSinglePermit();
+        GenAIConcurrencyLimiter.Permit holder = limiter.acquire();
+        CompletableFuture<GenAIConcurrencyLimiter.Permit> background = acquireAsync(GenAIPriority.BACKGROUND);
+
+        assertTrue(limiter.tryAcquire().isEmpty());
+        holder.onFailure(new IllegalArgumentException("bad request"));
+        assertNotNull(background.get(1, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Leaves room for one call at a time, with enough queue and wait for the other classes to line up behind it
+     */
+    private void useSinglePermit() {
+        ApplicationProperties.GenAI.Google google = applicationProperties.getGenai().getGoogle();
+        google.getLimiter().setInitialLimit(1);
+        google.getLimiter().setQueueTimeout(5000);
+        google.getLimiter().setBackgroundQueueTimeout(5000);
+        limiter = new GenAIConcurrencyLimiter(applicationProperties, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Starts acquiring a permit in the given class and returns once the caller is queued
+     */
+    private CompletableFuture<GenAIConcurrencyLimiter.Permit> acquireAsync(GenAIPriority priority) throws Exception {
+        int expected = limiter.getQueueDepth(priority) + 1;
+        CompletableFuture<GenAIConcurrencyLimiter.Permit> permit = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.acquire(Duration.ofSeconds(5), priority);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.getQueueDepth(priority) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, limiter.getQueueDepth(priority));
+        return permit;
+    }
+
+    private List<GenAIConcurrencyLimiter.Permit> acquireAll(int count) throws InterruptedException {
+        List<GenAIConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            permits.add(limiter.acquire());
+        }
+        return permits;
+    }
+}
@@ -0,0 +1,117 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import com.gt.bff.exception.GenAIRateLimitException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenAIKeyPoolTest {
+
+    private ApplicationProperties applicationProperties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getGenai().getGoogle().getKeyPool().setPenalty(60000);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void select_ShouldSpreadCallsByWeight() {
+        GenAIKeyPool pool = pool(apiKey("project-a", "key-a", 2, 0), apiKey("project-b", "key-b", 1, 0));
+
+        Map<String, Integer> calls = new HashMap<>();
+        for (int i = 0; i < 30; i++) {
+            calls.merge(pool.select().getName(), 1, Integer::sum);
+        }
+
+        assertEquals(20, calls.get("project-a"));
+        assertEquals(10, calls.get("project-b"));
+        assertEquals(20.0, meterRegistry.get("genai.key.requests").tag("key", "project-a").counter().count());
+    }
+
+    @Test
+    void onRateLimited_ShouldTakeKeyOutOfRotation() {
+        GenAIKeyPool pool = pool(apiKey("project-a", "key-a", 1, 0), apiKey("project-b", "key-b", 1, 0));
+
+        GenAIKeyPool.Key limited = pool.select();
+        pool.onRateLimited(limited);
+
+        for (int i = 0; i < 5; i++) {
+            assertNotEquals(limited.getName(), pool.select().getName());
+        }
+        assertEquals(1.0, meterRegistry.get("genai.key.rate.limited").tag("key", limited.getName()).counter().count());
+        assertEquals(1.0, meterRegistry.get("genai.key.penalized").tag("key", limited.getName()).gauge().value());
+    }
+
+    @Test
+    void onRateLimited_WithZeroPenalty_ShouldKeepKeyInRotation() {
+        applicationProperties.getGenai().getGoogle().getKeyPool().setPenalty(0);
+        GenAIKeyPool pool = pool(apiKey("project-a", "key-a", 1, 0));
+
+        pool.onRateLimited(pool.select());
+
+        assertEquals("project-a", pool.select().getName());
+    }
+
+    @Test
+    void select_WhenKeyUsedItsQuota_ShouldSkipIt() {
+        GenAIKeyPool pool = pool(apiKey("project-a", "key-a", 5, 2), apiKey("project-b", "key-b", 1, 0));
+
+        List<String> names = List.of(pool.select().getName(), pool.select().getName(), pool.select().getName(),
+                pool.select().getName());
+
+        assertEquals(2, names.stream().filter("project-a"::equals).count());
+        assertEquals(2.0, meterRegistry.get("genai.key.window.requests").tag("key", "project-a").gauge().value());
+    }
+
+    @Test
+    void select_WhenEveryKeyIsUnavailable_ShouldThrowRateLimit() {
+        GenAIKeyPool pool = pool(apiKey("project-a", "key-a", 1, 1));
+        pool.select();
+
+        assertThrows(GenAIRateLimitException.class, pool::select);
+        assertEquals(1.0, meterRegistry.get("genai.key.exhausted").counter().count());
+    }
+
+    @Test
+    void select_WithoutKeyPool_ShouldUseSingleApiKey() {
+        applicationProperties.getGenai().getGoogle().setApiKey("single-key");
+        GenAIKeyPool pool = new GenAIKeyPool(applicationProperties, meterRegistry);
+
+        GenAIKeyPool.Key key = pool.select();
+
+        assertEquals("default", key.getName());
+        assertEquals("single-key", key.getValue());
+    }
+
+    @Test
+    void select_WithoutAnyKey_ShouldThrow() {
+        GenAIKeyPool pool = new GenAIKeyPool(applicationProperties, meterRegistry);
+
+        assertTrue(pool.isEmpty());
+        assertThrows(IllegalStateException.class, pool::select);
+    }
+
+    private GenAIKeyPool pool(ApplicationProperties.GenAI.ApiKey... apiKeys) {
+        applicationProperties.getGenai().getGoogle().getKeyPool().setKeys(List.of(apiKeys));
+        return new GenAIKeyPool(applicationProperties, meterRegistry);
+    }
+
+    private static ApplicationProperties.GenAI.ApiKey apiKey(String name, String key, int weight, int requestsPerMinute) {
+        ApplicationProperties.GenAI.ApiKey apiKey = new ApplicationProperties.GenAI.ApiKey();
+        apiKey.setName(name);
+        apiKey.setKey(key);
+        apiKey.setWeight(weight);
+        apiKey.setRequestsPerMinute(requestsPerMinute);
+        return apiKey;
+    }
+}
@@ -0,0 +1,112 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenAIModelRouterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(3);
+
+    private ApplicationProperties applicationProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private GenAIModelRouter router;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        ApplicationProperties.GenAI.Google google = applicationProperties.getGenai().getGoogle();
+        google.setDefaultModel("default-model");
+        google.getModelRouting().setEnabled(true);
+        google.getModelRouting().setFallbackModel("lite-model");
+        google.getModelRouting().setLatencySlo(1000);
+        google.getModelRouting().setErrorRateThreshold(0.5);
+        google.getModelRouting().setStatsMinSamples(4);
+        google.getModelRouting().setStatsWindow(60000);
+
+        ApplicationProperties.GenAI.ModelRoute advice = new ApplicationProperties.GenAI.ModelRoute();
+        advice.setModel("flash-model");
+        advice.setLongPromptModel("pro-model");
+        advice.setLongPromptThreshold(20);
+        google.getModelRouting().getRoutes().put(GenAIOperation.TRAVEL_ADVICE.getKey(), advice);
+
+        meterRegistry = new SimpleMeterRegistry();
+        router = new GenAIModelRouter(applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void route_WithRoutingDisabled_ShouldUseDefaultModel() {
+        applicationProperties.getGenai().getGoogle().getModelRouting().setEnabled(false);
+
+        assertEquals("default-model", router.route(GenAIOperation.TRAVEL_ADVICE, "short"));
+    }
+
+    @Test
+    void route_WithoutRule_ShouldUseDefaultModel() {
+        assertEquals("default-model", router.route(GenAIOperation.EXPLAIN, "short"));
+    }
+
+    @Test
+    void route_WithRule_ShouldPickModelByPromptLength() {
+        assertEquals("flash-model", router.route(GenAIOperation.TRAVEL_ADVICE, "short"));
+        assertEquals("pro-model", router.route(GenAIOperation.TRAVEL_ADVICE, "a prompt well over twenty characters"));
+    }
+
+    @Test
+    void route_WhenP95ExceedsSlo_ShouldDowngradeToFallback() {
+        record("flash-model", 3, FAST, true);
+        record("flash-model", 1, SLOW, true);
+
+        assertEquals("lite-model", router.route(GenAIOperation.TRAVEL_ADVICE, "short"));
+        assertEquals(1.0, meterRegistry.get("genai.model.downgrades")
+                .tag("operation", "travel-advice").tag("from", "flash-model").tag("to", "lite-model")
+                .counter().count());
+    }
+
+    @Test
+    void route_WhenErrorRateExceedsThreshold_ShouldDowngradeToFallback() {
+        record("flash-model", 1, FAST, true);
+        record("flash-model", 3, FAST, false);
+
+        assertEquals("lite-model", router.route(GenAIOperation.TRAVEL_ADVICE, "short"));
+        assertEquals(3.0, meterRegistry.get("genai.model.errors").tag("model", "flash-model").counter().count());
+    }
+
+    @Test
+    void route_BelowMinimumSamples_ShouldKeepPreferredModel() {
+        record("flash-model", 3, SLOW, false);
+
+        assertEquals("flash-model", router.route(GenAIOperation.TRAVEL_ADVICE, "short"));
+    }
+
+    @Test
+    void route_WhenFallbackIsAlsoUnhealthy_ShouldKeepPreferredModel() {
+        record("flash-model", 4, SLOW, true);
+        record("lite-model", 4, SLOW, true);
+
+        assertEquals("flash-model", router.route(GenAIOperation.TRAVEL_ADVICE, "short"));
+    }
+
+    @Test
+    void route_AfterSamplesLeaveWindow_ShouldReturnToPreferredModel() throws InterruptedException {
+        applicationProperties.getGenai().getGoogle().getModelRouting().setStatsWindow(20);
+        record("flash-model", 4, SLOW, true);
+        assertEquals("lite-model", router.route(GenAIOperation.TRAVEL_ADVICE, "short"));
+
+        Thread.sleep(50);
+
+        assertEquals("flash-model", router.route(GenAIOperation.TRAVEL_ADVICE, "short"));
+    }
+
+    private void record(String model, int calls, long durationNanos, boolean success) {
+        for (int i = 0; i < calls; i++) {
+            router.record(model, durationNanos, success);
+        }
+    }
+}
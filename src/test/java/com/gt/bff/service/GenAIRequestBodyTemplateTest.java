@@ -0,0 +1,66 @@
+package com.gt.bff.service;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenAIRequestBodyTemplateTest {
+
+    private static final String GENERATION_CONFIG = "{\"temperature\":0.7,\"topP\":0.9,\"topK\":40}";
+
+    private final GenAIRequestBodyTemplate template = new GenAIRequestBodyTemplate(GENERATION_CONFIG);
+
+    @Test
+    void render_ShouldProduceGenerateContentRequest() {
+        JSONObject body = parse(template.render("Plan a trip to Paris"));
+
+        assertEquals("Plan a trip to Paris", body.getJSONArray("contents").getJSONObject(0)
+                .getJSONArray("parts").getJSONObject(0).getString("text"));
+        assertEquals(0.7, body.getJSONObject("generationConfig").getDouble("temperature"), 0.001);
+        assertEquals(40, body.getJSONObject("generationConfig").getInt("topK"));
+    }
+
+    @Test
+    void render_ShouldRoundTripCharactersThatNeedEscaping() {
+        String prompt = "Line 1\nSay \"hi\" \\ tab\there\r\n\u0001 café 🚀 </script>";
+
+        JSONObject body = parse(template.render(prompt));
+
+        assertEquals(prompt, body.getJSONArray("contents").getJSONObject(0)
+                .getJSONArray("parts").getJSONObject(0).getString("text"));
+    }
+
+    @Test
+    void render_ShouldReuseEnvelopeFragments() {
+        List<byte[]> first = template.render("a");
+        List<byte[]> second = template.render("b");
+
+        assertSame(first.get(0), second.get(0));
+        assertSame(first.get(2), second.get(2));
+    }
+
+    @Test
+    void escape_WithPlainText_ShouldReturnUtf8Bytes() {
+        assertArrayEquals("café".getBytes(StandardCharsets.UTF_8), GenAIRequestBodyTemplate.escape("café"));
+        assertEquals("\\u001f", new String(GenAIRequestBodyTemplate.escape("\u001f"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void publisherFor_ShouldReportFullContentLength() {
+        String prompt = "Weekend in Rome";
+        int expected = template.render(prompt).stream().mapToInt(fragment -> fragment.length).sum();
+
+        assertEquals(expected, template.publisherFor(prompt).contentLength());
+    }
+
+    private static JSONObject parse(List<byte[]> fragments) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        fragments.forEach(body::writeBytes);
+        return new JSONObject(body.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,164 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import com.gt.bff.exception.RequestDeadlineExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenAIRequestCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GenAIRequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new GenAIRequestCoalescer(meterRegistry, new RequestDeadlines(new ApplicationProperties(), meterRegistry));
+    }
+
+    @Test
+    void execute_WithConcurrentIdenticalRequests_ShouldCallUpstreamOnce() throws Exception {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> coalescer.execute("key", () -> {
+            upstreamCalls.incrementAndGet();
+            leaderStarted.countDown();
+            await(releaseLeader);
+            return "shared result";
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> coalescer.execute("key", () -> {
+            upstreamCalls.incrementAndGet();
+            return "own result";
+        }));
+        waitForCoalescedCount(1);
+        releaseLeader.countDown();
+
+        assertEquals("shared result", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("shared result", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void execute_AfterLeaderCompletes_ShouldStartNewCall() {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        coalescer.execute("key", () -> "first-" + upstreamCalls.incrementAndGet());
+        String second = coalescer.execute("key", () -> "second-" + upstreamCalls.incrementAndGet());
+
+        assertEquals("second-2", second);
+        assertEquals(0.0, meterRegistry.get("genai.request.coalesced").counter().count());
+    }
+
+    @Test
+    void execute_WhenLeaderFails_ShouldPropagateException() {
+        RuntimeException failure = new RuntimeException("upstream down");
+
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+            () -> coalescer.execute("key", () -> { throw failure; }));
+
+        assertSame(failure, thrown);
+    }
+
+    @Test
+    void execute_WhenFollowerDeadlinePasses_ShouldStopWaitingForLeader() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> coalescer.execute("key", () -> {
+            leaderStarted.countDown();
+            await(releaseLeader);
+            return "shared result";
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        try {
+            assertThrows(RequestDeadlineExceededException.class, () -> coalescer.execute(
+                "key", RequestDeadline.after(Duration.ofMillis(50)), () -> "own result"));
+        } finally {
+            releaseLeader.countDown();
+        }
+        assertEquals("shared result", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_WhenLeaderRunsOutOfItsDeadline_ShouldRetryWithFollowerBudget() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> coalescer.execute("key", () -> {
+            leaderStarted.countDown();
+            await(releaseLeader);
+            throw new RequestDeadlineExceededException("Request deadline exceeded during genai-call");
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> coalescer.execute(
+            "key", RequestDeadline.after(Duration.ofSeconds(5)), () -> "own result"));
+        waitForCoalescedCount(1);
+        releaseLeader.countDown();
+
+        assertEquals("own result", follower.get(5, TimeUnit.SECONDS));
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RequestDeadlineExceededException.class, leaderFailure.getCause());
+    }
+
+    @Test
+    void executeAsync_WithPendingLeader_ShouldShareResult() throws Exception {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        CompletableFuture<String> first = coalescer.executeAsync("key", () -> {
+            upstreamCalls.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<String> second = coalescer.executeAsync("key", () -> {
+            upstreamCalls.incrementAndGet();
+            return CompletableFuture.completedFuture("own result");
+        });
+        upstream.complete("shared result");
+
+        assertEquals("shared result", first.get());
+        assertEquals("shared result", second.get());
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1.0, meterRegistry.get("genai.request.coalesced").counter().count());
+    }
+
+    @Test
+    void executeAsync_WhenFollowerCancels_ShouldNotAffectLeader() throws ExecutionException, InterruptedException {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = coalescer.executeAsync("key", () -> upstream);
+        CompletableFuture<String> second = coalescer.executeAsync("key", () -> upstream);
+        second.cancel(true);
+        upstream.complete("result");
+
+        assertEquals("result", first.get());
+    }
+
+    private void waitForCoalescedCount(double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("genai.request.coalesced").counter().count() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
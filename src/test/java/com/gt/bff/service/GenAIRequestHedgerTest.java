@@ -0,0 +1,143 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenAIRequestHedgerTest {
+
+    private ApplicationProperties applicationProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private GenAIRequestHedger hedger;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        ApplicationProperties.GenAI.Google google = applicationProperties.getGenai().getGoogle();
+        google.getHedging().setMinSamples(5);
+        google.getHedging().setMinDelay(20);
+        google.getHedging().setPercentile(90.0);
+        google.getHedging().setMaxRatio(1.0);
+        meterRegistry = new SimpleMeterRegistry();
+        hedger = new GenAIRequestHedger(applicationProperties, meterRegistry);
+        hedger.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hedger.shutdown();
+    }
+
+    @Test
+    void execute_WithTooFewSamples_ShouldNotHedge() throws Exception {
+        CompletableFuture<String> slow = new CompletableFuture<>();
+        List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<String> result = hedger.execute(() -> {
+            attempts.add(slow);
+            return slow;
+        });
+        Thread.sleep(100);
+        slow.complete("primary");
+
+        assertEquals("primary", result.get(1, TimeUnit.SECONDS));
+        assertEquals(1, attempts.size());
+        assertEquals(0.0, meterRegistry.get("genai.hedge.requests").counter().count());
+    }
+
+    @Test
+    void execute_WhenPrimaryIsSlow_ShouldReturnHedgeAndCancelPrimary() throws Exception {
+        warmUp();
+        CompletableFuture<String> slowPrimary = new CompletableFuture<>();
+        List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<String> result = hedger.execute(() -> {
+            CompletableFuture<String> attempt = attempts.isEmpty() ? slowPrimary : CompletableFuture.completedFuture("hedge");
+            attempts.add(attempt);
+            return attempt;
+        });
+
+        assertEquals("hedge", result.get(2, TimeUnit.SECONDS));
+        assertEquals(2, attempts.size());
+        assertTrue(slowPrimary.isCancelled());
+        assertEquals(1.0, meterRegistry.get("genai.hedge.requests").counter().count());
+        assertEquals(1.0, meterRegistry.get("genai.hedge.wins").counter().count());
+    }
+
+    @Test
+    void execute_WhenHedging_ShouldSendBackupInCallersPriorityClass() throws Exception {
+        warmUp();
+        CompletableFuture<String> slowPrimary = new CompletableFuture<>();
+        List<GenAIPriority> priorities = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<String> result = GenAIPriority.callAs(GenAIPriority.BACKGROUND, () -> hedger.execute(() -> {
+            priorities.add(GenAIPriority.current());
+            return priorities.size() == 1 ? slowPrimary : CompletableFuture.completedFuture("hedge");
+        }));
+
+        assertEquals("hedge", result.get(2, TimeUnit.SECONDS));
+        assertEquals(List.of(GenAIPriority.BACKGROUND, GenAIPriority.BACKGROUND), priorities);
+    }
+
+    @Test
+    void execute_WhenPrimaryFailsWhileHedgePending_ShouldWaitForHedge() throws Exception {
+        warmUp();
+        CompletableFuture<String> primary = new CompletableFuture<>();
+        CompletableFuture<String> backup = new CompletableFuture<>();
+        List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<String> result = hedger.execute(() -> {
+            CompletableFuture<String> attempt = attempts.isEmpty() ? primary : backup;
+            attempts.add(attempt);
+            return attempt;
+        });
+        waitForAttempts(attempts, 2);
+        primary.completeExceptionally(new RuntimeException("upstream error"));
+        assertFalse(result.isDone());
+        backup.complete("backup");
+
+        assertEquals("backup", result.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_WithNoBudget_ShouldSkipHedge() throws Exception {
+        applicationProperties.getGenai().getGoogle().getHedging().setMaxRatio(0.0);
+        warmUp();
+        CompletableFuture<String> slow = new CompletableFuture<>();
+        List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<String> result = hedger.execute(() -> {
+            attempts.add(slow);
+            return slow;
+        });
+        Thread.sleep(100);
+        slow.complete("primary");
+
+        assertEquals("primary", result.get(1, TimeUnit.SECONDS));
+        assertEquals(1, attempts.size());
+        assertTrue(meterRegistry.get("genai.hedge.budget.exhausted").counter().count() >= 1.0);
+    }
+
+    private void warmUp() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            hedger.execute(() -> CompletableFuture.completedFuture("warm")).get();
+        }
+    }
+
+    private static void waitForAttempts(List<CompletableFuture<String>> attempts, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (attempts.size() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, attempts.size());
+    }
+}
@@ -0,0 +1,105 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenAIResponseCacheTest {
+
+    private ApplicationProperties applicationProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private GenAIResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().setEnabled(true);
+        applicationProperties.getCache().setTtl(300);
+        applicationProperties.getCache().setMaxSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new GenAIResponseCache(applicationProperties, new GenAIResponseStore(applicationProperties, meterRegistry),
+                meterRegistry);
+    }
+
+    @Test
+    void buildKey_WithPromptsDifferingOnlyInWhitespace_ShouldMatch() {
+        String key1 = GenAIResponseCache.buildKey("gemini-2.5-flash", "Boston to   Denver\n", "{}");
+        String key2 = GenAIResponseCache.buildKey("gemini-2.5-flash", "  Boston to Denver", "{}");
+
+        assertEquals(key1, key2);
+    }
+
+    @Test
+    void buildKey_WithDifferentModelOrConfig_ShouldDiffer() {
+        String base = GenAIResponseCache.buildKey("gemini-2.5-flash", "prompt", "{\"temperature\":0.2}");
+
+        assertNotEquals(base, GenAIResponseCache.buildKey("gemini-2.5-pro", "prompt", "{\"temperature\":0.2}"));
+        assertNotEquals(base, GenAIResponseCache.buildKey("gemini-2.5-flash", "prompt", "{\"temperature\":0.9}"));
+    }
+
+    @Test
+    void get_AfterPut_ShouldReturnValueAndCountHit() {
+        cache.put("key", "value");
+
+        assertEquals("value", cache.get("key"));
+        assertNull(cache.get("missing"));
+        assertEquals(1.0, meterRegistry.get("genai.cache.hits").counter().count());
+        assertEquals(1.0, meterRegistry.get("genai.cache.misses").counter().count());
+    }
+
+    @Test
+    void put_BeyondMaxSize_ShouldEvictLeastRecentlyUsed() {
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+        cache.put("c", "3");
+
+        assertEquals(2, cache.size());
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1.0, meterRegistry.get("genai.cache.evictions").tag("cause", "size").counter().count());
+    }
+
+    @Test
+    void invalidateAll_ShouldRemoveAllEntries() {
+        cache.put("a", "1");
+        cache.put("b", "2");
+
+        assertEquals(2, cache.invalidateAll());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void isEnabled_WithCacheDisabled_ShouldReturnFalse() {
+        applicationProperties.getCache().setEnabled(false);
+
+        assertFalse(cache.isEnabled());
+    }
+
+    @Test
+    void get_AfterRestart_ShouldServeFromPersistentStore(@TempDir Path directory) {
+        applicationProperties.getCache().setPersistentEnabled(true);
+        applicationProperties.getCache().setPersistentPath(directory.resolve("cache.log").toString());
+        applicationProperties.getCache().setPersistentMaxBytes(64 * 1024);
+        GenAIResponseStore store = new GenAIResponseStore(applicationProperties, meterRegistry);
+        store.open();
+        new GenAIResponseCache(applicationProperties, store, meterRegistry).put("key", "value");
+        store.close();
+
+        SimpleMeterRegistry restartedRegistry = new SimpleMeterRegistry();
+        GenAIResponseStore restartedStore = new GenAIResponseStore(applicationProperties, restartedRegistry);
+        restartedStore.open();
+        GenAIResponseCache restarted = new GenAIResponseCache(applicationProperties, restartedStore, restartedRegistry);
+
+        assertEquals("value", restarted.get("key"));
+        assertEquals(1, restarted.size());
+        assertEquals(1.0, restartedRegistry.get("genai.cache.persistent.hits").counter().count());
+        restartedStore.close();
+    }
+}
@@ -0,0 +1,159 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenAIResponseStoreTest {
+
+    private static final String VALUE = "x".repeat(100);
+
+    @TempDir
+    Path directory;
+
+    private ApplicationProperties applicationProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private GenAIResponseStore store;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().setPersistentEnabled(true);
+        applicationProperties.getCache().setPersistentPath(directory.resolve("cache.log").toString());
+        applicationProperties.getCache().setPersistentMaxBytes(512);
+        meterRegistry = new SimpleMeterRegistry();
+        store = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void get_AfterReopen_ShouldReturnLatestValue() {
+        store.put("a", "first", expiresIn(60000));
+        store.put("a", "second", expiresIn(60000));
+        store.put("b", "other", expiresIn(60000));
+
+        reopen();
+
+        assertEquals("second", store.get("a").value());
+        assertEquals("other", store.get("b").value());
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void get_WhenExpired_ShouldReturnNullAndNotReload() {
+        store.put("a", "value", expiresIn(-1));
+
+        assertNull(store.get("a"));
+        reopen();
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void put_WhenLogIsFull_ShouldCompactToLiveEntries() {
+        // Each record takes 125 bytes, so four fit in the 512 byte log
+        for (int i = 0; i < 4; i++) {
+            store.put("a", VALUE, expiresIn(60000));
+        }
+
+        store.put("b", VALUE, expiresIn(60000));
+
+        assertEquals(1.0, meterRegistry.get("genai.cache.persistent.compactions").counter().count());
+        assertEquals(250, store.usedBytes());
+        reopen();
+        assertEquals(VALUE, store.get("a").value());
+        assertEquals(VALUE, store.get("b").value());
+    }
+
+    @Test
+    void put_WhenLogIsFullOfLiveEntries_ShouldEvictDownToHalf() {
+        // Each record takes 129 bytes, so the fourth one triggers compaction
+        for (int i = 0; i < 4; i++) {
+            store.put("key-" + i, VALUE, expiresIn(60000 + i));
+        }
+
+        assertEquals(2, store.size());
+        assertEquals(VALUE, store.get("key-2").value());
+        assertEquals(VALUE, store.get("key-3").value());
+        assertNull(store.get("key-0"));
+        assertEquals(2.0, meterRegistry.get("genai.cache.persistent.evictions").counter().count());
+    }
+
+    @Test
+    void put_WithValueLargerThanHalfTheLog_ShouldDrop() {
+        store.put("a", "x".repeat(300), expiresIn(60000));
+
+        assertNull(store.get("a"));
+        assertEquals(1.0, meterRegistry.get("genai.cache.persistent.dropped").counter().count());
+    }
+
+    @Test
+    void clear_ShouldNotLetOldRecordsReappearAfterReopen() {
+        store.put("a", "1", expiresIn(60000));
+        store.put("b", "2", expiresIn(60000));
+
+        store.clear();
+        store.put("c", "3", expiresIn(60000));
+        reopen();
+
+        assertEquals(1, store.size());
+        assertEquals("3", store.get("c").value());
+        assertNull(store.get("b"));
+    }
+
+    @Test
+    void open_WithCorruptRecord_ShouldKeepRecordsBeforeIt() throws IOException {
+        store.put("a", "1", expiresIn(60000));
+        store.put("b", "2", expiresIn(60000));
+        store.close();
+
+        // Flip the value byte of the second record, which starts after the 26 bytes of the first
+        try (FileChannel channel = FileChannel.open(directory.resolve("cache.log"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'9'}), 26 + 25);
+        }
+        store = open();
+
+        assertEquals("1", store.get("a").value());
+        assertNull(store.get("b"));
+    }
+
+    @Test
+    void open_WhenDisabled_ShouldStayClosed() {
+        applicationProperties.getCache().setPersistentEnabled(false);
+        GenAIResponseStore disabled = open();
+
+        disabled.put("a", "1", expiresIn(60000));
+
+        assertFalse(disabled.isOpen());
+        assertNull(disabled.get("a"));
+    }
+
+    private GenAIResponseStore open() {
+        GenAIResponseStore opened = new GenAIResponseStore(applicationProperties, meterRegistry);
+        opened.open();
+        return opened;
+    }
+
+    private void reopen() {
+        store.close();
+        store = open();
+    }
+
+    private static long expiresIn(long millis) {
+        return System.currentTimeMillis() + millis;
+    }
+}
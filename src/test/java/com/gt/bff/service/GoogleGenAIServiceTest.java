@@ -1,16 +1,29 @@
 package com.gt.bff.service;
 
 import com.gt.bff.config.ApplicationProperties;
+import com.gt.bff.exception.GenAIRejectedException;
+import com.gt.bff.exception.RequestDeadlineExceededException;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -46,12 +59,49 @@ class GoogleGenAIServiceTest {
     @Mock
     private AIResponseValidator aiResponseValidator;
     
+    @Mock
+    private GenAITransport genAITransport;
+    
+    @Mock
+    private GenAIResponseCache genAIResponseCache;
+    
+    @Spy
+    private GenAIConcurrencyLimiter genAIConcurrencyLimiter =
+        new GenAIConcurrencyLimiter(new ApplicationProperties(), new SimpleMeterRegistry());
+    
+    @Spy
+    private GenAICircuitBreaker genAICircuitBreaker =
+        new GenAICircuitBreaker(new ApplicationProperties(), new SimpleMeterRegistry());
+    
+    @Spy
+    private GenAIModelRouter genAIModelRouter =
+        new GenAIModelRouter(new ApplicationProperties(), new SimpleMeterRegistry());
+    
+    @Spy
+    private RequestDeadlines requestDeadlines =
+        new RequestDeadlines(new ApplicationProperties(), new SimpleMeterRegistry());
+    
+    @Spy
+    private GenAIBulkheads genAIBulkheads =
+        new GenAIBulkheads(new ApplicationProperties(), new SimpleMeterRegistry());
+    
+    @Spy
+    private GenAIKeyPool genAIKeyPool = new GenAIKeyPool(keyPoolProperties(), new SimpleMeterRegistry());
+    
+    @Mock
+    private HttpResponse<InputStream> httpResponse;
+    
+    @Mock
+    private HttpResponse<String> stringHttpResponse;
+    
     @InjectMocks
     private GoogleGenAIService googleGenAIService;
     
     private static final String TEST_API_KEY = "test-api-key";
     private static final String TEST_MODEL = "gemini-pro";
     private static final String TEST_PROMPT = "Test prompt";
+
+    private final ApplicationProperties.GenAI.Hedging hedging = new ApplicationProperties.GenAI.Hedging();
     
     @BeforeEach
     void setUp() {
@@ -68,6 +118,8 @@ class GoogleGenAIServiceTest {
         lenient().when(genAiGoogle.getExplainPromptTemplate()).thenReturn("Explain {topic}");
         lenient().when(genAiGoogle.getTravelAdvicePromptTemplate()).thenReturn("Travel advice for {query}");
         lenient().when(genAiGoogle.getLocationExtractionPromptTemplate()).thenReturn("Extract location from {query}");
+        lenient().when(genAiGoogle.getKeyPool()).thenReturn(new ApplicationProperties.GenAI.KeyPool());
+        lenient().when(genAiGoogle.getHedging()).thenReturn(hedging);
         
         // Setup metrics mocks to avoid NullPointerException
         lenient().doNothing().when(genaiRequestTimer).record(anyLong(), any(TimeUnit.class));
@@ -75,7 +127,18 @@ class GoogleGenAIServiceTest {
     
     @Test
     void init_WithValidApiKey_SetsInitializedToTrue() {
-        when(genAiGoogle.getApiKey()).thenReturn(TEST_API_KEY);
+        googleGenAIService.init();
+        
+        assertTrue((boolean) ReflectionTestUtils.getField(googleGenAIService, "isInitialized"));
+    }
+    
+    @Test
+    void init_WithPooledKeysOnly_SetsInitializedToTrue() {
+        ApplicationProperties properties = new ApplicationProperties();
+        ApplicationProperties.GenAI.ApiKey pooled = new ApplicationProperties.GenAI.ApiKey();
+        pooled.setKey(TEST_API_KEY);
+        properties.getGenai().getGoogle().getKeyPool().getKeys().add(pooled);
+        ReflectionTestUtils.setField(googleGenAIService, "genAIKeyPool", new GenAIKeyPool(properties, new SimpleMeterRegistry()));
         
         googleGenAIService.init();
         
@@ -84,7 +147,7 @@ class GoogleGenAIServiceTest {
     
     @Test
     void init_WithNullApiKey_KeepsInitializedFalse() {
-        when(genAiGoogle.getApiKey()).thenReturn(null);
+        useKeyPool(null);
         
         googleGenAIService.init();
         
@@ -93,7 +156,7 @@ class GoogleGenAIServiceTest {
     
     @Test
     void init_WithEmptyApiKey_KeepsInitializedFalse() {
-        when(genAiGoogle.getApiKey()).thenReturn("");
+        useKeyPool("");
         
         googleGenAIService.init();
         
@@ -102,8 +165,6 @@ class GoogleGenAIServiceTest {
     
     @Test
     void isAvailable_WhenInitialized_ReturnsTrue() {
-        when(genAiGoogle.getApiKey()).thenReturn(TEST_API_KEY);
-        
         googleGenAIService.init();
         
         assertTrue(googleGenAIService.isAvailable());
@@ -111,7 +172,7 @@ class GoogleGenAIServiceTest {
     
     @Test
     void isAvailable_WhenNotInitialized_ReturnsFalse() {
-        when(genAiGoogle.getApiKey()).thenReturn(null);
+        doReturn(true).when(genAIKeyPool).isEmpty();
         
         googleGenAIService.init();
         
@@ -120,7 +181,7 @@ class GoogleGenAIServiceTest {
     
     @Test
     void generateContent_WhenNotInitialized_ThrowsIllegalStateException() {
-        when(genAiGoogle.getApiKey()).thenReturn(null);
+        doReturn(true).when(genAIKeyPool).isEmpty();
         googleGenAIService.init();
         
         assertThrows(IllegalStateException.class, 
@@ -129,7 +190,7 @@ class GoogleGenAIServiceTest {
     
     @Test
     void explainTopic_WhenNotInitialized_ReturnsFallbackExplanation() {
-        when(genAiGoogle.getApiKey()).thenReturn(null);
+        doReturn(true).when(genAIKeyPool).isEmpty();
         when(genAiGoogle.getExplainPromptTemplate()).thenReturn("Explain {topic}");
         googleGenAIService.init();
         
@@ -138,9 +199,67 @@ class GoogleGenAIServiceTest {
         assertEquals("Unable to generate explanation at this time.", result);
     }
     
+    @Test
+    void explainTopic_WhenBulkheadFull_ReturnsFallbackWithoutCallingUpstream() {
+        googleGenAIService.init();
+        ApplicationProperties bulkheadProperties = new ApplicationProperties();
+        ApplicationProperties.GenAI.Bulkhead explain = new ApplicationProperties.GenAI.Bulkhead();
+        explain.setMaxConcurrent(1);
+        explain.setMaxQueueSize(0);
+        bulkheadProperties.getGenai().getBulkheads().put("explain", explain);
+        GenAIBulkheads bulkheads = new GenAIBulkheads(bulkheadProperties, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(googleGenAIService, "genAIBulkheads", bulkheads);
+        GenAIBulkheads.Permit held = bulkheads.acquire(GenAIOperation.EXPLAIN, Duration.ZERO);
+        
+        String result = googleGenAIService.explainTopic("test topic");
+        
+        assertEquals("Unable to generate explanation at this time.", result);
+        verifyNoInteractions(genAITransport);
+        held.release();
+    }
+    
+    @Test
+    void generateContent_WithCoalescedCallers_ShouldHoldOneBulkheadSlot() throws Exception {
+        when(genAiGoogle.isCoalesceRequests()).thenReturn(true);
+        googleGenAIService.init();
+        ApplicationProperties bulkheadProperties = new ApplicationProperties();
+        ApplicationProperties.GenAI.Bulkhead general = new ApplicationProperties.GenAI.Bulkhead();
+        general.setMaxConcurrent(1);
+        general.setMaxQueueSize(0);
+        bulkheadProperties.getGenai().getBulkheads().put("general", general);
+        ReflectionTestUtils.setField(googleGenAIService, "genAIBulkheads",
+            new GenAIBulkheads(bulkheadProperties, new SimpleMeterRegistry()));
+        SimpleMeterRegistry coalescerRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(googleGenAIService, "genAIRequestCoalescer",
+            new GenAIRequestCoalescer(coalescerRegistry, requestDeadlines));
+        String body = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"ok\"}]}}]}";
+        when(httpResponse.statusCode()).thenReturn(200);
+        when(httpResponse.body()).thenReturn(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        CountDownLatch upstreamCalled = new CountDownLatch(1);
+        CountDownLatch upstreamReleased = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            upstreamCalled.countDown();
+            upstreamReleased.await();
+            return httpResponse;
+        }).when(genAITransport).send(any(), any(), any(), any());
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> googleGenAIService.generateContent(TEST_PROMPT));
+        assertTrue(upstreamCalled.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> googleGenAIService.generateContent(TEST_PROMPT));
+        while (coalescerRegistry.get("genai.request.coalesced").counter().count() < 1) {
+            assertFalse(follower.isDone(), "follower should join the leader instead of taking a bulkhead slot");
+            Thread.sleep(1);
+        }
+        upstreamReleased.countDown();
+
+        assertEquals("ok", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("ok", follower.get(5, TimeUnit.SECONDS));
+        verify(genAITransport, times(1)).send(any(), any(), any(), any());
+    }
+    
     @Test
     void processTravelQuery_WhenNotInitialized_ReturnsFallbackResponse() {
-        when(genAiGoogle.getApiKey()).thenReturn(null);
+        doReturn(true).when(genAIKeyPool).isEmpty();
         when(genAiGoogle.getTravelAdvicePromptTemplate()).thenReturn("Travel advice for {query}");
         googleGenAIService.init();
         
@@ -151,7 +270,7 @@ class GoogleGenAIServiceTest {
     
     @Test
     void extractGeoLocation_WhenNotInitialized_ReturnsFallbackLocation() {
-        when(genAiGoogle.getApiKey()).thenReturn(null);
+        doReturn(true).when(genAIKeyPool).isEmpty();
         when(genAiGoogle.getLocationExtractionPromptTemplate()).thenReturn("Extract location from {query}");
         googleGenAIService.init();
         
@@ -163,7 +282,6 @@ class GoogleGenAIServiceTest {
     @Test
     void generateContent_WithInitializedService_ShouldCallCorrectMethods() {
         // Setup initialization
-        when(genAiGoogle.getApiKey()).thenReturn(TEST_API_KEY);
         googleGenAIService.init();
         
         // Test that the service attempts to generate content when initialized
@@ -178,7 +296,6 @@ class GoogleGenAIServiceTest {
     @Test
     void generateContent_WithSpecificModel_ShouldCallCorrectMethods() {
         // Setup initialization
-        when(genAiGoogle.getApiKey()).thenReturn(TEST_API_KEY);
         googleGenAIService.init();
         
         // Test that the service attempts to generate content with specific model
@@ -193,7 +310,6 @@ class GoogleGenAIServiceTest {
     @Test
     void generateContent_WithConnectionError_ShouldIncrementErrorCounter() {
         // Setup initialization
-        when(genAiGoogle.getApiKey()).thenReturn(TEST_API_KEY);
         googleGenAIService.init();
         
         // Test that connection errors are handled correctly
@@ -208,7 +324,6 @@ class GoogleGenAIServiceTest {
     @Test
     void generateContent_WithIOException_ShouldHandleError() {
         // Setup initialization
-        when(genAiGoogle.getApiKey()).thenReturn(TEST_API_KEY);
         googleGenAIService.init();
         
         // Test IOException handling
@@ -223,7 +338,6 @@ class GoogleGenAIServiceTest {
     @Test
     void extractTextFromResponse_WithValidResponse_ShouldReturnText() {
         // Setup initialization
-        when(genAiGoogle.getApiKey()).thenReturn(TEST_API_KEY);
         googleGenAIService.init();
         
         String jsonResponse = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"Extracted text\"}]}}]}";
@@ -238,7 +352,6 @@ class GoogleGenAIServiceTest {
     @Test
     void extractTextFromResponse_WithEmptyResponse_ShouldReturnNoContentMessage() {
         // Setup initialization
-        when(genAiGoogle.getApiKey()).thenReturn(TEST_API_KEY);
         googleGenAIService.init();
         
         String jsonResponse = "{\"candidates\":[]}";
@@ -253,7 +366,6 @@ class GoogleGenAIServiceTest {
     @Test
     void extractTextFromResponse_WithInvalidJson_ShouldReturnNoContentMessage() {
         // Setup initialization
-        when(genAiGoogle.getApiKey()).thenReturn(TEST_API_KEY);
         googleGenAIService.init();
         
         String jsonResponse = "invalid json";
@@ -268,7 +380,6 @@ class GoogleGenAIServiceTest {
     @Test
     void extractTextFromResponse_WithMissingTextField_ShouldReturnNoContentMessage() {
         // Setup initialization
-        when(genAiGoogle.getApiKey()).thenReturn(TEST_API_KEY);
         googleGenAIService.init();
         
         String jsonResponse = "{\"candidates\":[{\"content\":{\"parts\":[{\"type\":\"text\"}]}}]}";
@@ -283,12 +394,11 @@ class GoogleGenAIServiceTest {
     @Test
     void buildApiUrl_ShouldConstructCorrectUrl() {
         // Setup initialization
-        when(genAiGoogle.getApiKey()).thenReturn(TEST_API_KEY);
         googleGenAIService.init();
         
         // Use reflection to test private method
         String result = (String) ReflectionTestUtils.invokeMethod(
-            googleGenAIService, "buildApiUrl", TEST_MODEL);
+            googleGenAIService, "buildApiUrl", TEST_MODEL, genAIKeyPool.select());
         
         assertTrue(result.contains(TEST_MODEL));
         assertTrue(result.contains(":generateContent"));
@@ -298,12 +408,15 @@ class GoogleGenAIServiceTest {
     @Test
     void buildRequestBody_ShouldConstructValidJsonStructure() {
         // Setup initialization
-        when(genAiGoogle.getApiKey()).thenReturn(TEST_API_KEY);
         googleGenAIService.init();
         
         // Use reflection to test private method
-        org.json.JSONObject result = (org.json.JSONObject) ReflectionTestUtils.invokeMethod(
-            googleGenAIService, "buildRequestBody", TEST_PROMPT);
+        GenAIRequestBodyTemplate template = ReflectionTestUtils.invokeMethod(
+            googleGenAIService, "requestBodyTemplate");
+        assertNotNull(template);
+        java.io.ByteArrayOutputStream body = new java.io.ByteArrayOutputStream();
+        template.render(TEST_PROMPT).forEach(body::writeBytes);
+        org.json.JSONObject result = new org.json.JSONObject(body.toString(StandardCharsets.UTF_8));
         
         assertNotNull(result);
         assertTrue(result.has("contents"));
@@ -325,7 +438,6 @@ class GoogleGenAIServiceTest {
     @Test
     void buildGenerationConfig_ShouldUseConfiguredValues() {
         // Setup initialization
-        when(genAiGoogle.getApiKey()).thenReturn(TEST_API_KEY);
         googleGenAIService.init();
         
         // Use reflection to test private method
@@ -337,8 +449,348 @@ class GoogleGenAIServiceTest {
         assertEquals(0.9, result.getDouble("topP"), 0.01);
         assertEquals(40, result.getInt("topK"));
     }
-    
-    
-    
-    
-}
\ No newline at end of file
+
+    @Test
+    void generateContent_WithSuccessfulTransportResponse_ShouldReturnExtractedText() throws Exception {
+        googleGenAIService.init();
+        String body = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"Hello\"}]}}]}";
+        when(httpResponse.statusCode()).thenReturn(200);
+        when(httpResponse.body()).thenReturn(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        doReturn(httpResponse).when(genAITransport).send(any(), any(), any(), any());
+
+        String result = googleGenAIService.generateContent(TEST_PROMPT);
+
+        assertEquals("Hello", result);
+    }
+
+    @Test
+    void generateContent_WithErrorStatusFromTransport_ShouldThrowRuntimeException() throws Exception {
+        googleGenAIService.init();
+        when(httpResponse.statusCode()).thenReturn(500);
+        when(httpResponse.body()).thenReturn(new ByteArrayInputStream("{\"error\":\"boom\"}".getBytes(StandardCharsets.UTF_8)));
+        doReturn(httpResponse).when(genAITransport).send(any(), any(), any(), any());
+
+        Exception exception = assertThrows(RuntimeException.class,
+            () -> googleGenAIService.generateContent(TEST_PROMPT));
+
+        assertTrue(exception.getMessage().contains("GenAI API error: 500"));
+    }
+
+    @Test
+    void generateContentAsync_WhenNotInitialized_ShouldCompleteExceptionally() {
+        doReturn(true).when(genAIKeyPool).isEmpty();
+        googleGenAIService.init();
+
+        CompletableFuture<String> future = googleGenAIService.generateContentAsync(TEST_PROMPT);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    @Test
+    void generateContentAsync_WithSuccessfulTransportResponse_ShouldCompleteWithText() throws Exception {
+        googleGenAIService.init();
+        when(stringHttpResponse.statusCode()).thenReturn(200);
+        when(stringHttpResponse.body()).thenReturn("{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"Async hello\"}]}}]}");
+        doReturn(CompletableFuture.completedFuture(stringHttpResponse)).when(genAITransport).sendAsync(any(), any(), any(), any());
+
+        String result = googleGenAIService.generateContentAsync(TEST_PROMPT).get();
+
+        assertEquals("Async hello", result);
+    }
+
+    @Test
+    void generateContentAsync_WithTransportFailure_ShouldWrapError() {
+        googleGenAIService.init();
+        doReturn(CompletableFuture.failedFuture(new java.io.IOException("connection reset")))
+            .when(genAITransport).sendAsync(any(), any(), any(), any());
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+            () -> googleGenAIService.generateContentAsync(TEST_PROMPT).get());
+
+        assertTrue(exception.getCause().getMessage().contains("Failed to generate content"));
+    }
+
+    @Test
+    void processTravelQueryAsync_WithTransportFailure_ShouldReturnFallbackResponse() throws Exception {
+        googleGenAIService.init();
+        doReturn(CompletableFuture.failedFuture(new java.io.IOException("connection reset")))
+            .when(genAITransport).sendAsync(any(), any(), any(), any());
+
+        String result = googleGenAIService.processTravelQueryAsync("best places in Paris").get();
+
+        assertEquals("Unable to process travel query at this time.", result);
+    }
+
+    @Test
+    void generateContent_WithCachedResponse_ShouldNotCallTransport() throws Exception {
+        googleGenAIService.init();
+        when(genAIResponseCache.isEnabled()).thenReturn(true);
+        when(genAIResponseCache.get(anyString())).thenReturn("Cached answer");
+
+        String result = googleGenAIService.generateContent(TEST_PROMPT);
+
+        assertEquals("Cached answer", result);
+        verify(genAITransport, never()).send(any(), any(), any(), any());
+    }
+
+    @Test
+    void generateContent_WithCacheMiss_ShouldStoreUpstreamResult() throws Exception {
+        googleGenAIService.init();
+        when(genAIResponseCache.isEnabled()).thenReturn(true);
+        when(genAIResponseCache.get(anyString())).thenReturn(null);
+        String body = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"Fresh answer\"}]}}]}";
+        when(httpResponse.statusCode()).thenReturn(200);
+        when(httpResponse.body()).thenReturn(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        doReturn(httpResponse).when(genAITransport).send(any(), any(), any(), any());
+
+        String result = googleGenAIService.generateContent(TEST_PROMPT);
+
+        assertEquals("Fresh answer", result);
+        verify(genAIResponseCache).put(anyString(), eq("Fresh answer"));
+    }
+
+    @Test
+    void generateContent_WithRateLimitedResponse_ShouldThrowAndLowerLimit() throws Exception {
+        googleGenAIService.init();
+        when(httpResponse.statusCode()).thenReturn(429);
+        when(httpResponse.body()).thenReturn(new ByteArrayInputStream("{\"error\":\"quota\"}".getBytes(StandardCharsets.UTF_8)));
+        doReturn(httpResponse).when(genAITransport).send(any(), any(), any(), any());
+        double limitBefore = genAIConcurrencyLimiter.getLimit();
+
+        assertThrows(com.gt.bff.exception.GenAIRateLimitException.class,
+            () -> googleGenAIService.generateContent(TEST_PROMPT));
+
+        assertTrue(genAIConcurrencyLimiter.getLimit() < limitBefore);
+        assertEquals(0, genAIConcurrencyLimiter.getInFlight());
+    }
+
+    @Test
+    void generateContent_WithCircuitOpen_ShouldFailFastWithoutCallingTransport() throws Exception {
+        googleGenAIService.init();
+        doReturn(false).when(genAICircuitBreaker).tryAcquirePermission();
+
+        assertThrows(com.gt.bff.exception.GenAICircuitOpenException.class,
+            () -> googleGenAIService.generateContent(TEST_PROMPT));
+        verify(genAITransport, never()).send(any(), any(), any(), any());
+    }
+
+    @Test
+    void generateContent_WhenRejectedLocally_ShouldNotCountTowardCircuitBreakerOrRouter() throws Exception {
+        googleGenAIService.init();
+        doThrow(new GenAIRejectedException("Too many concurrent GenAI requests to host generativelanguage.googleapis.com"))
+            .when(genAITransport).send(any(), any(), any(), any());
+
+        assertThrows(GenAIRejectedException.class, () -> googleGenAIService.generateContent(TEST_MODEL, TEST_PROMPT));
+
+        verify(genAICircuitBreaker).onIgnored();
+        verify(genAICircuitBreaker, never()).onError(anyLong(), any());
+        verify(genAIModelRouter, never()).record(anyString(), anyLong(), anyBoolean());
+        verify(genAIKeyPool, never()).onRateLimited(any());
+    }
+
+    @Test
+    void structuredRequestBodyTemplate_ShouldRequestJsonMatchingSchema() {
+        GenAIRequestBodyTemplate template = ReflectionTestUtils.invokeMethod(
+            googleGenAIService, "structuredRequestBodyTemplate", com.gt.bff.model.schema.AIResponseSchema.TravelSearchFilters.class);
+
+        assertNotNull(template);
+        org.json.JSONObject generationConfig = new org.json.JSONObject(template.generationConfig());
+        assertEquals("application/json", generationConfig.getString("responseMimeType"));
+        assertEquals("OBJECT", generationConfig.getJSONObject("responseSchema").getString("type"));
+        assertTrue(generationConfig.getJSONObject("responseSchema").getJSONObject("properties").has("passengers"));
+    }
+
+    @Test
+    void generateStructuredContent_ShouldReturnJsonText() throws Exception {
+        googleGenAIService.init();
+        String body = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"{\\\"from\\\":\\\"Boston\\\"}\"}]}}]}";
+        when(httpResponse.statusCode()).thenReturn(200);
+        when(httpResponse.body()).thenReturn(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        doReturn(httpResponse).when(genAITransport).send(any(), any(), any(), any());
+
+        String result = googleGenAIService.generateStructuredContent(
+            GenAIOperation.SEARCH_FILTERS, TEST_PROMPT, com.gt.bff.model.schema.AIResponseSchema.TravelSearchFilters.class,
+            RequestDeadline.none());
+
+        assertEquals("{\"from\":\"Boston\"}", result);
+    }
+
+    @Test
+    void generateContent_WithDeadline_ShouldCapTimeoutToRemainingBudget() throws Exception {
+        googleGenAIService.init();
+        String body = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"ok\"}]}}]}";
+        when(httpResponse.statusCode()).thenReturn(200);
+        when(httpResponse.body()).thenReturn(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        doReturn(httpResponse).when(genAITransport).send(any(), any(), any(), any());
+
+        String result = googleGenAIService.generateContent(
+            GenAIOperation.GENERAL, TEST_PROMPT, RequestDeadline.after(Duration.ofSeconds(2)));
+
+        assertEquals("ok", result);
+        verify(genAITransport).send(any(), any(), argThat((Duration timeout) -> timeout.toMillis() <= 2000), any());
+    }
+
+    @Test
+    void generateContent_WithExpiredDeadline_ShouldNotCallUpstream() throws Exception {
+        googleGenAIService.init();
+
+        assertThrows(RequestDeadlineExceededException.class, () -> googleGenAIService.generateContent(
+            GenAIOperation.GENERAL, TEST_PROMPT, RequestDeadline.after(Duration.ZERO)));
+
+        verifyNoInteractions(genAITransport);
+    }
+
+    @Test
+    void generateContent_WhenDeadlineCutsCallShort_ShouldReportDeadlineExceeded() throws Exception {
+        googleGenAIService.init();
+        doThrow(new HttpTimeoutException("request timed out")).when(genAITransport).send(any(), any(), any(), any());
+
+        assertThrows(RequestDeadlineExceededException.class, () -> googleGenAIService.generateContent(
+            GenAIOperation.GENERAL, TEST_PROMPT, RequestDeadline.after(Duration.ofSeconds(2))));
+    }
+
+    @Test
+    void streamContent_WithExpiredDeadline_ShouldFailWithoutCallingUpstream() throws Exception {
+        googleGenAIService.init();
+
+        CompletableFuture<Throwable> failure = drain(
+            googleGenAIService.streamContent(GenAIOperation.SEARCH_FILTERS, TEST_PROMPT, RequestDeadline.after(Duration.ZERO)));
+
+        assertInstanceOf(RequestDeadlineExceededException.class, failure.get(5, TimeUnit.SECONDS));
+        verifyNoInteractions(genAITransport);
+    }
+
+    @Test
+    void streamContent_ShouldHoldLimiterPermitUntilStreamEnds() throws Exception {
+        googleGenAIService.init();
+        CompletableFuture<HttpResponse<Void>> exchange = new CompletableFuture<>();
+        doReturn(exchange).when(genAITransport).sendAsync(any(), any(), any(), any());
+        @SuppressWarnings("unchecked")
+        HttpResponse<Void> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(200);
+
+        CompletableFuture<Throwable> completion = drain(
+            googleGenAIService.streamContent(GenAIOperation.SEARCH_FILTERS, TEST_PROMPT, RequestDeadline.none()));
+        assertEquals(1, genAIConcurrencyLimiter.getInFlight());
+        Thread.sleep(5);
+        exchange.complete(response);
+
+        assertNull(completion.get(5, TimeUnit.SECONDS));
+        assertEquals(0, genAIConcurrencyLimiter.getInFlight());
+        verify(genAIBulkheads).acquire(eq(GenAIOperation.SEARCH_FILTERS), any(Duration.class));
+        verify(genAICircuitBreaker).onSuccess(longThat(duration -> duration >= TimeUnit.MILLISECONDS.toNanos(5)));
+    }
+
+    @Test
+    void generateFusedSearch_ShouldValidateRequestedParts() throws Exception {
+        when(genAiGoogle.getFusedSearchPromptTemplate()).thenReturn("{parts}\n{today}\n{query}");
+        googleGenAIService.init();
+        String body = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"{\\\"travelAdvice\\\":{}}\"}]}}]}";
+        when(httpResponse.statusCode()).thenReturn(200);
+        when(httpResponse.body()).thenReturn(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        doReturn(httpResponse).when(genAITransport).send(any(), any(), any(), any());
+        FusedSearchResult expected = new FusedSearchResult(null, null, null, java.util.Map.of());
+        java.util.Set<GenAISearchPart> parts = java.util.EnumSet.of(GenAISearchPart.SEARCH_FILTERS, GenAISearchPart.TRAVEL_ADVICE);
+        when(aiResponseValidator.validateFusedSearchResponse("{\"travelAdvice\":{}}", parts)).thenReturn(expected);
+
+        FusedSearchResult result = googleGenAIService.generateFusedSearch("Boston to Denver", parts, RequestDeadline.none());
+
+        assertSame(expected, result);
+    }
+
+    @Test
+    void generateFusedSearch_WithoutParts_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+            () -> googleGenAIService.generateFusedSearch("Boston to Denver", java.util.Set.of(), RequestDeadline.none()));
+    }
+
+    @Test
+    void fusedRequestBodyTemplate_ShouldOnlyDescribeRequestedParts() {
+        GenAIRequestBodyTemplate template = ReflectionTestUtils.invokeMethod(googleGenAIService, "fusedRequestBodyTemplate",
+            java.util.EnumSet.of(GenAISearchPart.ORIGIN_LOCATION, GenAISearchPart.TRAVEL_ADVICE));
+
+        assertNotNull(template);
+        org.json.JSONObject schema = new org.json.JSONObject(template.generationConfig()).getJSONObject("responseSchema");
+        org.json.JSONObject properties = schema.getJSONObject("properties");
+        assertEquals(2, properties.length());
+        assertTrue(properties.has("originLocation"));
+        assertTrue(properties.has("travelAdvice"));
+        assertEquals(2, schema.getJSONArray("required").length());
+    }
+
+    @Test
+    void generateContent_WhenRateLimited_ShouldPenalizeTheKeyUsed() throws Exception {
+        googleGenAIService.init();
+        when(httpResponse.statusCode()).thenReturn(429);
+        when(httpResponse.body()).thenReturn(new ByteArrayInputStream("quota".getBytes(StandardCharsets.UTF_8)));
+        doReturn(httpResponse).when(genAITransport).send(any(), any(), any(), any());
+
+        assertThrows(RuntimeException.class, () -> googleGenAIService.generateContent(TEST_MODEL, TEST_PROMPT));
+
+        verify(genAIKeyPool).onRateLimited(any(GenAIKeyPool.Key.class));
+        verify(genAITransport).send(argThat(uri -> uri.toString().contains("key=" + TEST_API_KEY)), any(), any(), any());
+    }
+
+    @Test
+    void generateContent_WithHedging_ShouldQueueForLimiterPermitLikeUnhedgedCall() throws Exception {
+        hedging.setEnabled(true);
+        googleGenAIService.init();
+        GenAIRequestHedger hedger = new GenAIRequestHedger(new ApplicationProperties(), new SimpleMeterRegistry());
+        hedger.init();
+        ReflectionTestUtils.setField(googleGenAIService, "genAIRequestHedger", hedger);
+        when(stringHttpResponse.statusCode()).thenReturn(200);
+        when(stringHttpResponse.body()).thenReturn("{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"hedged\"}]}}]}");
+        doReturn(CompletableFuture.completedFuture(stringHttpResponse)).when(genAITransport).sendAsync(any(), any(), any(), any());
+
+        try {
+            String result = googleGenAIService.generateContent(GenAIOperation.GENERAL, TEST_PROMPT, RequestDeadline.none());
+
+            assertEquals("hedged", result);
+            verify(genAIConcurrencyLimiter).acquire(any(Duration.class));
+            verify(genAIConcurrencyLimiter, never()).tryAcquire();
+        } finally {
+            hedger.shutdown();
+        }
+    }
+
+    /**
+     * Subscribes to a stream and returns a future completed with its error, or null once it completes normally
+     */
+    private static CompletableFuture<Throwable> drain(java.util.concurrent.Flow.Publisher<String> publisher) {
+        CompletableFuture<Throwable> completion = new CompletableFuture<>();
+        publisher.subscribe(new java.util.concurrent.Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(java.util.concurrent.Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(String item) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                completion.complete(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completion.complete(null);
+            }
+        });
+        return completion;
+    }
+
+    private void useKeyPool(String apiKey) {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getGenai().getGoogle().setApiKey(apiKey);
+        ReflectionTestUtils.setField(googleGenAIService, "genAIKeyPool", new GenAIKeyPool(properties, new SimpleMeterRegistry()));
+    }
+
+    private static ApplicationProperties keyPoolProperties() {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getGenai().getGoogle().setApiKey(TEST_API_KEY);
+        return properties;
+    }
+}
@@ -0,0 +1,155 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import com.gt.bff.config.ThreadingMode;
+import com.gt.bff.exception.GenAIRejectedException;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PooledHttpTransportTest {
+
+    private final CountDownLatch upstreamReleased = new CountDownLatch(1);
+    private HttpServer upstream;
+    private SimpleMeterRegistry meterRegistry;
+    private PooledHttpTransport transport;
+    private String baseUri;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // An upstream that answers /ok straight away and holds /stall requests until the test finishes
+        upstream = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        upstream.createContext("/stall", exchange -> {
+            try {
+                upstreamReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        upstream.createContext("/ok", exchange -> {
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        upstream.setExecutor(Executors.newCachedThreadPool());
+        upstream.start();
+        baseUri = "http://localhost:" + upstream.getAddress().getPort();
+
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getGenai().getGoogle().setMaxConcurrentRequestsPerHost(2);
+        applicationProperties.getGenai().getGoogle().setConnectionAcquireTimeout(500);
+        meterRegistry = new SimpleMeterRegistry();
+        transport = new PooledHttpTransport(applicationProperties, meterRegistry,
+                new ThreadingMode(new StandardEnvironment()));
+        transport.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstreamReleased.countDown();
+        transport.shutdown();
+        upstream.stop(0);
+    }
+
+    @Test
+    void sendAsync_WhenCancelled_ShouldReleasePermits() {
+        CompletableFuture<HttpResponse<String>> first = send();
+        CompletableFuture<HttpResponse<String>> second = send();
+        assertEquals(2.0, activeRequests());
+        assertEquals(1.0, hostUtilization());
+
+        first.cancel(true);
+        second.cancel(true);
+
+        assertEquals(0.0, activeRequests());
+        assertEquals(0.0, hostUtilization());
+        assertFalse(send().isCompletedExceptionally());
+    }
+
+    @Test
+    void sendAsync_WhenHostIsBusy_ShouldWaitForAFreeSlot() throws Exception {
+        CompletableFuture<HttpResponse<String>> first = send();
+        send();
+
+        CompletableFuture<HttpResponse<String>> queued = send();
+        assertEquals(2.0, activeRequests());
+        first.cancel(true);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (activeRequests() < 2.0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(2.0, activeRequests());
+        assertFalse(queued.isDone());
+    }
+
+    @Test
+    void sendAsync_WhenNoSlotFreesInTime_ShouldReject() {
+        send();
+        send();
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> send().get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(GenAIRejectedException.class, failure.getCause());
+        assertEquals(1.0, meterRegistry.get("genai.transport.rejected").counter().count());
+    }
+
+    @Test
+    void send_WithStreamedBody_ShouldHoldPermitUntilStreamIsClosed() throws Exception {
+        HttpResponse<InputStream> response = transport.send(URI.create(baseUri + "/ok"),
+                HttpRequest.BodyPublishers.ofString("{}"), Duration.ofSeconds(30), HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(1.0, activeRequests());
+
+        try (InputStream body = response.body()) {
+            assertEquals("ok", new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        assertEquals(0.0, activeRequests());
+        assertEquals(0.0, hostUtilization());
+    }
+
+    @Test
+    void send_WithBufferedBody_ShouldReleasePermitOnReturn() throws Exception {
+        HttpResponse<String> response = transport.send(URI.create(baseUri + "/ok"),
+                HttpRequest.BodyPublishers.ofString("{}"), Duration.ofSeconds(30), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals("ok", response.body());
+        assertEquals(0.0, activeRequests());
+        assertEquals(0.0, hostUtilization());
+    }
+
+    private CompletableFuture<HttpResponse<String>> send() {
+        return transport.sendAsync(URI.create(baseUri + "/stall"), HttpRequest.BodyPublishers.ofString("{}"),
+                Duration.ofSeconds(30), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private double activeRequests() {
+        return meterRegistry.get("genai.transport.requests.active").gauge().value();
+    }
+
+    private double hostUtilization() {
+        return meterRegistry.get("genai.transport.host.utilization").tag("host", "localhost").gauge().value();
+    }
+}
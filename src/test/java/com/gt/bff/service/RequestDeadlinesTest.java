@@ -0,0 +1,94 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import com.gt.bff.exception.RequestDeadlineExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestDeadlinesTest {
+
+    private ApplicationProperties applicationProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private RequestDeadlines requestDeadlines;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        ApplicationProperties.Deadline deadline = applicationProperties.getDeadline();
+        deadline.setEnabled(true);
+        deadline.setDefaultTimeout(30000);
+        deadline.setMaxTimeout(60000);
+        deadline.getEndpoints().put("search-filters", 15000L);
+        meterRegistry = new SimpleMeterRegistry();
+        requestDeadlines = new RequestDeadlines(applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void start_WithoutHeader_ShouldUseEndpointDefault() {
+        RequestDeadline deadline = requestDeadlines.start("search-filters", null);
+
+        assertTrue(deadline.isBounded());
+        assertBetween(deadline.remaining(), 14000, 15000);
+    }
+
+    @Test
+    void start_WithUnknownEndpoint_ShouldUseDefaultTimeout() {
+        RequestDeadline deadline = requestDeadlines.start("other", null);
+
+        assertBetween(deadline.remaining(), 29000, 30000);
+    }
+
+    @Test
+    void start_WithHeader_ShouldUseRequestedBudgetUpToMax() {
+        assertBetween(requestDeadlines.start("search-filters", 2000L).remaining(), 1000, 2000);
+        assertBetween(requestDeadlines.start("search-filters", 600000L).remaining(), 59000, 60000);
+    }
+
+    @Test
+    void start_WhenDisabled_ShouldReturnUnboundedDeadline() {
+        applicationProperties.getDeadline().setEnabled(false);
+
+        RequestDeadline deadline = requestDeadlines.start("search-filters", 2000L);
+
+        assertFalse(deadline.isBounded());
+        assertFalse(deadline.isExpired());
+        assertEquals(Duration.ofSeconds(10), deadline.cap(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void cap_ShouldReturnSmallerOfTimeoutAndRemainingBudget() {
+        RequestDeadline deadline = RequestDeadline.after(Duration.ofSeconds(2));
+
+        assertTrue(deadline.cap(Duration.ofSeconds(10)).compareTo(Duration.ofSeconds(2)) <= 0);
+        assertEquals(Duration.ofMillis(500), deadline.cap(Duration.ofMillis(500)));
+        assertTrue(deadline.isShorterThan(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void check_WithExpiredDeadline_ShouldThrowAndCountStage() {
+        RequestDeadline expired = RequestDeadline.after(Duration.ZERO);
+
+        assertThrows(RequestDeadlineExceededException.class,
+                () -> requestDeadlines.check(expired, RequestDeadlines.STAGE_GENAI_QUEUE));
+        assertEquals(1.0, meterRegistry.get("request.deadline.exceeded")
+                .tag("stage", "genai-queue").counter().count());
+    }
+
+    @Test
+    void check_WithTimeLeft_ShouldPass() {
+        assertDoesNotThrow(() -> requestDeadlines.check(RequestDeadline.after(Duration.ofSeconds(5)),
+                RequestDeadlines.STAGE_SEARCH_FILTERS));
+        assertDoesNotThrow(() -> requestDeadlines.check(RequestDeadline.none(), RequestDeadlines.STAGE_SEARCH_FILTERS));
+        assertTrue(meterRegistry.find("request.deadline.exceeded").counters().isEmpty());
+    }
+
+    private static void assertBetween(Duration actual, long minMillis, long maxMillis) {
+        assertTrue(actual.toMillis() >= minMillis && actual.toMillis() <= maxMillis,
+                "Expected between " + minMillis + " and " + maxMillis + "ms but was " + actual.toMillis() + "ms");
+    }
+}
@@ -0,0 +1,178 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import com.gt.bff.config.ThreadingMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchFilterBatcherTest {
+
+    private static final String PROMPT_TEMPLATE = "Extract travel info from \"{searchInput}\" as JSON";
+
+    @Mock
+    private GenAIService genAIService;
+
+    @Mock
+    private AIResponseValidator aiResponseValidator;
+
+    private ApplicationProperties applicationProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private SearchFilterBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getGenai().getGoogle().getSearchBatching().setMaxSize(3);
+        applicationProperties.getGenai().getGoogle().getSearchBatching().setMaxWait(20);
+        meterRegistry = new SimpleMeterRegistry();
+        batcher = new SearchFilterBatcher(applicationProperties, genAIService, aiResponseValidator,
+            new ThreadingMode(new StandardEnvironment()), meterRegistry);
+        batcher.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+    }
+
+    @Test
+    void submit_WhenBatchFills_ShouldSendOnePromptAndSplitResults() throws Exception {
+        String response = "[{\"from\":\"A\"},{\"from\":\"B\"},{\"from\":\"C\"}]";
+        when(genAIService.generateContent(anyString())).thenReturn(response);
+        when(aiResponseValidator.validateJsonArray(response, 3)).thenReturn(
+            AIResponseValidator.ValidationResult.success(List.of("{\"from\":\"A\"}", "{\"from\":\"B\"}", "{\"from\":\"C\"}")));
+
+        CompletableFuture<String> first = batcher.submit("from A", PROMPT_TEMPLATE);
+        CompletableFuture<String> second = batcher.submit("from B", PROMPT_TEMPLATE);
+        CompletableFuture<String> third = batcher.submit("say \"C\"", PROMPT_TEMPLATE);
+
+        assertEquals("{\"from\":\"A\"}", first.get(1, TimeUnit.SECONDS));
+        assertEquals("{\"from\":\"B\"}", second.get(1, TimeUnit.SECONDS));
+        assertEquals("{\"from\":\"C\"}", third.get(1, TimeUnit.SECONDS));
+
+        ArgumentCaptor<String> prompt = ArgumentCaptor.forClass(String.class);
+        verify(genAIService, times(1)).generateContent(prompt.capture());
+        assertTrue(prompt.getValue().contains("exactly 3 objects"));
+        assertTrue(prompt.getValue().contains("3. \"say \\\"C\\\"\""));
+        assertFalse(prompt.getValue().contains("{searchInput}"));
+        assertEquals(3.0, meterRegistry.get("genai.search.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    void submit_WithSingleInput_ShouldSendRegularPromptAfterWait() throws Exception {
+        when(genAIService.generateContent(anyString())).thenReturn("{\"from\":\"A\"}");
+
+        CompletableFuture<String> result = batcher.submit("from A", PROMPT_TEMPLATE);
+
+        assertEquals("{\"from\":\"A\"}", result.get(1, TimeUnit.SECONDS));
+        verify(genAIService).generateContent("Extract travel info from \"from A\" as JSON");
+        verifyNoInteractions(aiResponseValidator);
+    }
+
+    @Test
+    void submit_FromInteractiveCaller_ShouldStayInteractive() throws Exception {
+        AtomicReference<GenAIPriority> priority = new AtomicReference<>();
+        when(genAIService.generateContent(anyString())).thenAnswer(invocation -> {
+            priority.set(GenAIPriority.current());
+            return "{\"from\":\"A\"}";
+        });
+
+        batcher.submit("from A", PROMPT_TEMPLATE).get(1, TimeUnit.SECONDS);
+
+        assertEquals(GenAIPriority.INTERACTIVE, priority.get());
+    }
+
+    @Test
+    void submit_WithMixedCallers_ShouldSendInMostUrgentPriority() throws Exception {
+        String response = "[{\"from\":\"A\"},{\"from\":\"B\"}]";
+        AtomicReference<GenAIPriority> priority = new AtomicReference<>();
+        when(genAIService.generateContent(anyString())).thenAnswer(invocation -> {
+            priority.set(GenAIPriority.current());
+            return response;
+        });
+        when(aiResponseValidator.validateJsonArray(response, 2)).thenReturn(
+            AIResponseValidator.ValidationResult.success(List.of("{\"from\":\"A\"}", "{\"from\":\"B\"}")));
+
+        CompletableFuture<String> background = GenAIPriority.callAs(GenAIPriority.BATCH,
+            () -> batcher.submit("from A", PROMPT_TEMPLATE));
+        CompletableFuture<String> interactive = batcher.submit("from B", PROMPT_TEMPLATE);
+        background.get(1, TimeUnit.SECONDS);
+        interactive.get(1, TimeUnit.SECONDS);
+
+        assertEquals(GenAIPriority.INTERACTIVE, priority.get());
+    }
+
+    @Test
+    void submit_FromBatchCallersOnly_ShouldSendInBatchPriority() throws Exception {
+        AtomicReference<GenAIPriority> priority = new AtomicReference<>();
+        when(genAIService.generateContent(anyString())).thenAnswer(invocation -> {
+            priority.set(GenAIPriority.current());
+            return "{\"from\":\"A\"}";
+        });
+
+        GenAIPriority.callAs(GenAIPriority.BATCH, () -> batcher.submit("from A", PROMPT_TEMPLATE))
+            .get(1, TimeUnit.SECONDS);
+
+        assertEquals(GenAIPriority.BATCH, priority.get());
+    }
+
+    @Test
+    void submit_WithPartialBatch_ShouldFlushAfterWait() throws Exception {
+        String response = "[{\"from\":\"A\"},{\"from\":\"B\"}]";
+        when(genAIService.generateContent(anyString())).thenReturn(response);
+        when(aiResponseValidator.validateJsonArray(response, 2)).thenReturn(
+            AIResponseValidator.ValidationResult.success(List.of("{\"from\":\"A\"}", "{\"from\":\"B\"}")));
+
+        CompletableFuture<String> first = batcher.submit("from A", PROMPT_TEMPLATE);
+        CompletableFuture<String> second = batcher.submit("from B", PROMPT_TEMPLATE);
+
+        assertEquals("{\"from\":\"A\"}", first.get(1, TimeUnit.SECONDS));
+        assertEquals("{\"from\":\"B\"}", second.get(1, TimeUnit.SECONDS));
+        verify(genAIService, times(1)).generateContent(anyString());
+    }
+
+    @Test
+    void submit_WithUnsplittableResponse_ShouldFailEveryCaller() {
+        when(genAIService.generateContent(anyString())).thenReturn("[{}]");
+        when(aiResponseValidator.validateJsonArray("[{}]", 3))
+            .thenReturn(AIResponseValidator.ValidationResult.failure("Expected 3 results but AI returned 1"));
+
+        List<CompletableFuture<String>> results = List.of(
+            batcher.submit("a", PROMPT_TEMPLATE), batcher.submit("b", PROMPT_TEMPLATE), batcher.submit("c", PROMPT_TEMPLATE));
+
+        results.forEach(result -> assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS)));
+        assertEquals(1.0, meterRegistry.get("genai.search.batch.failures").counter().count());
+    }
+
+    @Test
+    void submit_WhenUpstreamFails_ShouldPropagateToEveryCaller() {
+        RuntimeException failure = new RuntimeException("Failed to generate content");
+        when(genAIService.generateContent(anyString())).thenThrow(failure);
+
+        List<CompletableFuture<String>> results = List.of(
+            batcher.submit("a", PROMPT_TEMPLATE), batcher.submit("b", PROMPT_TEMPLATE), batcher.submit("c", PROMPT_TEMPLATE));
+
+        for (CompletableFuture<String> result : results) {
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+            assertSame(failure, exception.getCause());
+        }
+    }
+}
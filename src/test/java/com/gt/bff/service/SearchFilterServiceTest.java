@@ -1,20 +1,36 @@
 package com.gt.bff.service;
 
+import com.gt.bff.config.ApplicationProperties;
+import com.gt.bff.config.ThreadingMode;
+import com.gt.bff.exception.GenAICircuitOpenException;
+import com.gt.bff.exception.RequestDeadlineExceededException;
 import com.gt.bff.model.schema.AIResponseSchema;
+import com.gt.bff.util.TravelJsonExtractor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.env.StandardEnvironment;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
 import java.time.LocalDate;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +42,26 @@ class SearchFilterServiceTest {
     @Mock
     private AIResponseValidator aiResponseValidator;
 
+    @Mock
+    private SearchFilterBatcher searchFilterBatcher;
+
+    @Spy
+    private ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    private final SimpleMeterRegistry deadlineMeterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private RequestDeadlines requestDeadlines = new RequestDeadlines(new ApplicationProperties(), deadlineMeterRegistry);
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private TravelJsonExtractor travelJsonExtractor = new TravelJsonExtractor();
+
+    @Spy
+    private ThreadingMode threadingMode = new ThreadingMode(new StandardEnvironment());
+
     @InjectMocks
     private SearchFilterService searchFilterService;
 
@@ -39,6 +75,14 @@ class SearchFilterServiceTest {
         filters.put("passengers", 1);
 
         promptTemplate = "Extract travel info: {searchInput}";
+        // Most tests cover the free-text response path
+        applicationProperties.getGenai().getGoogle().setStructuredOutputEnabled(false);
+        searchFilterService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchFilterService.shutdown();
     }
 
     @Test
@@ -55,7 +99,7 @@ class SearchFilterServiceTest {
         AIResponseValidator.ValidationResult<AIResponseSchema.TravelSearchFilters> structuredResult = 
             AIResponseValidator.ValidationResult.success(validFilters);
 
-        when(genAIService.generateContent(anyString())).thenReturn(aiResponse);
+        when(genAIService.generateContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), any(RequestDeadline.class))).thenReturn(aiResponse);
         when(aiResponseValidator.validateTravelSearchFilters(aiResponse)).thenReturn(structuredResult);
 
         // When
@@ -71,7 +115,7 @@ class SearchFilterServiceTest {
     void enhanceFiltersWithAI_WithNullResponse_ShouldKeepOriginalFilters() {
         // Given
         String searchInput = "Boston to Seattle";
-        when(genAIService.generateContent(anyString())).thenReturn(null);
+        when(genAIService.generateContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), any(RequestDeadline.class))).thenReturn(null);
 
         // When
         searchFilterService.enhanceFiltersWithAI(searchInput, promptTemplate, filters);
@@ -85,7 +129,7 @@ class SearchFilterServiceTest {
     void enhanceFiltersWithAI_WithException_ShouldKeepOriginalFilters() {
         // Given
         String searchInput = "Boston to Seattle";
-        when(genAIService.generateContent(anyString())).thenThrow(new RuntimeException("AI service error"));
+        when(genAIService.generateContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), any(RequestDeadline.class))).thenThrow(new RuntimeException("AI service error"));
 
         // When
         searchFilterService.enhanceFiltersWithAI(searchInput, promptTemplate, filters);
@@ -112,7 +156,7 @@ class SearchFilterServiceTest {
         AIResponseValidator.ValidationResult<AIResponseSchema.TravelSearchFilters> structuredResult = 
             AIResponseValidator.ValidationResult.success(validFilters);
 
-        when(genAIService.generateContent(anyString())).thenReturn(aiResponse);
+        when(genAIService.generateContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), any(RequestDeadline.class))).thenReturn(aiResponse);
         when(aiResponseValidator.validateTravelSearchFilters(aiResponse)).thenReturn(structuredResult);
 
         // When
@@ -143,7 +187,7 @@ class SearchFilterServiceTest {
         AIResponseValidator.ValidationResult<Map<String, Object>> successfulMap = 
             AIResponseValidator.ValidationResult.success(mapResponse);
 
-        when(genAIService.generateContent(anyString())).thenReturn(aiResponse);
+        when(genAIService.generateContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), any(RequestDeadline.class))).thenReturn(aiResponse);
         when(aiResponseValidator.validateTravelSearchFilters(aiResponse)).thenReturn(failedStructured);
         when(aiResponseValidator.validateAndParseToMap(aiResponse)).thenReturn(successfulMap);
 
@@ -170,7 +214,7 @@ class SearchFilterServiceTest {
         AIResponseValidator.ValidationResult<Map<String, Object>> failedMap = 
             AIResponseValidator.ValidationResult.failure("Map validation failed");
 
-        when(genAIService.generateContent(anyString())).thenReturn(aiResponse);
+        when(genAIService.generateContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), any(RequestDeadline.class))).thenReturn(aiResponse);
         when(aiResponseValidator.validateTravelSearchFilters(aiResponse)).thenReturn(failedStructured);
         when(aiResponseValidator.validateAndParseToMap(aiResponse)).thenReturn(failedMap);
 
@@ -205,7 +249,7 @@ class SearchFilterServiceTest {
         AIResponseValidator.ValidationResult<Map<String, Object>> successfulMap = 
             AIResponseValidator.ValidationResult.success(mapResponse);
 
-        when(genAIService.generateContent(anyString())).thenReturn(aiResponse);
+        when(genAIService.generateContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), any(RequestDeadline.class))).thenReturn(aiResponse);
         when(aiResponseValidator.validateTravelSearchFilters(aiResponse)).thenReturn(failedStructured);
         when(aiResponseValidator.validateAndParseToMap(aiResponse)).thenReturn(successfulMap);
 
@@ -227,7 +271,7 @@ class SearchFilterServiceTest {
         String customTemplate = "Extract from: {searchInput} and analyze {searchInput}";
         String expectedPrompt = "Extract from: special search query and analyze special search query";
 
-        when(genAIService.generateContent(expectedPrompt)).thenReturn("{}");
+        when(genAIService.generateContent(eq(GenAIOperation.SEARCH_FILTERS), eq(expectedPrompt), any(RequestDeadline.class))).thenReturn("{}");
         when(aiResponseValidator.validateTravelSearchFilters("{}"))
             .thenReturn(AIResponseValidator.ValidationResult.failure("Empty response"));
         when(aiResponseValidator.validateAndParseToMap("{}"))
@@ -237,7 +281,7 @@ class SearchFilterServiceTest {
         searchFilterService.enhanceFiltersWithAI(searchInput, customTemplate, filters);
 
         // Then
-        verify(genAIService).generateContent(expectedPrompt);
+        verify(genAIService).generateContent(eq(GenAIOperation.SEARCH_FILTERS), eq(expectedPrompt), any(RequestDeadline.class));
     }
 
     @Test
@@ -253,7 +297,7 @@ class SearchFilterServiceTest {
         AIResponseValidator.ValidationResult<AIResponseSchema.TravelSearchFilters> structuredResult = 
             AIResponseValidator.ValidationResult.success(validFilters);
 
-        when(genAIService.generateContent(anyString())).thenReturn(aiResponse);
+        when(genAIService.generateContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), any(RequestDeadline.class))).thenReturn(aiResponse);
         when(aiResponseValidator.validateTravelSearchFilters(aiResponse)).thenReturn(structuredResult);
 
         // When
@@ -264,4 +308,381 @@ class SearchFilterServiceTest {
         assertThat(filters.get("passengers")).isEqualTo(1); // Original value preserved
         assertThat(filters).doesNotContainKeys("to", "fromDate", "toDate", "trip", "searchContext");
     }
-}
\ No newline at end of file
+
+    @Test
+    void enhanceFiltersWithAI_WithCircuitOpen_ShouldUseLocalExtraction() {
+        // Given
+        String searchInput = "2 people from Boston to Seattle";
+        when(genAIService.generateContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), any(RequestDeadline.class))).thenThrow(new GenAICircuitOpenException("Circuit open"));
+
+        // When
+        searchFilterService.enhanceFiltersWithAI(searchInput, promptTemplate, filters);
+
+        // Then
+        assertThat(filters.get("from")).isEqualTo("Boston");
+        assertThat(filters.get("to")).isEqualTo("Seattle");
+        assertThat(filters.get("passengers")).isEqualTo(2);
+        assertThat(filters.get("trip")).isEqualTo("Round-Trip");
+        assertThat(filters).containsKeys("fromDate", "toDate");
+        verifyNoInteractions(aiResponseValidator);
+    }
+
+    @Test
+    void enhanceFiltersWithAI_WithDeadline_ShouldPassItToGenAIService() {
+        // Given
+        RequestDeadline deadline = RequestDeadline.after(Duration.ofSeconds(5));
+        when(genAIService.generateContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), eq(deadline))).thenReturn(null);
+
+        // When
+        searchFilterService.enhanceFiltersWithAI("Boston to Seattle", promptTemplate, filters, deadline);
+
+        // Then
+        verify(genAIService).generateContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), eq(deadline));
+    }
+
+    @Test
+    void enhanceFiltersWithAI_WithExpiredDeadline_ShouldSkipGenAIAndExtractLocally() {
+        // When
+        searchFilterService.enhanceFiltersWithAI("2 people from Boston to Seattle", promptTemplate, filters,
+            RequestDeadline.after(Duration.ZERO));
+
+        // Then
+        assertThat(filters.get("from")).isEqualTo("Boston");
+        assertThat(filters.get("passengers")).isEqualTo(2);
+        verifyNoInteractions(genAIService);
+        assertThat(deadlineMeterRegistry.get("request.deadline.exceeded").tag("stage", "search-filters").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void enhanceFiltersWithAI_WithDeadlineExceededUpstream_ShouldExtractLocally() {
+        // Given
+        when(genAIService.generateContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), any(RequestDeadline.class)))
+            .thenThrow(new RuntimeException("Failed to generate content",
+                new RequestDeadlineExceededException("Request deadline exceeded during genai-call")));
+
+        // When
+        searchFilterService.enhanceFiltersWithAI("2 people from Boston to Seattle", promptTemplate, filters);
+
+        // Then
+        assertThat(filters.get("to")).isEqualTo("Seattle");
+        verifyNoInteractions(aiResponseValidator);
+    }
+
+    @Test
+    void enhanceFiltersWithAI_WithSpeculationAndFastAI_ShouldReturnAIResult() {
+        // Given
+        applicationProperties.getGenai().getGoogle().getSpeculative().setEnabled(true);
+        String aiResponse = "{\"from\":\"New York\",\"to\":\"Paris\"}";
+        AIResponseSchema.TravelSearchFilters validFilters = new AIResponseSchema.TravelSearchFilters();
+        validFilters.setFrom("New York");
+        validFilters.setTo("Paris");
+
+        when(genAIService.generateContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), any(RequestDeadline.class)))
+            .thenReturn(aiResponse);
+        when(aiResponseValidator.validateTravelSearchFilters(aiResponse))
+            .thenReturn(AIResponseValidator.ValidationResult.success(validFilters));
+
+        // When
+        searchFilterService.enhanceFiltersWithAI("from Boston to Seattle", promptTemplate, filters);
+
+        // Then
+        assertThat(filters.get("from")).isEqualTo("New York");
+        assertThat(filters.get("to")).isEqualTo("Paris");
+        assertThat(filters.get("source")).isEqualTo("ai");
+        assertThat(filters.get("confidence")).isEqualTo("high");
+        assertThat(meterRegistry.get("search.filters.speculative").tag("source", "ai").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void enhanceFiltersWithAI_WithSpeculationCompletingInBackground_ShouldCallGenAIAsBackgroundWork() {
+        // Given
+        applicationProperties.getGenai().getGoogle().getSpeculative().setEnabled(true);
+        List<GenAIPriority> priorities = new CopyOnWriteArrayList<>();
+        when(genAIService.generateContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), any(RequestDeadline.class)))
+            .thenAnswer(invocation -> {
+                priorities.add(GenAIPriority.current());
+                return null;
+            });
+
+        // When
+        searchFilterService.enhanceFiltersWithAI("from Boston to Seattle", promptTemplate, filters);
+
+        // Then
+        assertThat(priorities).containsExactly(GenAIPriority.BACKGROUND);
+        assertThat(filters.get("source")).isEqualTo("local");
+    }
+
+    @Test
+    void enhanceFiltersWithAI_WithSpeculationAndSlowAI_ShouldReturnLocalResultWithinBudget() {
+        // Given
+        applicationProperties.getGenai().getGoogle().getSpeculative().setEnabled(true);
+        applicationProperties.getGenai().getGoogle().getSpeculative().setLatencyBudget(50);
+        when(genAIService.generateContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), any(RequestDeadline.class)))
+            .thenAnswer(invocation -> {
+                Thread.sleep(2000);
+                return "{}";
+            });
+
+        // When
+        long start = System.nanoTime();
+        searchFilterService.enhanceFiltersWithAI("2 people from Boston to Seattle", promptTemplate, filters);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        assertThat(elapsedMillis).isLessThan(1000);
+        assertThat(filters.get("from")).isEqualTo("Boston");
+        assertThat(filters.get("passengers")).isEqualTo(2);
+        assertThat(filters.get("source")).isEqualTo("local");
+        assertThat(filters.get("confidence")).isEqualTo("low");
+        assertThat(meterRegistry.get("search.filters.speculative").tag("source", "local").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void enhanceFiltersWithAI_WithSpeculationAndFailingAI_ShouldReturnLocalResult() {
+        // Given
+        applicationProperties.getGenai().getGoogle().getSpeculative().setEnabled(true);
+        when(genAIService.generateContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), any(RequestDeadline.class)))
+            .thenThrow(new RuntimeException("AI service error"));
+
+        // When
+        searchFilterService.enhanceFiltersWithAI("from Boston to Seattle", promptTemplate, filters);
+
+        // Then
+        assertThat(filters.get("to")).isEqualTo("Seattle");
+        assertThat(filters.get("source")).isEqualTo("local");
+    }
+
+    @Test
+    void enhanceFiltersWithAI_WithConfidentLocalExtraction_ShouldSkipGenAI() {
+        // Given
+        applicationProperties.getGenai().getGoogle().getLocalBypass().setEnabled(true);
+
+        // When
+        searchFilterService.enhanceFiltersWithAI("2 people one-way from Boston to Denver next month", promptTemplate, filters);
+
+        // Then
+        assertThat(filters.get("from")).isEqualTo("Boston");
+        assertThat(filters.get("to")).isEqualTo("Denver");
+        assertThat(filters.get("passengers")).isEqualTo(2);
+        assertThat(filters.get("trip")).isEqualTo("One-Way");
+        assertThat(filters.get("source")).isEqualTo("local");
+        verifyNoInteractions(genAIService);
+        assertThat(meterRegistry.get("search.filters.ai.bypass").tag("decision", "bypassed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void enhanceFiltersWithAI_WithUnclearLocalExtraction_ShouldAskGenAI() {
+        // Given
+        applicationProperties.getGenai().getGoogle().getLocalBypass().setEnabled(true);
+        when(genAIService.generateContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), any(RequestDeadline.class)))
+            .thenReturn(null);
+
+        // When
+        searchFilterService.enhanceFiltersWithAI("Book a 2-week vacation to Japan for me and my wife", promptTemplate, filters);
+
+        // Then
+        verify(genAIService).generateContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), any(RequestDeadline.class));
+        assertThat(filters).doesNotContainKey("source");
+        assertThat(meterRegistry.get("search.filters.ai.bypass").tag("decision", "ai").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void enhanceFiltersWithAI_WithBatchingEnabled_ShouldUseBatchedResult() {
+        // Given
+        String searchInput = "Boston to Seattle";
+        String item = "{\"from\":\"Boston\",\"to\":\"Seattle\"}";
+
+        AIResponseSchema.TravelSearchFilters validFilters = new AIResponseSchema.TravelSearchFilters();
+        validFilters.setFrom("Boston");
+        validFilters.setTo("Seattle");
+
+        when(searchFilterBatcher.isEnabled()).thenReturn(true);
+        when(searchFilterBatcher.submit(searchInput, promptTemplate)).thenReturn(CompletableFuture.completedFuture(item));
+        when(aiResponseValidator.validateTravelSearchFilters(item))
+            .thenReturn(AIResponseValidator.ValidationResult.success(validFilters));
+
+        // When
+        searchFilterService.enhanceFiltersWithAI(searchInput, promptTemplate, filters);
+
+        // Then
+        assertThat(filters.get("from")).isEqualTo("Boston");
+        assertThat(filters.get("to")).isEqualTo("Seattle");
+        verify(genAIService, never()).generateContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), any(RequestDeadline.class));
+    }
+
+    @Test
+    void enhanceFiltersWithAI_WithBatchFailure_ShouldKeepOriginalFilters() {
+        // Given
+        when(searchFilterBatcher.isEnabled()).thenReturn(true);
+        when(searchFilterBatcher.submit(anyString(), anyString()))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Invalid batched GenAI response")));
+
+        // When
+        searchFilterService.enhanceFiltersWithAI("Boston to Seattle", promptTemplate, filters);
+
+        // Then
+        assertThat(filters.get("from")).isEqualTo("Default City");
+        assertThat(filters.get("passengers")).isEqualTo(1);
+    }
+
+    @Test
+    void enhanceFiltersWithAI_WithStructuredOutput_ShouldParseResponseDirectly() {
+        // Given
+        applicationProperties.getGenai().getGoogle().setStructuredOutputEnabled(true);
+        String aiResponse = "{\"from\":\"Boston\",\"to\":\"Seattle\",\"passengers\":2}";
+
+        AIResponseSchema.TravelSearchFilters validFilters = new AIResponseSchema.TravelSearchFilters();
+        validFilters.setFrom("Boston");
+        validFilters.setTo("Seattle");
+        validFilters.setPassengers(2);
+
+        when(genAIService.generateStructuredContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), eq(AIResponseSchema.TravelSearchFilters.class), any(RequestDeadline.class)))
+            .thenReturn(aiResponse);
+        when(aiResponseValidator.validateStructuredTravelSearchFilters(aiResponse))
+            .thenReturn(AIResponseValidator.ValidationResult.success(validFilters));
+
+        // When
+        searchFilterService.enhanceFiltersWithAI("Boston to Seattle for 2", promptTemplate, filters);
+
+        // Then
+        assertThat(filters.get("from")).isEqualTo("Boston");
+        assertThat(filters.get("passengers")).isEqualTo(2);
+        verify(genAIService, never()).generateContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), any(RequestDeadline.class));
+        verify(aiResponseValidator, never()).validateTravelSearchFilters(anyString());
+    }
+
+    @Test
+    void enhanceFiltersWithAI_WithRejectedStructuredOutput_ShouldFallBackToLenientParsing() {
+        // Given
+        applicationProperties.getGenai().getGoogle().setStructuredOutputEnabled(true);
+        String aiResponse = "```json\n{\"from\":\"Boston\"}\n```";
+
+        AIResponseSchema.TravelSearchFilters validFilters = new AIResponseSchema.TravelSearchFilters();
+        validFilters.setFrom("Boston");
+
+        when(genAIService.generateStructuredContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), eq(AIResponseSchema.TravelSearchFilters.class), any(RequestDeadline.class)))
+            .thenReturn(aiResponse);
+        when(aiResponseValidator.validateStructuredTravelSearchFilters(aiResponse))
+            .thenReturn(AIResponseValidator.ValidationResult.failure("Invalid JSON format in AI response"));
+        when(aiResponseValidator.validateTravelSearchFilters(aiResponse))
+            .thenReturn(AIResponseValidator.ValidationResult.success(validFilters));
+
+        // When
+        searchFilterService.enhanceFiltersWithAI("From Boston", promptTemplate, filters);
+
+        // Then
+        assertThat(filters.get("from")).isEqualTo("Boston");
+    }
+
+    @Test
+    void streamFilters_ShouldPublishEachFieldAsItIsDecoded() throws Exception {
+        // Given
+        when(genAIService.streamContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), any(RequestDeadline.class)))
+            .thenReturn(chunks(null, "```json\n{\"from\":\"Bos", "ton\",\"to\":\"Denver\",", "\"passengers\":2}\n```"));
+        when(aiResponseValidator.validateTravelSearchFilterField(anyString(), any()))
+            .thenAnswer(invocation -> AIResponseValidator.ValidationResult.success(invocation.getArgument(1)));
+
+        // When
+        List<SearchFilterService.FilterField> fields = collect(
+            searchFilterService.streamFilters("Boston to Denver for 2 people", promptTemplate, RequestDeadline.none()));
+
+        // Then
+        assertThat(fields).containsExactly(
+            new SearchFilterService.FilterField("from", "Boston", "ai"),
+            new SearchFilterService.FilterField("to", "Denver", "ai"),
+            new SearchFilterService.FilterField("passengers", 2, "ai"));
+    }
+
+    @Test
+    void streamFilters_WhenStreamFails_ShouldCompleteMissingFieldsLocally() throws Exception {
+        // Given
+        when(genAIService.streamContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), any(RequestDeadline.class)))
+            .thenReturn(chunks(new GenAICircuitOpenException("open"), "{\"from\":\"Boston\","));
+        when(aiResponseValidator.validateTravelSearchFilterField(anyString(), any()))
+            .thenAnswer(invocation -> AIResponseValidator.ValidationResult.success(invocation.getArgument(1)));
+
+        // When
+        List<SearchFilterService.FilterField> fields = collect(
+            searchFilterService.streamFilters("2 people one-way from Boston to Denver next month", promptTemplate, RequestDeadline.none()));
+
+        // Then
+        assertThat(fields.get(0)).isEqualTo(new SearchFilterService.FilterField("from", "Boston", "ai"));
+        assertThat(fields.subList(1, fields.size()))
+            .extracting(SearchFilterService.FilterField::source).containsOnly("local");
+        assertThat(fields).extracting(SearchFilterService.FilterField::name)
+            .doesNotHaveDuplicates()
+            .contains("to", "passengers", "trip");
+    }
+
+    @Test
+    void streamFilters_ShouldSkipFieldsThatFailValidation() throws Exception {
+        // Given
+        when(genAIService.streamContent(eq(GenAIOperation.SEARCH_FILTERS), anyString(), any(RequestDeadline.class)))
+            .thenReturn(chunks(null, "{\"passengers\":50,\"trip\":\"One-Way\"}"));
+        when(aiResponseValidator.validateTravelSearchFilterField("passengers", 50))
+            .thenReturn(AIResponseValidator.ValidationResult.failure("Passengers cannot exceed 10"));
+        when(aiResponseValidator.validateTravelSearchFilterField("trip", "One-Way"))
+            .thenReturn(AIResponseValidator.ValidationResult.success("One-Way"));
+
+        // When
+        List<SearchFilterService.FilterField> fields = collect(
+            searchFilterService.streamFilters("one-way for 50 people", promptTemplate, RequestDeadline.none()));
+
+        // Then
+        assertThat(fields).containsExactly(new SearchFilterService.FilterField("trip", "One-Way", "ai"));
+    }
+
+    /**
+     * Publishes the given text chunks on the subscribing thread, then completes or fails with the given error
+     */
+    private static Flow.Publisher<String> chunks(Exception error, String... chunks) {
+        return subscriber -> {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            for (String chunk : chunks) {
+                subscriber.onNext(chunk);
+            }
+            if (error != null) {
+                subscriber.onError(error);
+            } else {
+                subscriber.onComplete();
+            }
+        };
+    }
+
+    private static <T> List<T> collect(Flow.Publisher<T> publisher) throws Exception {
+        List<T> items = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(T item) {
+                items.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(null);
+            }
+        });
+        done.get(5, TimeUnit.SECONDS);
+        return items;
+    }
+}
@@ -0,0 +1,100 @@
+package com.gt.bff.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SseTextSubscriberTest {
+
+    private SubmissionPublisher<String> publisher;
+    private List<String> received;
+    private List<Throwable> errors;
+    private AtomicInteger firstChunkCalls;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new SubmissionPublisher<>(Runnable::run, Flow.defaultBufferSize());
+        received = new ArrayList<>();
+        errors = new ArrayList<>();
+        firstChunkCalls = new AtomicInteger();
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(String item) {
+                received.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                errors.add(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+    }
+
+    @Test
+    void onNext_WithDataEvents_ShouldPublishTextChunksInOrder() {
+        SseTextSubscriber subscriber = new SseTextSubscriber(publisher, payload -> payload, text -> true,
+            firstChunkCalls::incrementAndGet);
+        subscriber.onSubscribe(new NoOpSubscription());
+
+        subscriber.onNext("data: Hello");
+        subscriber.onNext("");
+        subscriber.onNext(": keep-alive comment");
+        subscriber.onNext("data: world");
+
+        assertEquals(List.of("Hello", "world"), received);
+        assertEquals(1, firstChunkCalls.get());
+    }
+
+    @Test
+    void onNext_WithEventWithoutText_ShouldSkipEvent() {
+        SseTextSubscriber subscriber = new SseTextSubscriber(publisher, payload -> null, text -> true,
+            firstChunkCalls::incrementAndGet);
+        subscriber.onSubscribe(new NoOpSubscription());
+
+        subscriber.onNext("data: {\"candidates\":[{\"finishReason\":\"STOP\"}]}");
+
+        assertTrue(received.isEmpty());
+        assertEquals(0, firstChunkCalls.get());
+    }
+
+    @Test
+    void onNext_WithUnsafeChunk_ShouldCloseExceptionallyAndIgnoreRest() {
+        SseTextSubscriber subscriber = new SseTextSubscriber(publisher, payload -> payload,
+            text -> !text.contains("<script>"), firstChunkCalls::incrementAndGet);
+        subscriber.onSubscribe(new NoOpSubscription());
+
+        subscriber.onNext("data: safe");
+        subscriber.onNext("data: <script>");
+        subscriber.onNext("data: after");
+
+        assertEquals(List.of("safe"), received);
+        assertEquals(1, errors.size());
+        assertTrue(publisher.isClosed());
+    }
+
+    private static class NoOpSubscription implements Flow.Subscription {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+}
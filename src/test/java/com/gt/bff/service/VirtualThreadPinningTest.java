@@ -0,0 +1,189 @@
+package com.gt.bff.service;
+
+import com.gt.bff.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the shared GenAI guards on virtual threads under contention and uses JFR to check that none of them
+ * parks a virtual thread while it is pinned to its carrier, e.g. by blocking inside a synchronized block.
+ */
+class VirtualThreadPinningTest {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int TASKS = 200;
+
+    private ApplicationProperties applicationProperties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        ApplicationProperties.GenAI.Google google = applicationProperties.getGenai().getGoogle();
+        google.getLimiter().setInitialLimit(4);
+        google.getLimiter().setMaxQueueSize(TASKS);
+        google.getLimiter().setQueueTimeout(10000);
+        google.getCircuitBreaker().setMinimumCalls(5);
+        ApplicationProperties.GenAI.Bulkhead bulkhead = new ApplicationProperties.GenAI.Bulkhead();
+        bulkhead.setMaxConcurrent(4);
+        bulkhead.setMaxQueueSize(TASKS);
+        bulkhead.setQueueTimeout(10000);
+        applicationProperties.getGenai().getBulkheads().put("search-filters", bulkhead);
+        applicationProperties.getCache().setEnabled(true);
+        applicationProperties.getCache().setTtl(60);
+        applicationProperties.getCache().setMaxSize(50);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void genAIGuards_UnderContention_ShouldNotPinVirtualThreads() throws Exception {
+        GenAIConcurrencyLimiter limiter = new GenAIConcurrencyLimiter(applicationProperties, meterRegistry);
+        GenAIBulkheads bulkheads = new GenAIBulkheads(applicationProperties, meterRegistry);
+        GenAICircuitBreaker circuitBreaker = new GenAICircuitBreaker(applicationProperties, meterRegistry);
+        GenAIResponseStore store = new GenAIResponseStore(applicationProperties, meterRegistry);
+        GenAIResponseCache cache = new GenAIResponseCache(applicationProperties, store, meterRegistry);
+        GenAIRequestCoalescer coalescer = new GenAIRequestCoalescer(meterRegistry, new RequestDeadlines(new ApplicationProperties(), meterRegistry));
+
+        List<RecordedEvent> pinned = recordPinnedEvents(() -> runOnVirtualThreads(index -> {
+            GenAIBulkheads.Permit bulkheadPermit = bulkheads.acquire(GenAIOperation.SEARCH_FILTERS, Duration.ofSeconds(10));
+            try {
+                String key = "prompt-" + (index % 10);
+                if (cache.get(key) == null && circuitBreaker.tryAcquirePermission()) {
+                    long start = System.nanoTime();
+                    String result = coalescer.execute(key, () -> callUpstream(limiter, key));
+                    if (index % 7 == 0) {
+                        circuitBreaker.onError(System.nanoTime() - start, new IllegalStateException("simulated failure"));
+                    } else {
+                        circuitBreaker.onSuccess(System.nanoTime() - start);
+                    }
+                    cache.put(key, result);
+                }
+                if (index % 50 == 0) {
+                    cache.invalidateAll();
+                }
+            } finally {
+                bulkheadPermit.release();
+            }
+        }));
+
+        assertTrue(pinned.isEmpty(), () -> "Virtual threads were pinned:\n" + describe(pinned));
+    }
+
+    @Test
+    void pinningCheck_ShouldDetectBlockingInsideSynchronized() throws Exception {
+        // Blocking in a monitor no longer pins from JDK 24 on (JEP 491), so the control only holds before that
+        assumeTrue(Runtime.version().feature() < 24);
+        Object monitor = new Object();
+
+        List<RecordedEvent> pinned = recordPinnedEvents(() -> runOnVirtualThreads(index -> {
+            synchronized (monitor) {
+                sleep(5);
+            }
+        }));
+
+        assertFalse(pinned.isEmpty());
+    }
+
+    private static String callUpstream(GenAIConcurrencyLimiter limiter, String key) {
+        try {
+            GenAIConcurrencyLimiter.Permit permit = limiter.acquire();
+            sleep(2);
+            permit.onSuccess();
+            return "response for " + key;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void runOnVirtualThreads(IndexedTask task) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < TASKS; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    task.run(index);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    /**
+     * Records pinned virtual thread events raised from application code while the workload runs
+     */
+    private static List<RecordedEvent> recordPinnedEvents(Workload workload) throws Exception {
+        Path dump = Files.createTempFile("virtual-thread-pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            workload.run();
+            recording.stop();
+            recording.dump(dump);
+            return RecordingFile.readAllEvents(dump).stream()
+                    .filter(event -> PINNED_EVENT.equals(event.getEventType().getName()))
+                    .filter(VirtualThreadPinningTest::isFromApplicationCode)
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    private static boolean isFromApplicationCode(RecordedEvent event) {
+        return event.getStackTrace() != null && event.getStackTrace().getFrames().stream()
+                .anyMatch(frame -> frame.getMethod().getType().getName().startsWith("com.gt.bff."));
+    }
+
+    private static String describe(List<RecordedEvent> events) {
+        return events.stream()
+                .map(event -> event.getStackTrace().getFrames().stream()
+                        .limit(8)
+                        .map(VirtualThreadPinningTest::describe)
+                        .collect(Collectors.joining("\n    at ", "  ", "")))
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+        void run(int index) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface Workload {
+        void run() throws Exception;
+    }
+}
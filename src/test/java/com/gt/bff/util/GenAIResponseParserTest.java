@@ -0,0 +1,69 @@
+package com.gt.bff.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenAIResponseParserTest {
+
+    @Test
+    void extractText_WithValidResponse_ShouldReturnFirstPartText() throws IOException {
+        String json = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"Hello\"},{\"text\":\"Second\"}]}}]}";
+
+        assertEquals("Hello", GenAIResponseParser.extractText(json));
+    }
+
+    @Test
+    void extractText_WithMultiLineIndentedText_ShouldPreserveWhitespace() throws IOException {
+        String json = "{\n  \"candidates\": [\n    {\n      \"content\": {\n        \"parts\": [\n"
+                + "          {\"text\": \"line one\\n    indented line\\n\"}\n        ]\n      }\n    }\n  ]\n}";
+
+        assertEquals("line one\n    indented line\n", GenAIResponseParser.extractText(stream(json)));
+    }
+
+    @Test
+    void extractText_WithSurroundingFields_ShouldSkipThem() throws IOException {
+        String json = "{\"promptFeedback\":{\"blockReason\":null,\"ratings\":[{\"a\":[1,2,{\"text\":\"nested\"}]}]},"
+                + "\"candidates\":[{\"finishReason\":\"STOP\",\"safetyRatings\":[{\"category\":\"X\",\"probability\":\"LOW\"}],"
+                + "\"content\":{\"role\":\"model\",\"parts\":[{\"thought\":true,\"text\":\"Answer \\\"quoted\\\" \\u00e9\"}]}}],"
+                + "\"usageMetadata\":{\"totalTokenCount\":42}}";
+
+        assertEquals("Answer \"quoted\" \u00e9", GenAIResponseParser.extractText(json));
+    }
+
+    @Test
+    void extractText_WithMissingText_ShouldReturnNull() throws IOException {
+        assertNull(GenAIResponseParser.extractText("{\"candidates\":[]}"));
+        assertNull(GenAIResponseParser.extractText("{\"candidates\":[{\"content\":{\"parts\":[{\"type\":\"text\"}]}}]}"));
+        assertNull(GenAIResponseParser.extractText("{\"candidates\":[{\"content\":{\"parts\":[{\"text\":7}]}}]}"));
+        assertNull(GenAIResponseParser.extractText("[]"));
+    }
+
+    @Test
+    void extractText_WithInvalidJson_ShouldThrow() {
+        assertThrows(JsonProcessingException.class, () -> GenAIResponseParser.extractText("invalid json"));
+    }
+
+    @Test
+    void extractText_ShouldLeaveStreamOpenAfterText() throws IOException {
+        String json = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"Hi\"}]}}],\"usageMetadata\":{}}";
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                fail("Parser must not close the caller's stream");
+            }
+        };
+
+        assertEquals("Hi", GenAIResponseParser.extractText(inputStream));
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
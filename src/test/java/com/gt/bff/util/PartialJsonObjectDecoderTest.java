@@ -0,0 +1,76 @@
+package com.gt.bff.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartialJsonObjectDecoderTest {
+
+    @Test
+    void feed_ShouldReturnEachFieldOnceItsValueIsClosed() throws IOException {
+        PartialJsonObjectDecoder decoder = new PartialJsonObjectDecoder();
+
+        assertTrue(decoder.feed("{\"from\":\"Bos").isEmpty());
+        assertEquals(List.of(new PartialJsonObjectDecoder.Field("from", "Boston")), decoder.feed("ton\",\"to\""));
+        assertTrue(decoder.feed(":\"Denver").isEmpty());
+        assertEquals(List.of(new PartialJsonObjectDecoder.Field("to", "Denver")), decoder.feed("\", \"passengers\": 2"));
+        assertFalse(decoder.isComplete());
+    }
+
+    @Test
+    void feed_ShouldReturnNumbersOnlyOnceTheyAreTerminated() throws IOException {
+        PartialJsonObjectDecoder decoder = new PartialJsonObjectDecoder();
+
+        assertTrue(decoder.feed("{\"passengers\":1").isEmpty());
+        List<PartialJsonObjectDecoder.Field> fields = decoder.feed("0}");
+
+        assertEquals(List.of(new PartialJsonObjectDecoder.Field("passengers", 10)), fields);
+        assertTrue(decoder.isComplete());
+    }
+
+    @Test
+    void feed_ShouldIgnoreCodeFenceAroundObject() throws IOException {
+        PartialJsonObjectDecoder decoder = new PartialJsonObjectDecoder();
+        List<PartialJsonObjectDecoder.Field> fields = new ArrayList<>();
+
+        fields.addAll(decoder.feed("```json\n"));
+        fields.addAll(decoder.feed("{\"trip\": \"One-Way\", \"roundTrip\": false}"));
+        fields.addAll(decoder.feed("\n```"));
+
+        assertEquals(List.of(
+                new PartialJsonObjectDecoder.Field("trip", "One-Way"),
+                new PartialJsonObjectDecoder.Field("roundTrip", false)), fields);
+        assertTrue(decoder.isComplete());
+    }
+
+    @Test
+    void feed_ShouldSkipNestedValues() throws IOException {
+        PartialJsonObjectDecoder decoder = new PartialJsonObjectDecoder();
+
+        List<PartialJsonObjectDecoder.Field> fields = decoder.feed(
+                "{\"stops\":[\"ORD\",{\"code\":\"DEN\"}],\"from\":\"Boston\",\"note\":null}");
+
+        assertEquals(List.of(
+                new PartialJsonObjectDecoder.Field("from", "Boston"),
+                new PartialJsonObjectDecoder.Field("note", null)), fields);
+    }
+
+    @Test
+    void feed_AfterObjectCompletes_ShouldIgnoreFurtherText() throws IOException {
+        PartialJsonObjectDecoder decoder = new PartialJsonObjectDecoder();
+        decoder.feed("{\"from\":\"Boston\"}");
+
+        assertTrue(decoder.feed("{\"to\":\"Denver\"}").isEmpty());
+    }
+
+    @Test
+    void feed_WithInvalidJson_ShouldThrow() throws IOException {
+        PartialJsonObjectDecoder decoder = new PartialJsonObjectDecoder();
+
+        assertThrows(IOException.class, () -> decoder.feed("{\"from\" \"Boston\"}"));
+    }
+}
@@ -1,5 +1,6 @@
 package com.gt.bff.util;
 
+import com.gt.bff.exception.RequestDeadlineExceededException;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -129,6 +130,23 @@ class ResponseHelperTest {
         assertEquals(cause, exception.getCause());
     }
 
+    @Test
+    void executeServiceOperation_WithGenAIException_ShouldRethrowUnwrapped() {
+        RequestDeadlineExceededException deadlineExceeded = new RequestDeadlineExceededException("Request deadline exceeded");
+        
+        RequestDeadlineExceededException exception = assertThrows(RequestDeadlineExceededException.class, () -> {
+            ResponseHelper.executeServiceOperation(
+                () -> {
+                    throw deadlineExceeded;
+                },
+                "searchOperation",
+                "searchInput: test query"
+            );
+        });
+        
+        assertSame(deadlineExceeded, exception);
+    }
+
     @Test
     void executeServiceOperation_WithCheckedExceptionWrapper_ShouldPreserveCause() {
         RuntimeException wrappedException = new RuntimeException("Wrapped exception");
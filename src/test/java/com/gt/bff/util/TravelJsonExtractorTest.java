@@ -7,6 +7,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.time.LocalDate;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -243,4 +244,59 @@ class TravelJsonExtractorTest {
         // Verify it's valid JSON
         assertDoesNotThrow(() -> new JSONObject(result));
     }
-}
\ No newline at end of file
+
+    @Test
+    void extract_FullyStatedInput_ShouldBeConfident() {
+        TravelExtraction extraction = new TravelJsonExtractor()
+                .extract("2 people one-way from Boston to Denver next month", REFERENCE_DATE);
+
+        assertEquals("Boston", extraction.from().value());
+        assertEquals("Denver", extraction.to().value());
+        assertEquals(2, extraction.passengers().value());
+        assertEquals("One-Way", extraction.trip().value());
+        assertEquals(LocalDate.of(2024, 6, 1), extraction.fromDate().value());
+        assertNull(extraction.toDate().value());
+        assertTrue(extraction.confidence() >= 0.8);
+    }
+
+    @Test
+    void extract_PhraseAfterTo_ShouldNotBeTrustedAsLocation() {
+        TravelExtraction extraction = new TravelJsonExtractor().extract("I want to book a flight", REFERENCE_DATE);
+
+        assertTrue(extraction.to().confidence() < 0.5);
+        assertTrue(extraction.confidence() < 0.5);
+    }
+
+    @Test
+    void extract_GroupWithoutCount_ShouldLowerPassengerConfidence() {
+        TravelExtraction extraction = new TravelJsonExtractor()
+                .extract("from Boston to Denver with my family", REFERENCE_DATE);
+
+        assertEquals(1, extraction.passengers().value());
+        assertFalse(extraction.passengers().stated());
+        assertTrue(extraction.passengers().confidence() < 0.5);
+    }
+
+    @Test
+    void extract_UnparsedDateWords_ShouldLowerDateConfidence() {
+        TravelExtraction extraction = new TravelJsonExtractor()
+                .extract("one-way from Boston to Denver this weekend", REFERENCE_DATE);
+
+        assertEquals(LocalDate.of(2024, 5, 24), extraction.fromDate().value());
+        assertTrue(extraction.fromDate().confidence() < 0.5);
+    }
+
+    @Test
+    void extract_ToFilters_ShouldLeaveOutDefaultLocations() {
+        Map<String, Object> filters = new TravelJsonExtractor()
+                .extract("3 week vacation", REFERENCE_DATE)
+                .toFilters();
+
+        assertFalse(filters.containsKey("from"));
+        assertFalse(filters.containsKey("to"));
+        assertEquals("2024-05-24", filters.get("fromDate"));
+        assertEquals("2024-06-14", filters.get("toDate"));
+        assertEquals(1, filters.get("passengers"));
+        assertEquals("Round-Trip", filters.get("trip"));
+    }
+}